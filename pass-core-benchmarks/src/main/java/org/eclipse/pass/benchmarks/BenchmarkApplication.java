@@ -0,0 +1,111 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import com.yahoo.elide.RefreshableElide;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts Elide and Hibernate as PASS Core does, without the web server, so that benchmarks can create clients.
+ * The schema is created by Hibernate rather than Liquibase, in H2 or in a Postgres server started for the
+ * benchmark.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackages = { "org.eclipse.pass.object.model" })
+public class BenchmarkApplication implements AutoCloseable {
+    /**
+     * The databases benchmarks can run against
+     */
+    public enum Database {
+        H2, POSTGRES
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final EmbeddedPostgres postgres;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context, EmbeddedPostgres postgres) {
+        this.context = context;
+        this.postgres = postgres;
+    }
+
+    /**
+     * Start the application.
+     *
+     * @param database the database to use
+     * @return the started application
+     * @throws Exception if the database or application cannot be started
+     */
+    public static BenchmarkApplication start(Database database) throws Exception {
+        EmbeddedPostgres postgres = null;
+        String url = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+        String dialect = "org.hibernate.dialect.H2Dialect";
+
+        if (database == Database.POSTGRES) {
+            postgres = EmbeddedPostgres.builder().start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+            dialect = "org.hibernate.dialect.PostgreSQLDialect";
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + url,
+                            "spring.datasource.username=" + (postgres == null ? "sa" : "postgres"),
+                            "spring.datasource.password=",
+                            "spring.jpa.database-platform=" + dialect,
+                            "spring.jpa.hibernate.ddl-auto=create",
+                            "spring.jpa.hibernate.naming.physical-strategy="
+                                + "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl",
+                            "spring.jpa.properties.hibernate.default_batch_fetch_size=100",
+                            "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN",
+                            "elide.baseUrl=http://localhost",
+                            "elide.json-api.path=/data",
+                            "elide.json-api.enabled=false",
+                            "elide.graphql.enabled=false",
+                            "elide.swagger.enabled=false",
+                            "elide.async.enabled=false",
+                            "elide.subscription.enabled=false",
+                            "elide.aggregation-store.enabled=false")
+                .run();
+
+        return new BenchmarkApplication(context, postgres);
+    }
+
+    /**
+     * @return Elide, to create clients with
+     */
+    public RefreshableElide getElide() {
+        return context.getBean(RefreshableElide.class);
+    }
+
+    @Override
+    public void close() throws Exception {
+        context.close();
+
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
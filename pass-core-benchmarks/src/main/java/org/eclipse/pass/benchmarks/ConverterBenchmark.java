@@ -0,0 +1,200 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.pass.object.converter.ContributorRoleListToStringConverter;
+import org.eclipse.pass.object.converter.ListToStringConverter;
+import org.eclipse.pass.object.converter.ListToURIStringConverter;
+import org.eclipse.pass.object.converter.SetToStringConverter;
+import org.eclipse.pass.object.converter.SourceToStringConverter;
+import org.eclipse.pass.object.converter.SubmissionStatusToStringConverter;
+import org.eclipse.pass.object.converter.URIToStringConverter;
+import org.eclipse.pass.object.converter.UserRoleListToStringConverter;
+import org.eclipse.pass.object.model.ContributorRole;
+import org.eclipse.pass.object.model.Source;
+import org.eclipse.pass.object.model.SubmissionStatus;
+import org.eclipse.pass.object.model.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the attribute converters, which run for every entity read or written. Each collection converter is
+ * measured in both directions for columns with the given number of values, and the role list converters are
+ * compared with the stream pipeline they replaced. The single value converters do not depend on the size.
+ *
+ * Run with the gc profiler to see allocation per operation:
+ * java -jar target/benchmarks.jar ConverterBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    /**
+     * Number of values in each collection column.
+     */
+    @Param({"0", "1", "4"})
+    public int size;
+
+    private final ListToStringConverter listConverter = new ListToStringConverter();
+    private final SetToStringConverter setConverter = new SetToStringConverter();
+    private final ListToURIStringConverter uriListConverter = new ListToURIStringConverter();
+    private final UserRoleListToStringConverter userRoleConverter = new UserRoleListToStringConverter();
+    private final ContributorRoleListToStringConverter contributorRoleConverter =
+        new ContributorRoleListToStringConverter();
+    private final SubmissionStatusToStringConverter statusConverter = new SubmissionStatusToStringConverter();
+    private final SourceToStringConverter sourceConverter = new SourceToStringConverter();
+    private final URIToStringConverter uriConverter = new URIToStringConverter();
+
+    private List<String> issns;
+    private Set<String> affiliations;
+    private List<URI> schemas;
+    private List<UserRole> userRoles;
+    private List<ContributorRole> contributorRoles;
+
+    private String issnsColumn;
+    private String affiliationsColumn;
+    private String schemasColumn;
+    private String userRolesColumn;
+    private String contributorRolesColumn;
+
+    @Setup
+    public void setup() {
+        issns = new ArrayList<>();
+        schemas = new ArrayList<>();
+        userRoles = new ArrayList<>();
+        contributorRoles = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            issns.add((i % 2 == 0 ? "Print:" : "Online:") + (1000 + i) + "-" + (5000 + i));
+            schemas.add(URI.create("https://eclipse-pass.github.io/metadata/schemas/jhu/schema" + i + ".json"));
+            userRoles.add(UserRole.values()[i % UserRole.values().length]);
+            contributorRoles.add(ContributorRole.values()[i % ContributorRole.values().length]);
+        }
+
+        affiliations = issns.stream().map(s -> "affiliation " + s).collect(Collectors.toSet());
+
+        // columns read from the database are new strings, not the constants the converters produce
+        issnsColumn = copy(listConverter.convertToDatabaseColumn(issns));
+        affiliationsColumn = copy(setConverter.convertToDatabaseColumn(affiliations));
+        schemasColumn = copy(uriListConverter.convertToDatabaseColumn(schemas));
+        userRolesColumn = copy(userRoleConverter.convertToDatabaseColumn(userRoles));
+        contributorRolesColumn = copy(contributorRoleConverter.convertToDatabaseColumn(contributorRoles));
+    }
+
+    private static String copy(String s) {
+        return s == null ? null : new String(s.toCharArray());
+    }
+
+    @Benchmark
+    public List<String> readList() {
+        return listConverter.convertToEntityAttribute(issnsColumn);
+    }
+
+    @Benchmark
+    public String writeList() {
+        return listConverter.convertToDatabaseColumn(issns);
+    }
+
+    @Benchmark
+    public Set<String> readSet() {
+        return setConverter.convertToEntityAttribute(affiliationsColumn);
+    }
+
+    @Benchmark
+    public String writeSet() {
+        return setConverter.convertToDatabaseColumn(affiliations);
+    }
+
+    @Benchmark
+    public List<URI> readUriList() {
+        return uriListConverter.convertToEntityAttribute(schemasColumn);
+    }
+
+    @Benchmark
+    public String writeUriList() {
+        return uriListConverter.convertToDatabaseColumn(schemas);
+    }
+
+    @Benchmark
+    public List<UserRole> readUserRoles() {
+        return userRoleConverter.convertToEntityAttribute(userRolesColumn);
+    }
+
+    @Benchmark
+    public String writeUserRoles() {
+        return userRoleConverter.convertToDatabaseColumn(userRoles);
+    }
+
+    // The role list conversion as it was before the shared tokenizer
+    @Benchmark
+    public List<UserRole> readUserRolesStream() {
+        return userRolesColumn == null || userRolesColumn.isEmpty() ? List.of() :
+            Stream.of(userRolesColumn.split(",")).map(UserRole::of).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public String writeUserRolesStream() {
+        return userRoles.isEmpty() ? null :
+            String.join(",", userRoles.stream().map(UserRole::getValue).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ContributorRole> readContributorRoles() {
+        return contributorRoleConverter.convertToEntityAttribute(contributorRolesColumn);
+    }
+
+    @Benchmark
+    public String writeContributorRoles() {
+        return contributorRoleConverter.convertToDatabaseColumn(contributorRoles);
+    }
+
+    @Benchmark
+    public SubmissionStatus readSubmissionStatus() {
+        return statusConverter.convertToEntityAttribute("submitted");
+    }
+
+    @Benchmark
+    public Source readSource() {
+        return sourceConverter.convertToEntityAttribute("pass");
+    }
+
+    @Benchmark
+    public URI readUri() {
+        return uriConverter.convertToEntityAttribute("mailto:submitter@example.com");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.pass.doi.service.DoiCanonicalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares DOI canonicalization with the validation it replaced, which compiled a regular expression for every
+ * DOI. The inputs cover a DOI which is already canonical, a resolver URL and a DOI which must be rewritten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoiCanonicalizerBenchmark {
+
+    @Param({"10.4137/cmc.s38446", "https://doi.org/10.4137/cmc.s38446", "https://doi.org/10.4137%2FCMC.S38446"})
+    public String doi;
+
+    // The validation as it was before canonicalization
+    private static String compileAndMatch(String doi) {
+        String criterion = "doi.org/";
+        int i = doi.indexOf(criterion);
+        String suffix = i >= 0 ? doi.substring(i + criterion.length()) : doi;
+
+        Pattern pattern = Pattern.compile("^10\\.\\d{4,9}/[-._;()/:a-zA-Z0-9]+$");
+
+        Matcher matcher = pattern.matcher(suffix);
+        return matcher.matches() ? suffix : null;
+    }
+
+    @Benchmark
+    public String compiledPerCall() {
+        return compileAndMatch(doi);
+    }
+
+    @Benchmark
+    public String canonicalize() {
+        return DoiCanonicalizer.canonicalize(doi);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.stream.JsonParser;
+
+import org.eclipse.pass.doi.service.ExternalDoiService;
+import org.eclipse.pass.doi.service.UnpaywallDoiService;
+import org.eclipse.pass.doi.service.XrefDoiService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares building a full JSON tree from an external DOI service response with reading only the fields PASS
+ * uses from a stream of parser events. The responses are real records inflated to the size of works with long
+ * reference and author lists, which is where Crossref responses reach several megabytes.
+ *
+ * Run with the gc profiler to see allocation per operation:
+ * java -jar target/benchmarks.jar DoiMetadataParseBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoiMetadataParseBenchmark {
+
+    /**
+     * Number of references added to the Crossref record and authors added to the Unpaywall record.
+     */
+    @Param({"0", "500", "10000"})
+    public int size;
+
+    private final ExternalDoiService xrefService = new XrefDoiService();
+    private final ExternalDoiService unpaywallService = new UnpaywallDoiService();
+
+    private String crossref;
+    private String unpaywall;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonObject work = readResource("/crossref-work.json");
+        JsonArrayBuilder references = Json.createArrayBuilder();
+
+        for (int i = 0; i < size; i++) {
+            references.add(Json.createObjectBuilder()
+                               .add("key", "10.4137/CMC.S38446-ref" + i)
+                               .add("doi-asserted-by", "crossref")
+                               .add("first-page", String.valueOf(100 + i))
+                               .add("DOI", "10.1016/j.example." + i)
+                               .add("article-title", "A referenced article about neuromuscular disorders " + i)
+                               .add("volume", String.valueOf(i % 50))
+                               .add("author", "Author " + i)
+                               .add("year", String.valueOf(1980 + i % 40))
+                               .add("journal-title", "Journal of Referenced Work"));
+        }
+
+        JsonObjectBuilder message = Json.createObjectBuilder(work.getJsonObject("message"))
+                                        .add("reference", references);
+        crossref = Json.createObjectBuilder(work).add("message", message).build().toString();
+
+        JsonObject record = readResource("/unpaywall-record.json");
+        JsonArrayBuilder authors = Json.createArrayBuilder(record.getJsonArray("z_authors"));
+
+        for (int i = 0; i < size; i++) {
+            authors.add(Json.createObjectBuilder()
+                            .add("given", "Given" + i)
+                            .add("family", "Family" + i)
+                            .add("sequence", "additional")
+                            .add("affiliation", Json.createArrayBuilder()
+                                .add(Json.createObjectBuilder().add("name", "Institution " + i % 100))));
+        }
+
+        unpaywall = Json.createObjectBuilder(record).add("z_authors", authors).build().toString();
+    }
+
+    /**
+     * Read a JSON object from a resource of the benchmarks.
+     *
+     * @param name name of the resource
+     * @return the object
+     * @throws IOException if the resource cannot be read
+     */
+    public static JsonObject readResource(String name) throws IOException {
+        try (InputStream in = DoiMetadataParseBenchmark.class.getResourceAsStream(name);
+             JsonReader reader = Json.createReader(in)) {
+            return reader.readObject();
+        }
+    }
+
+    private static JsonObject readTree(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+
+    private static JsonObject readStream(ExternalDoiService service, String json) {
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            return service.readObject(parser);
+        }
+    }
+
+    @Benchmark
+    public JsonObject crossrefTree() {
+        return readTree(crossref);
+    }
+
+    @Benchmark
+    public JsonObject crossrefStreaming() {
+        return readStream(xrefService, crossref);
+    }
+
+    @Benchmark
+    public JsonObject unpaywallTree() {
+        return unpaywallService.processObject(readTree(unpaywall));
+    }
+
+    @Benchmark
+    public JsonObject unpaywallStreaming() {
+        return unpaywallService.processObject(readStream(unpaywallService, unpaywall));
+    }
+}
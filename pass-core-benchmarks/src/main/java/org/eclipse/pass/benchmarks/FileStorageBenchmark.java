@@ -0,0 +1,122 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.findify.s3mock.S3Mock;
+import org.eclipse.pass.file.service.storage.FileStorageService;
+import org.eclipse.pass.file.service.storage.StorageConfiguration;
+import org.eclipse.pass.file.service.storage.StorageFile;
+import org.eclipse.pass.file.service.storage.StorageProperties;
+import org.eclipse.pass.file.service.storage.StorageServiceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Measures storing and retrieving files with the file service, in an OCFL repository on the local file system or
+ * in S3. S3 is provided by an in memory s3mock server, so the S3 results show the cost of the OCFL S3 client and
+ * its requests rather than of the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStorageBenchmark {
+    private static final int S3_PORT = 8001;
+
+    /**
+     * Storage type.
+     */
+    @Param({"FILE_SYSTEM", "S3"})
+    public StorageServiceType storage;
+
+    /**
+     * Size of the file in bytes.
+     */
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private Path rootDir;
+    private S3Mock s3;
+    private FileStorageService service;
+    private MockMultipartFile file;
+    private String storedId;
+
+    @Setup
+    public void setup() throws IOException {
+        rootDir = Files.createTempDirectory("pass-file-benchmark");
+
+        StorageProperties properties = new StorageProperties();
+        properties.setStorageType(storage);
+        properties.setRootDir(rootDir.toString());
+
+        if (storage == StorageServiceType.S3) {
+            s3 = new S3Mock.Builder().withPort(S3_PORT).withInMemoryBackend().build();
+            s3.start();
+            properties.setS3Endpoint("http://localhost:" + S3_PORT);
+            properties.setS3BucketName("pass-benchmark");
+            properties.setS3Region("us-east-1");
+            properties.setS3RepoPrefix("pass-benchmark");
+        }
+
+        service = new FileStorageService(new StorageConfiguration(properties));
+
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        file = new MockMultipartFile("file", "benchmark.pdf", "application/pdf", content);
+        storedId = service.storeFile(file).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (s3 != null) {
+            s3.stop();
+        }
+
+        FileSystemUtils.deleteRecursively(rootDir.toFile());
+    }
+
+    @Benchmark
+    public StorageFile storeFile() throws IOException {
+        return service.storeFile(file);
+    }
+
+    @Benchmark
+    public ByteArrayResource getFile() throws IOException {
+        return service.getFile(storedId);
+    }
+}
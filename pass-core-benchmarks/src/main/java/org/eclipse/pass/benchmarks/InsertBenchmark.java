@@ -0,0 +1,149 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.object.model.Contributor;
+import org.eclipse.pass.object.model.Deposit;
+import org.eclipse.pass.object.model.File;
+import org.eclipse.pass.object.model.Funder;
+import org.eclipse.pass.object.model.Grant;
+import org.eclipse.pass.object.model.Journal;
+import org.eclipse.pass.object.model.PassIdGenerator;
+import org.eclipse.pass.object.model.Policy;
+import org.eclipse.pass.object.model.Publication;
+import org.eclipse.pass.object.model.Publisher;
+import org.eclipse.pass.object.model.Repository;
+import org.eclipse.pass.object.model.RepositoryCopy;
+import org.eclipse.pass.object.model.Submission;
+import org.eclipse.pass.object.model.SubmissionEvent;
+import org.eclipse.pass.object.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of inserting users and grants, as a bulk load does, with different id allocation
+ * and JDBC batch sizes. An allocation size of 1 calls the id sequence for every insert and a batch size of 0
+ * sends every insert on its own. The entities are written to an in memory H2 database, so the results show
+ * the cost of round trips within the JVM; the difference is larger with a database across the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(InsertBenchmark.ROWS)
+public class InsertBenchmark {
+    static final int ROWS = 1000;
+
+    private static final Class<?>[] ENTITIES = {
+        Contributor.class, Deposit.class, File.class, Funder.class, Grant.class, Journal.class, Policy.class,
+        Publication.class, Publisher.class, Repository.class, RepositoryCopy.class, Submission.class,
+        SubmissionEvent.class, User.class
+    };
+
+    /**
+     * Number of ids allocated by each call to a sequence.
+     */
+    @Param({"1", "50"})
+    public int allocationSize;
+
+    /**
+     * Number of statements sent to the database in each JDBC batch.
+     */
+    @Param({"0", "50"})
+    public int batchSize;
+
+    private SessionFactory sessionFactory;
+    private int count;
+
+    @Setup
+    public void setup() {
+        Configuration config = new Configuration();
+        config.setProperty(AvailableSettings.URL, "jdbc:h2:mem:insert;DB_CLOSE_DELAY=-1");
+        config.setProperty(AvailableSettings.USER, "sa");
+        config.setProperty(AvailableSettings.PASS, "");
+        config.setProperty(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect");
+        config.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        config.setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                PhysicalNamingStrategyStandardImpl.class.getName());
+        config.setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        config.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+        config.setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        config.setProperty(PassIdGenerator.ALLOCATION_SIZE, String.valueOf(allocationSize));
+
+        for (Class<?> entity : ENTITIES) {
+            config.addAnnotatedClass(entity);
+        }
+
+        sessionFactory = config.buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Insert users and a grant for each of them in one transaction.
+     */
+    @Benchmark
+    public void insertUsersAndGrants() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            for (int i = 0; i < ROWS / 2; i++) {
+                int n = count++;
+
+                User user = new User();
+                user.setUsername("user" + n);
+                user.setFirstName("First" + n);
+                user.setLastName("Last" + n);
+                user.setEmail("user" + n + "@example.org");
+                session.persist(user);
+
+                Grant grant = new Grant();
+                grant.setAwardNumber("award" + n);
+                grant.setLocalKey("grant:" + n);
+                grant.setProjectName("Project " + n);
+                grant.setPi(user);
+                session.persist(grant);
+            }
+
+            transaction.commit();
+        }
+    }
+}
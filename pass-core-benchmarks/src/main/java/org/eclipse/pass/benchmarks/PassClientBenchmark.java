@@ -0,0 +1,170 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.yahoo.elide.core.security.User;
+import org.eclipse.pass.object.ElideDataStorePassClient;
+import org.eclipse.pass.object.ElidePassClient;
+import org.eclipse.pass.object.PassClient;
+import org.eclipse.pass.object.PassClientResult;
+import org.eclipse.pass.object.PassClientSelector;
+import org.eclipse.pass.object.RSQL;
+import org.eclipse.pass.object.model.Journal;
+import org.eclipse.pass.object.model.PmcParticipation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures PassClient operations on journals as callers such as the DOI service use them, with a new client for
+ * each operation. The database is seeded with journals which are read, updated, selected a page at a time and
+ * streamed, while created journals are kept out of the selections. The client parameter compares the DataStore client, which skips JSON:API, with the Elide client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassClientBenchmark {
+    private static final int JOURNALS = 1000;
+    private static final int PAGE = 100;
+    private static final String NAME_PREFIX = "Benchmark journal ";
+
+    /**
+     * Database the objects are stored in.
+     */
+    @Param({"H2", "POSTGRES"})
+    public BenchmarkApplication.Database database;
+
+    /**
+     * PassClient implementation, datastore or elide.
+     */
+    @Param({"datastore", "elide"})
+    public String client;
+
+    private BenchmarkApplication application;
+    private Long[] ids;
+
+    @Setup
+    public void setup() throws Exception {
+        application = BenchmarkApplication.start(database);
+        ids = new Long[JOURNALS];
+
+        try (PassClient passClient = newClient()) {
+            for (int i = 0; i < JOURNALS; i++) {
+                Journal journal = journal(NAME_PREFIX + i);
+                passClient.createObject(journal);
+                ids[i] = journal.getId();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        application.close();
+    }
+
+    private PassClient newClient() {
+        if (client.equals("elide")) {
+            return new ElidePassClient(application.getElide(), new User(null));
+        }
+
+        return new ElideDataStorePassClient(application.getElide());
+    }
+
+    private static Journal journal(String name) {
+        Journal journal = new Journal();
+        journal.setJournalName(name);
+        journal.setNlmta("BJ");
+        journal.setPmcParticipation(PmcParticipation.B);
+
+        return journal;
+    }
+
+    private Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(JOURNALS)];
+    }
+
+    @Benchmark
+    public Journal createObject() throws IOException {
+        try (PassClient passClient = newClient()) {
+            Journal journal = journal("Created journal");
+            passClient.createObject(journal);
+            return journal;
+        }
+    }
+
+    @Benchmark
+    public Journal getObject() throws IOException {
+        try (PassClient passClient = newClient()) {
+            return passClient.getObject(Journal.class, randomId());
+        }
+    }
+
+    @Benchmark
+    public Journal updateObject() throws IOException {
+        try (PassClient passClient = newClient()) {
+            Journal journal = passClient.getObject(Journal.class, randomId());
+            journal.setNlmta("BJ" + System.nanoTime());
+            passClient.updateObject(journal);
+            return journal;
+        }
+    }
+
+    @Benchmark
+    public void createAndDeleteObject() throws IOException {
+        try (PassClient passClient = newClient()) {
+            Journal journal = journal("Created journal");
+            passClient.createObject(journal);
+            passClient.deleteObject(Journal.class, journal.getId());
+        }
+    }
+
+    @Benchmark
+    public PassClientResult<Journal> selectObjects() throws IOException {
+        int offset = ThreadLocalRandom.current().nextInt(JOURNALS - PAGE);
+
+        try (PassClient passClient = newClient()) {
+            return passClient.selectObjects(new PassClientSelector<>(Journal.class, offset, PAGE,
+                    RSQL.equals("journalName", NAME_PREFIX + "*"), "id"));
+        }
+    }
+
+    @Benchmark
+    public long streamObjects() throws IOException {
+        try (PassClient passClient = newClient();
+             Stream<Journal> journals = passClient.streamObjects(new PassClientSelector<>(Journal.class, 0, PAGE,
+                     RSQL.equals("journalName", NAME_PREFIX + "*"), "id"))) {
+            return journals.count();
+        }
+    }
+}
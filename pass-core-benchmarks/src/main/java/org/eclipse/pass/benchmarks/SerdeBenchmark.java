@@ -0,0 +1,103 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.benchmarks;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pass.object.RSQL;
+import org.eclipse.pass.object.model.SubmissionStatus;
+import org.eclipse.pass.object.model.UserRole;
+import org.eclipse.pass.object.serde.SubmissionStatusSerde;
+import org.eclipse.pass.object.serde.URISerde;
+import org.eclipse.pass.object.serde.UserRoleSerde;
+import org.eclipse.pass.object.serde.ZonedDateTimeSerde;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Elide serdes, which convert attribute values of every JSON:API request and response, and the
+ * building of RSQL filters as PassClient callers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerdeBenchmark {
+    private final ZonedDateTimeSerde dateSerde = new ZonedDateTimeSerde();
+    private final URISerde uriSerde = new URISerde();
+    private final SubmissionStatusSerde statusSerde = new SubmissionStatusSerde();
+    private final UserRoleSerde roleSerde = new UserRoleSerde();
+
+    private final ZonedDateTime date = ZonedDateTime.parse("2022-06-01T12:30:45.123Z");
+    private final String dateValue = "2022-06-01T12:30:45.123Z";
+    private final URI uri = URI.create("https://eclipse-pass.github.io/metadata/schemas/jhu/common.json");
+    private final String uriValue = "https://eclipse-pass.github.io/metadata/schemas/jhu/common.json";
+
+    @Benchmark
+    public ZonedDateTime readDate() {
+        return dateSerde.deserialize(dateValue);
+    }
+
+    @Benchmark
+    public String writeDate() {
+        return dateSerde.serialize(date);
+    }
+
+    @Benchmark
+    public URI readUri() {
+        return uriSerde.deserialize(uriValue);
+    }
+
+    @Benchmark
+    public String writeUri() {
+        return uriSerde.serialize(uri);
+    }
+
+    @Benchmark
+    public SubmissionStatus readSubmissionStatus() {
+        return statusSerde.deserialize("needs-attention");
+    }
+
+    @Benchmark
+    public UserRole readUserRole() {
+        return roleSerde.deserialize("submitter");
+    }
+
+    // The journal lookup of the DOI service
+    @Benchmark
+    public String journalFilter() {
+        return RSQL.or(RSQL.equals("journalName", "Clinical Medicine Insights: Cardiology"),
+                       RSQL.hasMember("issns", "Print:1179-5468"), RSQL.hasMember("issns", "Online:1179-5468"));
+    }
+
+    @Benchmark
+    public String submissionFilter() {
+        return RSQL.and(RSQL.equals("submitter.id", "42"),
+                        RSQL.in("submissionStatus", "submitted", "needs-attention", "complete"));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.eclipse.pass.benchmarks.DoiMetadataParseBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures retrieving Crossref and Unpaywall records through the connector from a local stub server: the HTTP
+ * call, rate limiter and circuit breaker, and the streaming parse of the response. The stub allows a high rate so
+ * that the rate limiter does not hold calls back. The benchmark is in the package of the connector in order to
+ * point the services at the stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoiConnectorBenchmark {
+    private static final String DOI = "10.4137/cmc.s38446";
+
+    private final MockWebServer server = new MockWebServer();
+    private final ExternalDoiServiceConnector connector = new ExternalDoiServiceConnector();
+
+    private ExternalDoiService xrefService;
+    private ExternalDoiService unpaywallService;
+
+    @Setup
+    public void setup() throws IOException {
+        String crossref = DoiMetadataParseBenchmark.readResource("/crossref-work.json").toString();
+        String unpaywall = DoiMetadataParseBenchmark.readResource("/unpaywall-record.json").toString();
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().startsWith("/works/") ? crossref : unpaywall;
+
+                return new MockResponse().setBody(body)
+                                         .setHeader("Content-Type", "application/json")
+                                         .setHeader("X-Rate-Limit-Limit", "100000")
+                                         .setHeader("X-Rate-Limit-Interval", "1s");
+            }
+        });
+        server.start();
+
+        xrefService = new XrefDoiService(server.url("/works/").toString());
+        unpaywallService = new UnpaywallDoiService(server.url("/unpaywall/").toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public ExternalDoiResponse retrieveCrossref() {
+        return connector.retrieveResponse(DOI, xrefService);
+    }
+
+    @Benchmark
+    public ExternalDoiResponse retrieveUnpaywall() {
+        return connector.retrieveResponse(DOI, unpaywallService);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.yahoo.elide.core.security.User;
+import com.yahoo.elide.jsonapi.JsonApiMapper;
+import com.yahoo.elide.jsonapi.models.JsonApiDocument;
+import org.eclipse.pass.benchmarks.BenchmarkApplication;
+import org.eclipse.pass.object.model.Grant;
+import org.eclipse.pass.object.model.Publication;
+import org.eclipse.pass.object.model.Source;
+import org.eclipse.pass.object.model.Submission;
+import org.eclipse.pass.object.model.SubmissionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how ElidePassClient turns a submission into a JSON:API document, and that document into the JSON
+ * sent to Elide, before every create and update. The submission is not stored, only its relationships need ids.
+ * The benchmark is in the package of the client in order to call it directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonApiDocumentBenchmark {
+    /**
+     * Number of grants related to the submission.
+     */
+    @Param({"1", "10", "100"})
+    public int grants;
+
+    private BenchmarkApplication application;
+    private ElidePassClient client;
+    private JsonApiMapper mapper;
+    private Submission submission;
+
+    @Setup
+    public void setup() throws Exception {
+        application = BenchmarkApplication.start(BenchmarkApplication.Database.H2);
+        client = new ElidePassClient(application.getElide(), new User(null));
+        mapper = application.getElide().getElide().getMapper();
+
+        Publication publication = new Publication();
+        publication.setId(1L);
+
+        org.eclipse.pass.object.model.User submitter = new org.eclipse.pass.object.model.User();
+        submitter.setId(1L);
+
+        List<Grant> related = new ArrayList<>();
+
+        for (int i = 0; i < grants; i++) {
+            Grant grant = new Grant();
+            grant.setId((long) i + 1);
+            related.add(grant);
+        }
+
+        submission = new Submission();
+        submission.setId(1L);
+        submission.setMetadata("{\"title\": \"Benchmark\", \"journal-title\": \"Benchmark journal\"}");
+        submission.setSource(Source.PASS);
+        submission.setSubmitted(true);
+        submission.setSubmittedDate(ZonedDateTime.now());
+        submission.setSubmissionStatus(SubmissionStatus.SUBMITTED);
+        submission.setSubmitterEmail(URI.create("mailto:submitter@example.org"));
+        submission.setPublication(publication);
+        submission.setSubmitter(submitter);
+        submission.setGrants(related);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        application.close();
+    }
+
+    @Benchmark
+    public JsonApiDocument toJsonApiDoc() {
+        return client.to_json_api_doc(submission);
+    }
+
+    @Benchmark
+    public String toJson() throws JsonProcessingException {
+        return mapper.writeJsonApiDocument(client.to_json_api_doc(submission));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A reader which remembers the characters read through it, up to a limit. It lets a response be parsed straight
+ * from its stream while still keeping the text, or the start of it, for when it has to be passed on or reported.
+ *
+ * @author jrm
+ */
+class CapturingReader extends FilterReader {
+    private final StringBuilder text = new StringBuilder();
+    private final int limit;
+
+    /**
+     * @param in the reader to capture
+     * @param limit the maximum number of characters to remember
+     */
+    CapturingReader(Reader in, int limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int c = super.read();
+
+        if (c != -1 && text.length() < limit) {
+            text.append((char) c);
+        }
+
+        return c;
+    }
+
+    @Override
+    public int read(char[] buf, int off, int len) throws IOException {
+        int n = super.read(buf, off, len);
+
+        if (n > 0) {
+            text.append(buf, off, Math.min(n, limit - text.length()));
+        }
+
+        return n;
+    }
+
+    /**
+     * Read what is left of the stream, remembering it up to the limit.
+     *
+     * @throws IOException if the stream could not be read
+     */
+    void drain() throws IOException {
+        char[] buf = new char[8192];
+
+        while (text.length() < limit && read(buf, 0, buf.length) != -1) {
+            // keep reading
+        }
+    }
+
+    /**
+     * @return the characters read so far, up to the limit
+     */
+    String text() {
+        return text.toString();
+    }
+}
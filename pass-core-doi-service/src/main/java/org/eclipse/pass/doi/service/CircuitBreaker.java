@@ -0,0 +1,133 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A circuit breaker guarding calls to an external service. After a number of consecutive failures the breaker
+ * opens and calls are refused until a cool down period has passed. Then a single trial call is let through: if it
+ * succeeds the breaker closes again, otherwise it stays open for another period.
+ *
+ * @author jrm
+ */
+public class CircuitBreaker {
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * The states of the breaker
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long trips;
+    private long recoveries;
+
+    /**
+     * @param name the name of the guarded service, used in log messages
+     * @param failureThreshold the number of consecutive failures which open the breaker
+     * @param openMillis how long the breaker stays open before a trial call is allowed
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this(name, failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Check whether a call may be made. While the breaker is half open only the first caller is allowed through.
+     *
+     * @return true if the call may be made
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Record a successful call.
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            recoveries++;
+            LOG.info("Circuit breaker for " + name + " closed");
+        }
+
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Record a failed call.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                trips++;
+                LOG.warn("Circuit breaker for " + name + " opened after " + consecutiveFailures + " failures");
+            }
+
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * @return the current state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the number of times the breaker has opened
+     */
+    public synchronized long getTrips() {
+        return trips;
+    }
+
+    /**
+     * @return the number of times the breaker has closed again after opening
+     */
+    public synchronized long getRecoveries() {
+        return recoveries;
+    }
+}
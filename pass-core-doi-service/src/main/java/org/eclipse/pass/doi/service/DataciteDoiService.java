@@ -0,0 +1,149 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.HashMap;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * Retrieves metadata for DOIs registered with DataCite, which covers datasets, software and other research
+ * outputs that Crossref does not.
+ *
+ * @author jrm
+ */
+public class DataciteDoiService extends ExternalDoiService {
+
+    String DATACITE_BASEURI = "https://api.datacite.org/dois/";
+
+    // the parts of a DOI record which are passed on, and of an error response
+    private static final JsonFieldFilter FIELD_FILTER = new JsonFieldFilter()
+        .keep("data", new JsonFieldFilter()
+            .keep("attributes", new JsonFieldFilter()
+                .keep("doi")
+                .keep("titles", new JsonFieldFilter().keep("title"))
+                .keep("creators", new JsonFieldFilter().keep("name"))
+                .keep("publisher")
+                .keep("publicationYear")
+                .keep("container")
+                .keep("types", new JsonFieldFilter().keep("resourceTypeGeneral"))
+                .keep("url")))
+        .keep("errors", new JsonFieldFilter()
+            .keep("status")
+            .keep("title"));
+
+    public DataciteDoiService() {
+    }
+
+    DataciteDoiService(String baseUrl) {
+        super(baseUrl);
+    }
+
+    @Override
+    public String name() {
+        return "DataCite";
+    }
+
+    @Override
+    public String baseUrl() {
+        return baseUrl("DATACITE_BASEURI", DATACITE_BASEURI);
+    }
+
+    @Override
+    public HashMap<String, String> parameterMap() {
+        return null;
+    }
+
+    @Override
+    public HashMap<String, String> headerMap() {
+        HashMap<String, String> headerMap = new HashMap<>();
+        headerMap.put("Accept", "application/vnd.api+json");
+        return headerMap;
+    }
+
+    @Override
+    public JsonObject processObject(JsonObject object) {
+        JsonObject attributes = object.getJsonObject("data").getJsonObject("attributes");
+
+        JsonValue title = JsonValue.NULL;
+        JsonArray titles = attributes.getJsonArray("titles");
+        if (titles != null && !titles.isEmpty()) {
+            title = titles.getJsonObject(0).getOrDefault("title", JsonValue.NULL);
+        }
+
+        JsonArrayBuilder creators = Json.createArrayBuilder();
+        JsonArray creatorArray = attributes.getJsonArray("creators");
+        if (creatorArray != null) {
+            for (int i = 0; i < creatorArray.size(); i++) {
+                creators.add(creatorArray.getJsonObject(i).getOrDefault("name", JsonValue.NULL));
+            }
+        }
+
+        JsonValue resourceType = JsonValue.NULL;
+        JsonObject types = attributes.getJsonObject("types");
+        if (types != null) {
+            resourceType = types.getOrDefault("resourceTypeGeneral", JsonValue.NULL);
+        }
+
+        return Json.createObjectBuilder()
+                   .add("doi", attributes.getOrDefault("doi", JsonValue.NULL))
+                   .add("title", title)
+                   .add("creators", creators)
+                   .add("publisher", attributes.getOrDefault("publisher", JsonValue.NULL))
+                   .add("publicationYear", attributes.getOrDefault("publicationYear", JsonValue.NULL))
+                   .add("container", attributes.getOrDefault("container", JsonValue.NULL))
+                   .add("resourceType", resourceType)
+                   .add("url", attributes.getOrDefault("url", JsonValue.NULL))
+                   .build();
+    }
+
+    @Override
+    public ExternalDoiError findError(JsonObject object, String doi) {
+        JsonArray errors = object.getJsonArray("errors");
+
+        if (errors != null && !errors.isEmpty()) {
+            JsonObject error = errors.getJsonObject(0);
+
+            if ("404".equals(error.getString("status", null))) {
+                return new ExternalDoiError(404, "The resource for DOI " + doi + " could not be found on " +
+                                                 name() + ".");
+            }
+
+            return new ExternalDoiError(500, "A record for this resource could not be returned from " + name() +
+                                             ": " + error.getString("title", "unknown error"));
+        }
+
+        JsonObject data = object.getJsonObject("data");
+
+        if (data == null || data.getJsonObject("attributes") == null) {
+            ExternalDoiError error = super.findError(object, doi);
+
+            return error != null ? error :
+                   new ExternalDoiError(500, "A record for this resource could not be returned from " + name() + ".");
+        }
+
+        return null;
+    }
+
+    @Override
+    public JsonFieldFilter fieldFilter() {
+        return FIELD_FILTER;
+    }
+}
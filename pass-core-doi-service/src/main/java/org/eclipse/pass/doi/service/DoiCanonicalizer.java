@@ -0,0 +1,179 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+/**
+ * Validates DOIs and reduces them to a canonical form, so that the variants of a DOI a user may supply share one
+ * key for caching and locking. A DOI may be given as a URL (anything up to and including doi.org/ is removed) or
+ * with a doi: or info:doi/ prefix, and may be percent-encoded. DOIs are case insensitive, so the canonical form
+ * is lower case.
+ *
+ * The check is a hand written scan rather than a regular expression, and a DOI which is already canonical is
+ * returned as is, so the common case does not allocate.
+ *
+ * @author jrm
+ */
+public final class DoiCanonicalizer {
+    private static final String RESOLVER = "doi.org/";
+    private static final String DOI_SCHEME = "doi:";
+    private static final String INFO_URI = "info:doi/";
+    private static final int MIN_REGISTRANT_DIGITS = 4;
+    private static final int MAX_REGISTRANT_DIGITS = 9;
+
+    private DoiCanonicalizer() {
+    }
+
+    /**
+     * Reduce a DOI to its canonical form: 10.registrant/suffix in lower case, where the registrant is 4 to 9
+     * digits and the suffix consists of letters, digits and the characters -._;()/:
+     *
+     * @param doi the DOI as supplied
+     * @return the canonical DOI, or null if the DOI is not valid
+     */
+    public static String canonicalize(String doi) {
+        if (doi == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = doi.length();
+
+        while (start < end && Character.isWhitespace(doi.charAt(start))) {
+            start++;
+        }
+
+        while (end > start && Character.isWhitespace(doi.charAt(end - 1))) {
+            end--;
+        }
+
+        int resolver = indexOfIgnoreCase(doi, RESOLVER, start, end);
+
+        if (resolver >= 0) {
+            start = resolver + RESOLVER.length();
+        } else if (doi.regionMatches(true, start, INFO_URI, 0, INFO_URI.length())) {
+            start += INFO_URI.length();
+        } else if (doi.regionMatches(true, start, DOI_SCHEME, 0, DOI_SCHEME.length())) {
+            start += DOI_SCHEME.length();
+        }
+
+        String result;
+
+        if (needsRewrite(doi, start, end)) {
+            result = rewrite(doi, start, end);
+        } else if (start == 0 && end == doi.length()) {
+            result = doi;
+        } else {
+            result = doi.substring(start, end);
+        }
+
+        return result != null && isCanonical(result) ? result : null;
+    }
+
+    /**
+     * @param doi a DOI
+     * @return whether the DOI is valid and in canonical form
+     */
+    public static boolean isCanonical(String doi) {
+        int length = doi.length();
+
+        if (length < 3 || doi.charAt(0) != '1' || doi.charAt(1) != '0' || doi.charAt(2) != '.') {
+            return false;
+        }
+
+        int i = 3;
+
+        while (i < length && isDigit(doi.charAt(i))) {
+            i++;
+        }
+
+        int digits = i - 3;
+
+        if (digits < MIN_REGISTRANT_DIGITS || digits > MAX_REGISTRANT_DIGITS || i == length ||
+            doi.charAt(i) != '/' || i == length - 1) {
+            return false;
+        }
+
+        for (i++; i < length; i++) {
+            if (!isSuffixChar(doi.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean needsRewrite(String doi, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = doi.charAt(i);
+
+            if (c == '%' || (c >= 'A' && c <= 'Z')) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // Decode percent-encoding and lower case. Returns null for malformed or non ASCII encodings, which cannot
+    // be part of a valid DOI anyway.
+    private static String rewrite(String doi, int start, int end) {
+        StringBuilder result = new StringBuilder(end - start);
+
+        for (int i = start; i < end; i++) {
+            char c = doi.charAt(i);
+
+            if (c == '%') {
+                if (i + 2 >= end) {
+                    return null;
+                }
+
+                int high = Character.digit(doi.charAt(i + 1), 16);
+                int low = Character.digit(doi.charAt(i + 2), 16);
+
+                if (high < 0 || low < 0 || high > 7) {
+                    return null;
+                }
+
+                c = (char) (high * 16 + low);
+                i += 2;
+            }
+
+            result.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+
+        return result.toString();
+    }
+
+    private static int indexOfIgnoreCase(String s, String target, int start, int end) {
+        for (int i = start; i <= end - target.length(); i++) {
+            if (s.regionMatches(true, i, target, 0, target.length())) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSuffixChar(char c) {
+        return (c >= 'a' && c <= 'z') || isDigit(c) || c == '-' || c == '.' || c == '_' || c == ';' || c == '(' ||
+               c == ')' || c == '/' || c == ':';
+    }
+}
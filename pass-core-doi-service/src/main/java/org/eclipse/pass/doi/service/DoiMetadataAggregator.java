@@ -0,0 +1,144 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retrieves the metadata for a DOI from several providers in parallel and merges the results into one record, so
+ * that the combined lookup takes as long as the slowest provider rather than the sum of all of them. Each field of
+ * the record comes from the first provider, in the order given, which has a value for it. The providers section of
+ * the record holds the status of each provider, with the error message of those which failed.
+ *
+ * @author jrm
+ */
+public class DoiMetadataAggregator {
+    private static final Logger LOG = LoggerFactory.getLogger(DoiMetadataAggregator.class);
+
+    // longer than the connector timeouts plus the rate limit wait, so that it only catches stuck calls
+    private static final long PROVIDER_TIMEOUT_SECONDS = 45;
+
+    private final ExternalDoiServiceConnector connector;
+    private final Executor executor;
+
+    /**
+     * @param connector the connector used to call the providers
+     * @param executor the executor the provider calls run on
+     */
+    public DoiMetadataAggregator(ExternalDoiServiceConnector connector, Executor executor) {
+        this.connector = connector;
+        this.executor = executor;
+    }
+
+    /**
+     * Retrieve the metadata for a DOI from each of the providers.
+     *
+     * @param doi the verified doi
+     * @param providers the providers by id
+     * @return the merged metadata
+     */
+    public JsonObject retrieve(String doi, Map<String, ExternalDoiService> providers) {
+        Map<String, CompletableFuture<Section>> sections = new LinkedHashMap<>();
+
+        providers.forEach((id, service) -> sections.put(id, CompletableFuture
+            .supplyAsync(() -> retrieveSection(doi, service), executor)
+            .completeOnTimeout(error(504, service.name() + " did not respond in time."),
+                               PROVIDER_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .exceptionally(e -> {
+                LOG.error("Error retrieving " + service.name() + " metadata for doi " + doi, e);
+                return error(500, "There was an error getting the metadata from " + service.name() + " for " +
+                                  doi);
+            })));
+
+        Map<String, JsonValue> fields = new LinkedHashMap<>();
+        JsonObjectBuilder statuses = Json.createObjectBuilder();
+        fields.put("doi", Json.createValue(doi));
+
+        sections.forEach((id, future) -> {
+            Section section = future.join();
+
+            if (section.fields != null) {
+                section.fields.forEach((name, value) -> {
+                    if (value != JsonValue.NULL) {
+                        fields.putIfAbsent(name, value);
+                    }
+                });
+            }
+
+            statuses.add(id, section.status);
+        });
+
+        JsonObjectBuilder result = Json.createObjectBuilder();
+        fields.forEach(result::add);
+
+        return result.add("providers", statuses).build();
+    }
+
+    private Section retrieveSection(String doi, ExternalDoiService service) {
+        if (service.isAlreadyActive(doi)) {
+            return error(429, "There is already an active request for " + doi + "; try again later.");
+        }
+
+        ExternalDoiResponse response = connector.retrieveResponse(doi, service);
+
+        if (response == null) {
+            return error(500, "There was an error getting the metadata from " + service.name() + " for " + doi);
+        }
+
+        if (response.isUnavailable()) {
+            return error(503, service.name() + " is temporarily unavailable; try again later.");
+        }
+
+        ExternalDoiError error = service.findError(response.getMetadata(), doi);
+
+        if (error != null) {
+            return error(error.getStatus(), error.getMessage());
+        }
+
+        JsonObject fields = service.recordFields(service.processObject(response.getMetadata()));
+        return new Section(fields, Json.createObjectBuilder().add("status", 200).build());
+    }
+
+    private static Section error(int status, String message) {
+        return new Section(null, Json.createObjectBuilder()
+                                     .add("error", message)
+                                     .add("status", status)
+                                     .build());
+    }
+
+    // what a provider contributes: the fields of the record, if it has any, and its status
+    private static class Section {
+        private final JsonObject fields;
+        private final JsonObject status;
+
+        Section(JsonObject fields, JsonObject status) {
+            this.fields = fields;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The external DOI services known to the DOI service, by provider id. Crossref and Unpaywall must be registered
+ * because they back the journal and manuscript endpoints; other providers only contribute to the combined
+ * metadata endpoint. An application may define a bean of this type to plug in its own providers.
+ *
+ * @author jrm
+ */
+public class DoiProviderRegistry {
+    public static final String CROSSREF = "crossref";
+    public static final String UNPAYWALL = "unpaywall";
+    public static final String DATACITE = "datacite";
+    public static final String PUBMED = "pubmed";
+
+    private final Map<String, ExternalDoiService> providers = new LinkedHashMap<>();
+
+    /**
+     * @return a registry of the Crossref, Unpaywall, DataCite and PubMed services
+     */
+    public static DoiProviderRegistry defaults() {
+        return new DoiProviderRegistry()
+            .register(CROSSREF, new XrefDoiService())
+            .register(UNPAYWALL, new UnpaywallDoiService())
+            .register(DATACITE, new DataciteDoiService())
+            .register(PUBMED, new PubMedDoiService());
+    }
+
+    /**
+     * Add a provider, replacing any provider with the same id.
+     *
+     * @param id the provider id
+     * @param service the service
+     * @return this registry
+     */
+    public DoiProviderRegistry register(String id, ExternalDoiService service) {
+        providers.put(id, service);
+        return this;
+    }
+
+    /**
+     * @param id the provider id
+     * @return the service for the provider, or null if there is none
+     */
+    public ExternalDoiService get(String id) {
+        return providers.get(id);
+    }
+
+    /**
+     * @return the providers by id, in the order they were registered
+     */
+    public Map<String, ExternalDoiService> getProviders() {
+        return Collections.unmodifiableMap(providers);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.pass.object.VirtualThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans shared by the DOI service endpoints.
+ *
+ * @author jrm
+ */
+@Configuration
+public class DoiServiceConfiguration {
+    /**
+     * The executor the combined metadata lookup calls the providers on. It is shut down with the application
+     * context.
+     *
+     * @param virtualThreads whether to call the providers on virtual threads
+     * @return the executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService doiProviderExecutor(
+            @Value("${pass.virtual-threads.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return VirtualThreads.newExecutor("doi-provider-");
+        }
+
+        AtomicInteger count = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(32, r -> {
+            Thread thread = new Thread(r, "doi-provider-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -20,8 +20,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,20 +50,38 @@ public class ElideConnector {
     private static final Logger LOG = LoggerFactory.getLogger(ElideConnector.class);
 
     protected RefreshableElide refreshableElide;
+    protected JournalIndex journalIndex;
 
     protected ElideConnector(RefreshableElide refreshableElide) {
+        this(refreshableElide, new JournalIndex(JournalIndex.DEFAULT_MAX_ENTRIES));
+    }
+
+    protected ElideConnector(RefreshableElide refreshableElide, JournalIndex journalIndex) {
         this.refreshableElide = refreshableElide;
+        this.journalIndex = journalIndex;
     }
 
     protected PassClient getNewClient() {
         return new ElideDataStorePassClient(refreshableElide);
     }
 
+    /**
+     * Load journals already in PASS into the journal index so that early lookups do not miss.
+     */
+    protected void warmJournalIndex() {
+        try (PassClient passClient = getNewClient()) {
+            journalIndex.warm(passClient);
+        } catch (Exception e) {
+            LOG.warn("Unable to warm journal index: " + e.getMessage());
+        }
+    }
+
     /**
      * This is the only method interfacing with the repo that the Servlet calls -
      * it orchestrates the process of building a Journal object from the supplied JSON object,
      * seeing if the Journal is present in PASS, creating or updating that Journal if needed,
-     * and finally returning the PASS id for the Journal
+     * and finally returning the PASS id for the Journal. Journals in the journal index which
+     * need no update are resolved without touching the repo, any other journal is looked up in the repo.
      *
      * @param xrefJsonObject the supplied crossref JSON object
      * @return the id of the corresponding Journal object in PASS
@@ -70,21 +90,31 @@ public class ElideConnector {
 
         String journalId = null;
 
-        try (PassClient passClient = getNewClient()) {
+        try {
 
             // we have something JSONy, let's build a journal object from it
             LOG.debug("Building pass journal");
             Journal journal = buildPassJournal(xrefJsonObject);
 
-            // and compare it with what we already have in PASS, updating PASS if necessary
-            LOG.debug("Comparing journal object with possible PASS version");
-            Journal updatedJournal = updateJournalInPass(journal, passClient);
+            // if we already know this journal and it has nothing to add, we are done
+            JournalIndex.Entry entry = journalIndex.find(journal.getJournalName());
+            if (entry != null && entry.containsIssns(journal.getIssns())) {
+                journalId = entry.getId().toString();
+                LOG.debug("Journal with id " + journalId + " found in journal index");
+                return journalId;
+            }
+
+            try (PassClient passClient = getNewClient()) {
+                // and compare it with what we already have in PASS, updating PASS if necessary
+                LOG.debug("Comparing journal object with possible PASS version");
+                Journal updatedJournal = updateJournalInPass(journal, entry, passClient);
 
-            //we return the journal id if we have one
+                //we return the journal id if we have one
 
-            if (updatedJournal != null) {
-                journalId = updatedJournal.getId().toString();
-                LOG.debug("Journal with id " + journalId + " successfully processed");
+                if (updatedJournal != null) {
+                    journalId = updatedJournal.getId().toString();
+                    LOG.debug("Journal with id " + journalId + " successfully processed");
+                }
             }
 
         } catch (Exception e) {
@@ -178,12 +208,45 @@ public class ElideConnector {
      * @throws IOException if the connection to Elide was unsuccessful
      */
     protected Journal updateJournalInPass(Journal journal, PassClient passClient) throws IOException {
+        return updateJournalInPass(journal, null, passClient);
+    }
+
+    /**
+     * Take a Journal object constructed from Crossref metadata, and compare it with the
+     * version of this object which we have in PASS, as in {@link #updateJournalInPass(Journal, PassClient)}.
+     * If the journal index already points at the PASS version, it is retrieved by id rather than searched for.
+     * The journal index is updated with the result.
+     *
+     * @param journal - the Journal object generated from Crossref metadata
+     * @param entry - the journal index entry matching the journal, or null if there is none
+     * @param passClient - the PASS client
+     * @return the updated Journal object stored in PASS if the PASS object needs updating; null if we don't have
+     * enough info to create a journal
+     *
+     * @throws IOException if the connection to Elide was unsuccessful
+     */
+    protected Journal updateJournalInPass(Journal journal, JournalIndex.Entry entry, PassClient passClient)
+        throws IOException {
         LOG.debug("GETTING NAME and  ISSNS for Journal with nme " + journal.getJournalName());
         List<String> issns = journal.getIssns();
         String name = journal.getJournalName();
 
         //see if we have this in PASS
-        Journal passJournal = find(name, issns, passClient);
+        Journal passJournal = null;
+
+        if (entry != null) {
+            passJournal = passClient.getObject(Journal.class, entry.getId());
+
+            if (passJournal == null || !Objects.equals(name, passJournal.getJournalName())) {
+                // the journal has been deleted or renamed behind our back
+                journalIndex.remove(entry.getId());
+                passJournal = null;
+            }
+        }
+
+        if (passJournal == null) {
+            passJournal = find(name, issns, passClient);
+        }
 
         //create or update the pass version of this Journal
         if (passJournal == null) {
@@ -191,7 +254,7 @@ public class ElideConnector {
             if (name != null && !name.isEmpty() && issns.size() > 0) {
                 // but we have enough info to make a Journal entry
                 passClient.createObject(journal);
-                passJournal = new Journal(find(name, issns, passClient));
+                passJournal = journal;
             } else {
                 // do not have enough to create a new journal
                 LOG.debug("Not enough info for journal " + name);
@@ -210,6 +273,8 @@ public class ElideConnector {
             }
         }
 
+        journalIndex.put(passJournal);
+
         return passJournal;
     }
 
@@ -233,7 +298,7 @@ public class ElideConnector {
         //look for journals with this name
         String filter = RSQL.equals("journalName", name);
         PassClientResult<Journal> result = passClient.
-            selectObjects(new PassClientSelector<>(Journal.class, 0, 100, filter, null));
+            selectObjects(new PassClientSelector<>(Journal.class, 0, 100, filter, "id"));
         foundList.addAll(result.getObjects());
 
         //commenting this out until we get a search filter that works for finding a string in a list of strings
@@ -254,8 +319,10 @@ public class ElideConnector {
         if (foundList.size() == 0) {
             return null;
         } else {
+            // ties go to the lowest id, as in the journal index
             Map<Journal, Long> scoreMap = foundList.stream()
-                                                   .collect(Collectors.groupingBy(e -> e, Collectors.counting()));
+                                                   .collect(Collectors.groupingBy(e -> e, LinkedHashMap::new,
+                                                                                  Collectors.counting()));
 
             // we have matches, pick the best one
             Long highScore = Collections.max(scoreMap.values());
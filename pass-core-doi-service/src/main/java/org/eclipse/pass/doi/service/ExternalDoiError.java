@@ -0,0 +1,50 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+/**
+ * An error reported by an external DOI service, as the status and message to return to our caller.
+ *
+ * @author jrm
+ */
+public class ExternalDoiError {
+    private final int status;
+    private final String message;
+
+    /**
+     * @param status the HTTP status to respond with
+     * @param message the error message
+     */
+    public ExternalDoiError(int status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * @return the HTTP status to respond with
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the error message
+     */
+    public String getMessage() {
+        return message;
+    }
+}
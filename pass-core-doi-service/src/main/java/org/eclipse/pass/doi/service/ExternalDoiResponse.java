@@ -0,0 +1,70 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import javax.json.JsonObject;
+
+/**
+ * The response of an external DOI service: the fields of the JSON response which PASS uses, and, for services
+ * whose response is passed on, the response body as it was received so that it can be passed on without being
+ * rebuilt.
+ *
+ * @author jrm
+ */
+public class ExternalDoiResponse {
+    private static final ExternalDoiResponse UNAVAILABLE = new ExternalDoiResponse(null, null);
+
+    private final JsonObject metadata;
+    private final String body;
+
+    /**
+     * @param metadata the fields of the response used by PASS
+     * @param body the response body, or null if it is not kept or not valid JSON
+     */
+    public ExternalDoiResponse(JsonObject metadata, String body) {
+        this.metadata = metadata;
+        this.body = body;
+    }
+
+    /**
+     * @return a response marking the service as temporarily unavailable
+     */
+    public static ExternalDoiResponse unavailable() {
+        return UNAVAILABLE;
+    }
+
+    /**
+     * @return whether the service was temporarily unavailable and nothing was cached for the request
+     */
+    public boolean isUnavailable() {
+        return this == UNAVAILABLE;
+    }
+
+    /**
+     * @return the fields of the response used by PASS, or null if the service was unavailable
+     */
+    public JsonObject getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return the response body, or null if it is not kept or not valid JSON
+     */
+    public String getBody() {
+        return body;
+    }
+}
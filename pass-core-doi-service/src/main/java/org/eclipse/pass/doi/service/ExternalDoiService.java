@@ -16,16 +16,15 @@
  */
 package org.eclipse.pass.doi.service;
 
-import static java.lang.Thread.sleep;
-
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
 
+import okhttp3.HttpUrl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +37,35 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class ExternalDoiService {
     private static final Logger LOG = LoggerFactory.getLogger(ExternalDoiService.class);
-    private final Set<String> activeJobSet = new HashSet<>();
-    private final Set<String> syncActiveJobSet = Collections.synchronizedSet(activeJobSet);
+    //longest time we expect it should take to create a Journal object
+    private static final long ACTIVE_JOB_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    // the size of the fallback cache of each service, in characters: about 16 MB, or some thousands of records
+    private static final long CACHE_CHARS = 8 * 1024 * 1024;
+
+    // Expiry time in System.nanoTime() of each active DOI
+    private final Map<String, Long> activeJobs = new ConcurrentHashMap<>();
 
     String MAILTO = "pass@jhu.edu";
 
+    private ExternalDoiServiceGuard guard;
+    private final String configuredBaseUrl;
+
+    /**
+     * Create a service which uses the base URL from the environment or its default.
+     */
+    protected ExternalDoiService() {
+        this(null);
+    }
+
+    /**
+     * Create a service with a fixed base URL, for example a local stub server.
+     * @param baseUrl the base URL, or null to use the environment or the default
+     */
+    protected ExternalDoiService(String baseUrl) {
+        this.configuredBaseUrl = baseUrl;
+    }
+
     /**
      * The name of the external service
      * @return the name of the external service
@@ -55,6 +78,40 @@ public abstract class ExternalDoiService {
      */
     public  abstract String baseUrl();
 
+    /**
+     * Resolve the base URL of the external service: the URL given at construction, or else the value of an
+     * environment variable, or else the default.
+     * @param envName the name of the environment variable
+     * @param defaultUrl the default URL
+     * @return the base URL
+     */
+    protected String baseUrl(String envName, String defaultUrl) {
+        if (configuredBaseUrl != null) {
+            return configuredBaseUrl;
+        }
+
+        return System.getenv(envName) != null ? System.getenv(envName) : defaultUrl;
+    }
+
+    /**
+     * The URL to request the metadata for a doi from. By default the doi is appended to the base URL, and
+     * the query parameters are added.
+     * @param doi the doi
+     * @return the URL
+     */
+    public HttpUrl buildUrl(String doi) {
+        HttpUrl.Builder urlBuilder = Objects.requireNonNull(HttpUrl.parse(baseUrl() + doi)).newBuilder();
+        HashMap<String, String> parameters = parameterMap();
+
+        if ( parameters != null ) {
+            for ( String key : parameters.keySet() ) {
+                urlBuilder.addQueryParameter(key, parameters.get(key));
+            }
+        }
+
+        return urlBuilder.build();
+    }
+
     /**
      * A key, value map of query parameters used by the external service; null if there aren't any.
      * @return the map
@@ -74,24 +131,96 @@ public abstract class ExternalDoiService {
      */
     public  abstract JsonObject processObject(JsonObject object);
 
+    /**
+     * The fields this service contributes to the record merged from several services. By default these are the
+     * fields of the processed response.
+     * @param object the processed JSON response
+     * @return the fields for the merged record
+     */
+    public JsonObject recordFields(JsonObject object) {
+        return object;
+    }
+
+    /**
+     * Find the error reported by the external service in its JSON response. By default a response with an
+     * error field is a server error.
+     * @param object the JSON response
+     * @param doi the doi which was requested
+     * @return the error, or null if the response is not an error
+     */
+    public ExternalDoiError findError(JsonObject object, String doi) {
+        if (object.containsKey("error")) {
+            return new ExternalDoiError(500, "A record for this resource could not be returned from " + name() +
+                                             ": " + object.get("error"));
+        }
+
+        return null;
+    }
+
+    /**
+     * The fields of the external service's JSON response which are used by PASS; null if the whole
+     * response is used.
+     * @return the field filter
+     */
+    public JsonFieldFilter fieldFilter() {
+        return null;
+    }
+
+    /**
+     * Whether the external service's response is passed on as it was received, so that the response body has to
+     * be kept as well as the fields selected by {@link #fieldFilter()}.
+     * @return true if the response body is kept
+     */
+    public boolean keepsBody() {
+        return false;
+    }
+
+    /**
+     * Read the external service's JSON response from a stream of parser events, keeping only the fields
+     * selected by {@link #fieldFilter()}.
+     * @param parser a parser positioned before the start of the response
+     * @return the JSON object
+     */
+    public JsonObject readObject(JsonParser parser) {
+        JsonFieldFilter filter = fieldFilter();
+
+        if (filter == null) {
+            parser.next();
+            return parser.getObject();
+        }
+
+        return filter.read(parser);
+    }
+
+    /**
+     * The number of requests per second allowed to the external service until it tells us otherwise.
+     * @return the initial rate limit
+     */
+    public int requestsPerSecond() {
+        return 50;
+    }
+
+    /**
+     * The guard protecting the external service: its circuit breaker, rate limiter and response cache.
+     * @return the guard
+     */
+    public synchronized ExternalDoiServiceGuard guard() {
+        if (guard == null) {
+            guard = new ExternalDoiServiceGuard(name(), 5, 30000, requestsPerSecond(), CACHE_CHARS);
+        }
+
+        return guard;
+    }
+
     /**
      * check to see whether supplied DOI is in valid format after splitting off a possible prefix
      *
-     * @return the valid suffix, or null if invalid
+     * @return the canonical DOI, or null if invalid
+     * @see DoiCanonicalizer
      */
     String verify(String doi) {
         LOG.debug("Verifying doi format for " + doi );
-        if (doi == null) {
-            return null;
-        }
-        String criterion = "doi.org/";
-        int i = doi.indexOf(criterion);
-        String suffix = i >= 0 ? doi.substring(i + criterion.length()) : doi;
-
-        Pattern pattern = Pattern.compile("^10\\.\\d{4,9}/[-._;()/:a-zA-Z0-9]+$");
-
-        Matcher matcher = pattern.matcher(suffix);
-        return matcher.matches() ? suffix : null;
+        return DoiCanonicalizer.canonicalize(doi);
     }
 
     /**
@@ -102,22 +231,23 @@ public abstract class ExternalDoiService {
      * @return whether the doi lookup is still active
      */
     boolean isAlreadyActive(String doi) {
-        //check cache map for existence of doi
-        //put doi on map if absent
         LOG.debug("Checking to see if doi " + doi + " is already in process");
-        if (syncActiveJobSet.contains(doi)) {
-            return true;
-        } else {
+        long now = System.nanoTime();
+        long expires = now + ACTIVE_JOB_NANOS;
+
+        // forget DOIs whose processing never unlocked them
+        activeJobs.values().removeIf(time -> time - now <= 0);
+
+        Long previous = activeJobs.putIfAbsent(doi, expires);
+
+        if (previous == null) {
             // this DOI is not actively being processed
             // let's temporarily prohibit new requests for this DOI
-            syncActiveJobSet.add(doi);
-            //longest time we expect it should take to create a Journal object, in
-            //milliseconds
-            int cachePeriod = 30000;
-            Thread t = new Thread(new ExternalDoiService.ExpiringLock(doi, cachePeriod));
-            t.start();
+            return false;
         }
-        return false;
+
+        // an expired entry is taken over unless another request got there first
+        return previous - now > 0 || !activeJobs.replace(doi, previous, expires);
     }
 
     /**
@@ -125,29 +255,6 @@ public abstract class ExternalDoiService {
      * @param doi the doi
      */
     void unlockDoi(String doi) {
-        syncActiveJobSet.remove(doi);
-    }
-
-    /**
-     * A class to manage locking so that an active process for a DOI will finish executing before
-     * another one begins
-     */
-    public class ExpiringLock implements Runnable {
-        private final String key;
-        private final int duration;
-
-        ExpiringLock(String key, int duration) {
-            this.key = key;
-            this.duration = duration;
-        }
-
-        public void run() {
-            try {
-                sleep(duration);
-                syncActiveJobSet.remove(key);
-            } catch (InterruptedException e) {
-                syncActiveJobSet.remove(key);
-            }
-        }
+        activeJobs.remove(doi);
     }
 }
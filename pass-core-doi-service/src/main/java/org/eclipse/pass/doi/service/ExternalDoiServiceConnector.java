@@ -19,16 +19,17 @@ package org.eclipse.pass.doi.service;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.Objects;
 import javax.json.Json;
+import javax.json.JsonException;
 import javax.json.JsonObject;
-import javax.json.JsonReader;
+import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParsingException;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import okhttp3.Call;
 import okhttp3.Headers;
-import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -38,11 +39,22 @@ import org.slf4j.LoggerFactory;
 /**
  * A class which manages the retrieval of JSON from external DOI services (Unpaywall, Crossref)
  *
+ * The time of each call to a service is recorded as the timer pass.doi.external.requests, tagged with the service
+ * and the outcome: success, the status of a refused call, not_json or error. Requests which are not sent because
+ * of the rate limit or circuit breaker are counted by pass.doi.external.skipped. Each call is also traced, see
+ * {@link TracingInterceptor}.
+ *
  * @author jrm
  */
 public class ExternalDoiServiceConnector {
     private static final Logger LOG = LoggerFactory.getLogger(ExternalDoiServiceConnector.class);
 
+    // how long a request waits for the rate limit before falling back
+    private static final long RATE_LIMIT_WAIT_MILLIS = 5000;
+
+    // how much of a response which is not JSON is kept as the error text
+    private static final int ERROR_TEXT_LIMIT = 1024;
+
     private final OkHttpClient client;
 
     ExternalDoiServiceConnector() {
@@ -50,6 +62,7 @@ public class ExternalDoiServiceConnector {
         builder.connectTimeout(30, SECONDS);
         builder.readTimeout(30, SECONDS);
         builder.writeTimeout(30, SECONDS);
+        builder.addInterceptor(new TracingInterceptor());
         this.client = builder.build();
     }
 
@@ -57,20 +70,53 @@ public class ExternalDoiServiceConnector {
      * consult external service to get a json object for a supplied doi
      *
      * @param doi - the supplied doi string, prefix trimmed if necessary
-     * @return a string representing the works object if successful; an empty string if not found; null if IO exception
+     * @return a string representing the works object if successful; an empty string if not found; null if the
+     * service could not be called
      */
     JsonObject retrieveMetadata(String doi, ExternalDoiService service) {
+        ExternalDoiResponse response = retrieveResponse(doi, service);
+        return response == null ? null : response.getMetadata();
+    }
+
+    /**
+     * consult external service to get the response for a supplied doi. The response body is read from its stream
+     * with a streaming parser which keeps only the fields the service uses, rather than being built into a full JSON
+     * tree. The text of the body is only kept if the service passes it on, or as the error if it is not JSON.
+     *
+     * Calls are rate limited and guarded by a circuit breaker. If the service cannot be called, because its breaker
+     * is open, no rate limit token is available in time, or the call fails or is refused, a cached response for the
+     * doi is returned if there is one.
+     *
+     * @param doi - the supplied doi string, prefix trimmed if necessary
+     * @return the response if successful; a response with an error object if the body is not JSON; the cached or
+     * unavailable response if the service could not be called
+     */
+    ExternalDoiResponse retrieveResponse(String doi, ExternalDoiService service) {
         LOG.debug("Attempting to retrieve " + service.name() + "metadata for doi " + doi);
 
-        HttpUrl.Builder urlBuilder = Objects.requireNonNull(HttpUrl.parse(service.baseUrl() + doi)).newBuilder();
+        ExternalDoiServiceGuard guard = service.guard();
 
-        if ( service.parameterMap() != null ) {
-            for ( String key : service.parameterMap().keySet() ) {
-                urlBuilder.addQueryParameter(key, service.parameterMap().get(key));
+        // take a token before consulting the breaker so that a half open breaker is not left without its trial call
+        try {
+            if (!guard.getRateLimiter().acquire(RATE_LIMIT_WAIT_MILLIS)) {
+                LOG.warn("Rate limit for " + service.name() + " exceeded, not retrieving metadata for doi " + doi);
+                Metrics.counter("pass.doi.external.skipped", "service", service.name(), "reason", "rate_limit")
+                       .increment();
+                return fallback(doi, service);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback(doi, service);
+        }
+
+        if (!guard.getCircuitBreaker().allowRequest()) {
+            LOG.debug("Circuit breaker for " + service.name() + " is open, not retrieving metadata for doi " + doi);
+            Metrics.counter("pass.doi.external.skipped", "service", service.name(), "reason", "circuit_open")
+                   .increment();
+            return fallback(doi, service);
         }
 
-        String url = urlBuilder.build().toString();
+        String url = service.buildUrl(doi).toString();
 
         Request.Builder requestBuilder =  new Request.Builder()
             .url(url);
@@ -80,29 +126,95 @@ public class ExternalDoiServiceConnector {
         Request okHttpRequest =  requestBuilder.build();
 
         Call call = client.newCall(okHttpRequest);
-        JsonReader reader;
         JsonObject metadataJsonObject;
-        String responseString = null;
+        CapturingReader body = null;
+        boolean succeeded = false;
+        String outcome = "error";
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
 
         try (Response okHttpResponse = call.execute()) {
-            responseString = Objects.requireNonNull(okHttpResponse.body()).string();
-            reader = Json.createReader(new StringReader(responseString));
-            metadataJsonObject = reader.readObject();
-            reader.close();
+            outcome = okHttpResponse.isSuccessful() ? "success" : String.valueOf(okHttpResponse.code());
+
+            guard.getRateLimiter().adapt(okHttpResponse.header("X-Rate-Limit-Limit"),
+                                         okHttpResponse.header("X-Rate-Limit-Interval"));
+
+            if (okHttpResponse.code() == 429 || okHttpResponse.code() >= 500) {
+                LOG.warn(service.name() + " responded with status " + okHttpResponse.code() + " for doi " + doi);
+
+                if (okHttpResponse.code() == 429) {
+                    guard.getRateLimiter().backOff();
+                }
+
+                return fallback(doi, service);
+            }
+
+            body = new CapturingReader(Objects.requireNonNull(okHttpResponse.body()).charStream(),
+                                       service.keepsBody() ? Integer.MAX_VALUE : ERROR_TEXT_LIMIT);
+
+            // the parser is not closed, so that the rest of a body which is not JSON can still be read as the
+            // error; the stream is closed with the response
+            JsonParser parser = Json.createParser(body);
+            metadataJsonObject = service.readObject(parser);
+            succeeded = true;
+
+            if (service.keepsBody()) {
+                body.drain();
+            }
 
             service.unlockDoi(doi);
 
-            return metadataJsonObject;
-        } catch (JsonParsingException e) {
-            if (responseString != null) {
-                return Json.createObjectBuilder()
-                           .add("error", responseString)
-                           .build();
+            ExternalDoiResponse response = new ExternalDoiResponse(metadataJsonObject,
+                                                                   service.keepsBody() ? body.text() : null);
+
+            if (okHttpResponse.isSuccessful()) {
+                guard.cache(doi, response);
             }
+
+            return response;
+        } catch (JsonParsingException e) {
+            // the service answered, just not with JSON
+            succeeded = true;
+            outcome = "not_json";
+            return new ExternalDoiResponse(Json.createObjectBuilder()
+                                               .add("error", errorText(body))
+                                               .build(), null);
+        } catch (JsonException e) {
+            // the parser wraps an IOException, such as the connection failing part way through the body
+            outcome = "error";
+            LOG.error(e.getMessage(), e);
+            return fallback(doi, service);
         } catch (IOException e) {
+            outcome = "error";
+            succeeded = false;
             LOG.error(e.getMessage(), e);
+            return fallback(doi, service);
+        } finally {
+            sample.stop(Metrics.timer("pass.doi.external.requests", "service", service.name(), "outcome", outcome));
+
+            if (succeeded) {
+                guard.getCircuitBreaker().recordSuccess();
+            } else {
+                guard.getCircuitBreaker().recordFailure();
+            }
+        }
+    }
+
+    // the text of a response which is not JSON, which is usually a short message such as "Resource not found."
+    private static String errorText(CapturingReader body) {
+        try {
+            body.drain();
+        } catch (IOException e) {
+            LOG.debug("Could not read the rest of a response which is not JSON", e);
         }
-        return null;
+
+        String text = body.text();
+        return text.length() > ERROR_TEXT_LIMIT ? text.substring(0, ERROR_TEXT_LIMIT) : text;
+    }
+
+    private ExternalDoiResponse fallback(String doi, ExternalDoiService service) {
+        // the doi is not being processed any more, so a retry should not be refused as already active
+        service.unlockDoi(doi);
+        return service.guard().fallback(doi);
     }
 
 }
@@ -0,0 +1,186 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Protects an external DOI service, and our callers, from each other. It holds the circuit breaker and rate
+ * limiter for the service, and a cache of recent successful responses which is used as a fallback when the
+ * service cannot be called. The cache is bounded by the total size of the responses it holds, counted in
+ * characters of the response body where the body is kept and of the metadata otherwise, so that a few large
+ * records cannot take up much more memory than many small ones.
+ *
+ * The fallbacks, rejections and circuit breaker trips and recoveries are exported as counters, and whether the
+ * breaker is open and the number of requests waiting for the rate limiter as gauges, all tagged with the name of
+ * the service.
+ *
+ * @author jrm
+ */
+public class ExternalDoiServiceGuard {
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final LinkedHashMap<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long cacheChars;
+    private long cachedChars;
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    /**
+     * @param name the name of the service
+     * @param failureThreshold the number of consecutive failures which open the circuit breaker
+     * @param openMillis how long the circuit breaker stays open
+     * @param requestsPerSecond the initial rate limit
+     * @param cacheChars the maximum total size of the cached responses, in characters
+     */
+    public ExternalDoiServiceGuard(String name, int failureThreshold, long openMillis, int requestsPerSecond,
+                                   long cacheChars) {
+        this.circuitBreaker = new CircuitBreaker(name, failureThreshold, openMillis);
+        this.rateLimiter = new RateLimiter(name, requestsPerSecond, 1000);
+        this.cacheChars = cacheChars;
+
+        bindMetrics(name, Metrics.globalRegistry);
+    }
+
+    private void bindMetrics(String name, MeterRegistry registry) {
+        FunctionCounter.builder("pass.doi.external.fallbacks", this, ExternalDoiServiceGuard::getFallbacks)
+                .tag("service", name).register(registry);
+        FunctionCounter.builder("pass.doi.external.rejections", this, ExternalDoiServiceGuard::getRejections)
+                .tag("service", name).register(registry);
+        FunctionCounter.builder("pass.doi.external.circuit.trips", circuitBreaker, CircuitBreaker::getTrips)
+                .tag("service", name).register(registry);
+        FunctionCounter.builder("pass.doi.external.circuit.recoveries", circuitBreaker,
+                                CircuitBreaker::getRecoveries)
+                .tag("service", name).register(registry);
+        Gauge.builder("pass.doi.external.circuit.open", circuitBreaker,
+                      breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .tag("service", name).register(registry);
+        Gauge.builder("pass.doi.external.rate.queue", rateLimiter, RateLimiter::getQueueDepth)
+                .tag("service", name).register(registry);
+    }
+
+    /**
+     * @return the circuit breaker
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return the rate limiter
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Remember a successful response, forgetting the least recently used responses if the cache is full. A
+     * response which is larger than the whole cache is not remembered.
+     *
+     * @param doi the doi
+     * @param response the response
+     */
+    public void cache(String doi, ExternalDoiResponse response) {
+        long size = response.getBody() != null ? response.getBody().length()
+                                                : response.getMetadata().toString().length();
+
+        synchronized (cache) {
+            CachedResponse previous = cache.remove(doi);
+
+            if (previous != null) {
+                cachedChars -= previous.size;
+            }
+
+            if (size > cacheChars) {
+                return;
+            }
+
+            Iterator<CachedResponse> eldest = cache.values().iterator();
+
+            while (cachedChars + size > cacheChars) {
+                cachedChars -= eldest.next().size;
+                eldest.remove();
+            }
+
+            cache.put(doi, new CachedResponse(response, size));
+            cachedChars += size;
+        }
+    }
+
+    /**
+     * Provide the response to use when the service cannot be called: the cached response if there is one,
+     * otherwise a response marking the service unavailable.
+     *
+     * @param doi the doi
+     * @return the fallback response
+     */
+    public ExternalDoiResponse fallback(String doi) {
+        CachedResponse cached;
+
+        synchronized (cache) {
+            cached = cache.get(doi);
+        }
+
+        if (cached == null) {
+            rejections.incrementAndGet();
+            return ExternalDoiResponse.unavailable();
+        }
+
+        fallbacks.incrementAndGet();
+        return cached.response;
+    }
+
+    /**
+     * @return the total size of the cached responses, in characters
+     */
+    public long getCachedChars() {
+        synchronized (cache) {
+            return cachedChars;
+        }
+    }
+
+    /**
+     * @return the number of requests answered from the cache because the service could not be called
+     */
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    /**
+     * @return the number of requests refused because the service could not be called and nothing was cached
+     */
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    private static class CachedResponse {
+        private final ExternalDoiResponse response;
+        private final long size;
+
+        CachedResponse(ExternalDoiResponse response, long size) {
+            this.response = response;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.yahoo.elide.annotation.LifeCycleHookBinding;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+import com.yahoo.elide.core.lifecycle.LifeCycleHook;
+import com.yahoo.elide.core.security.ChangeSpec;
+import com.yahoo.elide.core.security.RequestScope;
+import org.eclipse.pass.object.PassClient;
+import org.eclipse.pass.object.PassClientSelector;
+import org.eclipse.pass.object.model.Journal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory index of PASS journals keyed on journal name. This lets the DOI service resolve a journal
+ * without a database round trip when it has already seen it. A journal matches on exactly the same name, as
+ * when searching PASS, and among journals sharing a name the one with the lowest id is used.
+ *
+ * The index is bounded: once it holds the maximum number of journals, the least recently used one is
+ * evicted. It is kept current by Elide life cycle hooks on {@link Journal}, and by the DOI service itself
+ * for the journals it creates or updates. Writes made through an
+ * {@link org.eclipse.pass.object.ElideDataStorePassClient} by other components, or directly in the database,
+ * do not trigger hooks. So entries expire after a time to live, and a miss must be answered from the database.
+ *
+ * @author jrm
+ */
+public class JournalIndex implements LifeCycleHook<Journal> {
+    private static final Logger LOG = LoggerFactory.getLogger(JournalIndex.class);
+
+    static final int DEFAULT_MAX_ENTRIES = 10000;
+    static final long DEFAULT_TTL_SECONDS = 600;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<String, Long> idsByName = new HashMap<>();
+
+    /**
+     * @param maxEntries the maximum number of journals held by the index
+     */
+    public JournalIndex(int maxEntries) {
+        this(maxEntries, DEFAULT_TTL_SECONDS);
+    }
+
+    /**
+     * @param maxEntries the maximum number of journals held by the index
+     * @param ttlSeconds the time in seconds an entry is trusted after it was added
+     */
+    public JournalIndex(int maxEntries, long ttlSeconds) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Journal index must hold at least one entry: " + maxEntries);
+        }
+
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Bind this index to create, update and delete events on Journal objects.
+     *
+     * @param dictionary the dictionary of the Elide instance serving the data
+     */
+    public void register(EntityDictionary dictionary) {
+        dictionary.bindTrigger(Journal.class, LifeCycleHookBinding.Operation.CREATE,
+                LifeCycleHookBinding.TransactionPhase.POSTCOMMIT, this, false);
+        dictionary.bindTrigger(Journal.class, LifeCycleHookBinding.Operation.UPDATE,
+                LifeCycleHookBinding.TransactionPhase.POSTCOMMIT, this, false);
+        dictionary.bindTrigger(Journal.class, LifeCycleHookBinding.Operation.DELETE,
+                LifeCycleHookBinding.TransactionPhase.POSTCOMMIT, this, false);
+    }
+
+    /**
+     * Load the most recently created journals in PASS into the index, up to its capacity.
+     *
+     * @param passClient the PASS client
+     * @throws IOException if the journals could not be read
+     */
+    public void warm(PassClient passClient) throws IOException {
+        PassClientSelector<Journal> selector = new PassClientSelector<>(Journal.class);
+        selector.setSorting("-id");
+
+        try (Stream<Journal> journals = passClient.streamObjects(selector)) {
+            journals.limit(maxEntries).forEach(this::put);
+        }
+
+        LOG.info("Journal index warmed with " + size() + " journals");
+    }
+
+    @Override
+    public void execute(LifeCycleHookBinding.Operation operation, LifeCycleHookBinding.TransactionPhase phase,
+                        Journal journal, RequestScope requestScope, Optional<ChangeSpec> changes) {
+        if (operation == LifeCycleHookBinding.Operation.DELETE) {
+            remove(journal.getId());
+        } else {
+            put(journal);
+        }
+    }
+
+    /**
+     * Find a journal by name.
+     *
+     * @param name the journal name
+     * @return the matching entry or null if there is no match or it has expired
+     */
+    public synchronized Entry find(String name) {
+        Long id = name == null ? null : idsByName.get(name);
+        Entry entry = id == null ? null : entries.get(id);
+
+        if (entry != null && System.nanoTime() - entry.added > ttlNanos) {
+            remove(id);
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Add a persisted journal to the index, replacing any previous entry for it.
+     *
+     * @param journal the journal
+     */
+    public synchronized void put(Journal journal) {
+        if (journal == null || journal.getId() == null) {
+            return;
+        }
+
+        remove(journal.getId());
+
+        Entry entry = new Entry(journal.getId(), journal.getJournalName(), journal.getIssns(), System.nanoTime());
+        entries.put(entry.id, entry);
+
+        if (entry.name != null) {
+            idsByName.merge(entry.name, entry.id, Math::min);
+        }
+
+        if (entries.size() > maxEntries) {
+            Iterator<Entry> iter = entries.values().iterator();
+            Entry eldest = iter.next();
+            iter.remove();
+            unlink(eldest);
+        }
+    }
+
+    /**
+     * Remove a journal from the index.
+     *
+     * @param id the id of the journal
+     */
+    public synchronized void remove(Long id) {
+        Entry entry = entries.remove(id);
+
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * @return the number of journals in the index
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.name != null) {
+            idsByName.remove(entry.name, entry.id);
+        }
+    }
+
+    /**
+     * What the index knows about a journal.
+     */
+    public static class Entry {
+        private final Long id;
+        private final String name;
+        private final List<String> issns;
+        private final long added;
+
+        Entry(Long id, String name, List<String> issns, long added) {
+            this.id = id;
+            this.name = name;
+            this.issns = issns == null ? Collections.emptyList() : new ArrayList<>(issns);
+            this.added = added;
+        }
+
+        /**
+         * @return the id of the journal
+         */
+        public Long getId() {
+            return id;
+        }
+
+        /**
+         * @param issns ISSNs in the form type:value
+         * @return whether the journal already has all of the ISSNs
+         */
+        public boolean containsIssns(List<String> issns) {
+            return this.issns.containsAll(issns);
+        }
+    }
+}
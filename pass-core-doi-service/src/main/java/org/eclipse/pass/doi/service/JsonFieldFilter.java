@@ -0,0 +1,149 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+
+/**
+ * Reads a JSON object from a stream of parser events, keeping only selected fields. Everything else is
+ * skipped without being materialized, so the cost of reading a large response is mostly the cost of
+ * tokenizing it. The result has the same shape as the original object, restricted to the selected fields.
+ * Arrays are transparent: the filter of a field applies to each element of an array value.
+ *
+ * @author jrm
+ */
+public class JsonFieldFilter {
+    private final Map<String, JsonFieldFilter> fields = new HashMap<>();
+
+    /**
+     * Keep the whole value of a field.
+     *
+     * @param name the field name
+     * @return this filter
+     */
+    public JsonFieldFilter keep(String name) {
+        fields.put(name, null);
+        return this;
+    }
+
+    /**
+     * Keep the selected parts of the value of a field.
+     *
+     * @param name the field name
+     * @param filter the filter to apply to the value
+     * @return this filter
+     */
+    public JsonFieldFilter keep(String name, JsonFieldFilter filter) {
+        fields.put(name, filter);
+        return this;
+    }
+
+    /**
+     * Read a JSON object from a parser positioned before the start of the object.
+     *
+     * @param parser the parser
+     * @return the filtered object
+     * @throws JsonParsingException if the input is not a JSON object
+     */
+    public JsonObject read(JsonParser parser) {
+        if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+            throw new JsonParsingException("Expected a JSON object", parser.getLocation());
+        }
+
+        return readObject(parser, this);
+    }
+
+    // The parser is positioned on START_OBJECT. A null filter keeps everything.
+    private static JsonObject readObject(JsonParser parser, JsonFieldFilter filter) {
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            String name = parser.getString();
+            JsonParser.Event event = parser.next();
+
+            if (filter == null) {
+                builder.add(name, readValue(parser, event, null));
+            } else if (filter.fields.containsKey(name)) {
+                builder.add(name, readValue(parser, event, filter.fields.get(name)));
+            } else {
+                skipValue(parser, event);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static JsonValue readValue(JsonParser parser, JsonParser.Event event, JsonFieldFilter filter) {
+        switch (event) {
+            case START_OBJECT:
+                return readObject(parser, filter);
+            case START_ARRAY:
+                JsonArrayBuilder builder = Json.createArrayBuilder();
+                JsonParser.Event next;
+
+                while ((next = parser.next()) != JsonParser.Event.END_ARRAY) {
+                    builder.add(readValue(parser, next, filter));
+                }
+
+                return builder.build();
+            case VALUE_STRING:
+                return Json.createValue(parser.getString());
+            case VALUE_NUMBER:
+                return parser.isIntegralNumber() ? Json.createValue(parser.getLong())
+                                                 : Json.createValue(parser.getBigDecimal());
+            case VALUE_TRUE:
+                return JsonValue.TRUE;
+            case VALUE_FALSE:
+                return JsonValue.FALSE;
+            case VALUE_NULL:
+                return JsonValue.NULL;
+            default:
+                throw new JsonParsingException("Unexpected JSON event " + event, parser.getLocation());
+        }
+    }
+
+    private static void skipValue(JsonParser parser, JsonParser.Event event) {
+        if (event != JsonParser.Event.START_OBJECT && event != JsonParser.Event.START_ARRAY) {
+            return;
+        }
+
+        int depth = 1;
+
+        while (depth > 0) {
+            switch (parser.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
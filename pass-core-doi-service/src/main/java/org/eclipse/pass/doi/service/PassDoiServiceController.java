@@ -18,6 +18,10 @@ package org.eclipse.pass.doi.service;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.json.Json;
 import javax.json.JsonObject;
 import javax.servlet.http.HttpServletRequest;
@@ -26,6 +30,8 @@ import javax.servlet.http.HttpServletResponse;
 import com.yahoo.elide.RefreshableElide;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -40,14 +46,33 @@ public class PassDoiServiceController {
     private static final Logger LOG = LoggerFactory.getLogger(PassDoiServiceController.class);
     ElideConnector elideConnector;
     ExternalDoiServiceConnector externalDoiServiceConnector;
+    DoiProviderRegistry providerRegistry;
+    DoiMetadataAggregator metadataAggregator;
     ExternalDoiService xrefDoiService;
     ExternalDoiService unpaywallDoiService;
 
-    PassDoiServiceController(RefreshableElide refreshableElide) {
-        this.elideConnector = new ElideConnector(refreshableElide);
+    PassDoiServiceController(RefreshableElide refreshableElide, ObjectProvider<DoiProviderRegistry> registry,
+                             @Qualifier("doiProviderExecutor") ExecutorService doiProviderExecutor) {
+        JournalIndex journalIndex = new JournalIndex(journalIndexSize(), journalIndexTtl());
+        journalIndex.register(refreshableElide.getElide().getElideSettings().getDictionary());
+
+        this.elideConnector = new ElideConnector(refreshableElide, journalIndex);
+        this.elideConnector.warmJournalIndex();
         this.externalDoiServiceConnector = new ExternalDoiServiceConnector();
-        this.xrefDoiService = new XrefDoiService();
-        this.unpaywallDoiService = new UnpaywallDoiService();
+        this.providerRegistry = registry.getIfAvailable(DoiProviderRegistry::defaults);
+        this.metadataAggregator = new DoiMetadataAggregator(externalDoiServiceConnector, doiProviderExecutor);
+        this.xrefDoiService = providerRegistry.get(DoiProviderRegistry.CROSSREF);
+        this.unpaywallDoiService = providerRegistry.get(DoiProviderRegistry.UNPAYWALL);
+    }
+
+    private static int journalIndexSize() {
+        String size = System.getenv("PASS_DOI_SERVICE_JOURNAL_INDEX_SIZE");
+        return size != null ? Integer.parseInt(size) : JournalIndex.DEFAULT_MAX_ENTRIES;
+    }
+
+    private static long journalIndexTtl() {
+        String ttl = System.getenv("PASS_DOI_SERVICE_JOURNAL_INDEX_TTL");
+        return ttl != null ? Long.parseLong(ttl) : JournalIndex.DEFAULT_TTL_SECONDS;
     }
 
     @GetMapping("/doi/journal")
@@ -55,105 +80,37 @@ public class PassDoiServiceController {
         throws IOException {
 
         ExternalDoiService externalService = xrefDoiService;
+        String doi = startRequest(request, response, externalService);
 
-        response.setContentType("application/json");
-        response.setCharacterEncoding("utf-8");
-
-        LOG.info("Servicing new " + externalService.name() + " request ... ");
-        LOG.debug("Context path: " + request.getContextPath() + "; query string " + request.getQueryString());
+        if (doi == null) {
+            return;
+        }
 
-        //we will call out to crossref and collect the work JSON object
-        //the value of this parameter is expected to be already URIencoded
-        String doi = request.getParameter("doi");
+        //stage 3: try to get crossref record, catch errors first, and halt processing
+        ExternalDoiResponse xrefResponse = retrieve(doi, request.getParameter("doi"), externalService, response);
 
-        //stage 1: verify doi is valid
-        if (externalService.verify(doi) == null) {
-            // do not have have a valid xref doi
-            try (OutputStream out = response.getOutputStream()) {
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", "Supplied DOI is not in valid DOI format.")
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(400);
-                return;
-            }
+        if (xrefResponse == null) {
+            return;
         }
 
-        //Stage 2: make sure we don't already have a request being processed for this doi
-        if (externalService.isAlreadyActive(doi)) {
-            // return already processing error (429>)
-            try (OutputStream out = response.getOutputStream()) {
-                String message = "There is already an active request for " + doi;
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", message + "; try again later.")
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(429);
-                LOG.info(message);
-            }
-        }
+        // have a non-empty string to process
+        String journalId = elideConnector.resolveJournal(xrefResponse.getMetadata());
+        if (journalId != null) {
 
-        //stage 3: try to get crossref record, catch errors first, and halt processing
-        JsonObject xrefJsonObject = externalDoiServiceConnector.retrieveMetadata(doi, externalService);
-        if (xrefJsonObject == null) {
             try (OutputStream out = response.getOutputStream()) {
-                String message = "There was an error getting the metadata from " +
-                                 externalService.name() + " for " + doi;
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", message)
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(500);
-                LOG.info(message);
-            }
-        } else if (xrefJsonObject.getJsonString("error") != null) {
-            int responseCode;
-            String message;
-            if (xrefJsonObject.getString("error").equals("Resource not found.")) {
-                responseCode = 404;
-                message = "The resource for DOI " + doi + " could not be found on " + externalService.name() + ".";
-            } else {
-                responseCode = 500;
-                message = "A record for this resource could not be returned from " + externalService.name() + ": " +
-                          xrefJsonObject.getJsonString("error");
-            }
-            try (OutputStream out = response.getOutputStream()) {
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", message)
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(responseCode);
-                LOG.info(message);
-            }
-        } else {
-            // have a non-empty string to process
-            String journalId = elideConnector.resolveJournal(xrefJsonObject);
-            if (journalId != null) {
-
-                try (OutputStream out = response.getOutputStream()) {
-                    JsonObject jsonObject = Json.createObjectBuilder()
-                                                .add("journal-id", journalId)
-                                                .add("crossref", xrefJsonObject)
-                                                .build();
-
-                    out.write(jsonObject.toString().getBytes());
-                    response.setStatus(200);
-                    LOG.info("Returning result for DOI " + doi);
-                }
+                // the crossref record is passed on as received rather than rebuilt from a JSON tree
+                String result = "{\"journal-id\":" + Json.createValue(journalId) +
+                                ",\"crossref\":" + xrefResponse.getBody() + "}";
 
-            } else {
-                // journal id is null - this should never happen unless Crosssref journal is insufficient
-                // for example, if a book doi ws supplied which has no issns
-                try (OutputStream out = response.getOutputStream()) {
-                    String message = "Insufficient information to locate or specify a journal entry.";
-                    JsonObject jsonObject = Json.createObjectBuilder()
-                                                .add("error", message)
-                                                .build();
-                    out.write(jsonObject.toString().getBytes());
-                    response.setStatus(422);
-                    LOG.info(message);
-                }
+                out.write(result.getBytes(StandardCharsets.UTF_8));
+                response.setStatus(200);
+                LOG.info("Returning result for DOI " + doi);
             }
+
+        } else {
+            // journal id is null - this should never happen unless Crosssref journal is insufficient
+            // for example, if a book doi ws supplied which has no issns
+            writeError(response, 422, "Insufficient information to locate or specify a journal entry.");
         }
     }
 
@@ -162,88 +119,157 @@ public class PassDoiServiceController {
         throws IOException {
 
         ExternalDoiService externalService = unpaywallDoiService;
+        String doi = startRequest(request, response, externalService);
+
+        if (doi == null) {
+            return;
+        }
+
+        //stage 3: try to get unpaywall record, catch errors first, and halt processing
+        ExternalDoiResponse unpaywallResponse = retrieve(doi, request.getParameter("doi"), externalService,
+                                                         response);
+
+        if (unpaywallResponse == null) {
+            return;
+        }
+
+        // have a non-empty JSON string to process
+        try (OutputStream out = response.getOutputStream()) {
+            JsonObject jsonObject = externalService.processObject(unpaywallResponse.getMetadata());
+            out.write(jsonObject.toString().getBytes());
+            response.setStatus(200);
+            LOG.info("Returning " + externalService.name() + " result for DOI " + doi);
+        }
+    }
+
+    /**
+     * Retrieve the metadata for a DOI from several providers at once. The providers are given as a comma
+     * separated list of ids in the providers parameter, and default to all registered providers. The result
+     * is one record merged from the providers' metadata, with the status of each provider, see
+     * {@link DoiMetadataAggregator}.
+     *
+     * @param request the request
+     * @param response the response
+     * @throws IOException if the response could not be written
+     */
+    @GetMapping("/doi/metadata")
+    protected void getCombinedMetadata(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("utf-8");
 
+        LOG.info("Servicing new combined metadata request ... ");
+
+        String doi = xrefDoiService.verify(request.getParameter("doi"));
+
+        if (doi == null) {
+            writeError(response, 400, "Supplied DOI is not in valid DOI format.");
+            return;
+        }
+
+        Map<String, ExternalDoiService> providers = providerRegistry.getProviders();
+        String providerParam = request.getParameter("providers");
+
+        if (providerParam != null && !providerParam.isEmpty()) {
+            providers = new LinkedHashMap<>();
+
+            for (String id : providerParam.split(",")) {
+                ExternalDoiService service = providerRegistry.get(id.trim());
+
+                if (service == null) {
+                    writeError(response, 400, "Unknown DOI metadata provider " + id.trim() + ".");
+                    return;
+                }
+
+                providers.put(id.trim(), service);
+            }
+        }
+
+        try (OutputStream out = response.getOutputStream()) {
+            JsonObject jsonObject = metadataAggregator.retrieve(doi, providers);
+            out.write(jsonObject.toString().getBytes(StandardCharsets.UTF_8));
+            response.setStatus(200);
+            LOG.info("Returning combined result for DOI " + doi);
+        }
+    }
+
+    /**
+     * Verify the doi parameter of a request and make sure that it is not already being processed. If either
+     * check fails, the error response is written.
+     *
+     * @return the canonical doi, or null if the request has been answered
+     */
+    private String startRequest(HttpServletRequest request, HttpServletResponse response,
+                                ExternalDoiService externalService) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("utf-8");
+
         LOG.info("Servicing new " + externalService.name() + " request ... ");
         LOG.debug("Context path: " + request.getContextPath() + "; query string " + request.getQueryString());
 
-        //we will call out to unpaywall and collect the JSON object
         //the value of this parameter is expected to be already URIencoded
-        String doi = request.getParameter("doi");
+        String suppliedDoi = request.getParameter("doi");
+        String doi = externalService.verify(suppliedDoi);
 
         //stage 1: verify doi is valid
-        if (externalService.verify(doi) == null) {
-            // do not have have a valid doi
-            try (OutputStream out = response.getOutputStream()) {
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", "Supplied DOI is not in valid DOI format.")
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(400);
-                return;
-            }
+        if (doi == null) {
+            writeError(response, 400, "Supplied DOI is not in valid DOI format.");
+            return null;
         }
 
         //Stage 2: make sure we don't already have a request being processed for this doi
         if (externalService.isAlreadyActive(doi)) {
-            // return already processing error (429)
-            try (OutputStream out = response.getOutputStream()) {
-                String message = "There is already an active request for " + doi;
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", message + "; try again later.")
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(429);
-                LOG.info(message);
-            }
+            String message = "There is already an active request for " + suppliedDoi;
+            writeError(response, 429, message + "; try again later.");
+            return null;
         }
 
-        //stage 3: try to get unpaywall record, catch errors first, and halt processing
-        JsonObject unpaywallJsonObject = externalDoiServiceConnector.retrieveMetadata(doi, externalService);
-        if (unpaywallJsonObject == null) {
-            try (OutputStream out = response.getOutputStream()) {
-                String message = "There was an error getting the metadata from " +
-                                 externalService.name() + " for " + doi;
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", message)
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(500);
-                LOG.info(message);
-            }
-        } else if (unpaywallJsonObject.getValue("/error").toString().equals("true") ) {
-            int responseCode;
-            String message;
-
-            if (unpaywallJsonObject.getValue("/HTTP_status_code") != null &&
-                unpaywallJsonObject.getValue("/message") != null) {
-
-                responseCode = Integer.parseInt(unpaywallJsonObject.getValue("/HTTP_status_code").toString());
-                message = unpaywallJsonObject.getValue("/message").toString();
-            } else {
-                responseCode = 500;
-                message = "A record for this resource could not be returned from Unpaywall: " +
-                          unpaywallJsonObject.getJsonString("error");
-            }
+        return doi;
+    }
 
-            try (OutputStream out = response.getOutputStream()) {
-                JsonObject jsonObject = Json.createObjectBuilder()
-                                            .add("error", message)
-                                            .build();
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(responseCode);
-                LOG.info(message);
-            }
-        } else {
-            // have a non-empty JSON string to process
-            try (OutputStream out = response.getOutputStream()) {
-                JsonObject jsonObject = externalService.processObject(unpaywallJsonObject);
-                out.write(jsonObject.toString().getBytes());
-                response.setStatus(200);
-                LOG.info("Returning " + externalService.name() + " result for DOI " + doi);
-            }
+    /**
+     * Retrieve the response of an external service for a doi. If the service could not be called or reported
+     * an error, the error response is written.
+     *
+     * The canonical doi is used to call the service, and the doi as supplied in error messages.
+     *
+     * @return the response, or null if the request has been answered
+     */
+    private ExternalDoiResponse retrieve(String doi, String suppliedDoi, ExternalDoiService externalService,
+                                         HttpServletResponse response) throws IOException {
+        ExternalDoiResponse externalResponse = externalDoiServiceConnector.retrieveResponse(doi, externalService);
+
+        if (externalResponse == null) {
+            writeError(response, 500, "There was an error getting the metadata from " +
+                                      externalService.name() + " for " + suppliedDoi);
+            return null;
+        }
+
+        if (externalResponse.isUnavailable()) {
+            writeError(response, 503, externalService.name() + " is temporarily unavailable and no metadata is " +
+                                      "cached for " + suppliedDoi + "; try again later.");
+            return null;
+        }
+
+        ExternalDoiError error = externalService.findError(externalResponse.getMetadata(), suppliedDoi);
+
+        if (error != null) {
+            writeError(response, error.getStatus(), error.getMessage());
+            return null;
+        }
+
+        return externalResponse;
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        try (OutputStream out = response.getOutputStream()) {
+            JsonObject jsonObject = Json.createObjectBuilder()
+                                        .add("error", message)
+                                        .build();
+            out.write(jsonObject.toString().getBytes());
+            response.setStatus(status);
+            LOG.info(message);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.HashMap;
+import java.util.Objects;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Maps DOIs to PubMed and PubMed Central identifiers with the NCBI ID converter.
+ *
+ * @author jrm
+ */
+public class PubMedDoiService extends ExternalDoiService {
+
+    String PUBMED_BASEURI = "https://www.ncbi.nlm.nih.gov/pmc/utils/idconv/v1.0/";
+
+    // the identifiers of the first record, and the status of the response
+    private static final JsonFieldFilter FIELD_FILTER = new JsonFieldFilter()
+        .keep("status")
+        .keep("message")
+        .keep("records", new JsonFieldFilter()
+            .keep("doi")
+            .keep("pmid")
+            .keep("pmcid")
+            .keep("status")
+            .keep("errmsg"));
+
+    public PubMedDoiService() {
+    }
+
+    PubMedDoiService(String baseUrl) {
+        super(baseUrl);
+    }
+
+    @Override
+    public String name() {
+        return "PubMed";
+    }
+
+    @Override
+    public String baseUrl() {
+        return baseUrl("PUBMED_BASEURI", PUBMED_BASEURI);
+    }
+
+    @Override
+    public HashMap<String, String> parameterMap() {
+        HashMap<String, String> parameterMap = new HashMap<>();
+        String agent = System.getenv("PASS_DOI_SERVICE_MAILTO") != null ? System.getenv(
+            "PASS_DOI_SERVICE_MAILTO") : MAILTO;
+        parameterMap.put("tool", "pass");
+        parameterMap.put("email", agent);
+        parameterMap.put("format", "json");
+        return parameterMap;
+    }
+
+    @Override
+    public HashMap<String, String> headerMap() {
+        return null;
+    }
+
+    @Override
+    public HttpUrl buildUrl(String doi) {
+        // the doi is a query parameter rather than part of the path
+        HttpUrl.Builder urlBuilder = Objects.requireNonNull(HttpUrl.parse(baseUrl())).newBuilder();
+        parameterMap().forEach(urlBuilder::addQueryParameter);
+        urlBuilder.addQueryParameter("ids", doi);
+        return urlBuilder.build();
+    }
+
+    @Override
+    public int requestsPerSecond() {
+        // NCBI allows three requests a second without an API key
+        return 3;
+    }
+
+    @Override
+    public JsonObject processObject(JsonObject object) {
+        JsonObject record = object.getJsonArray("records").getJsonObject(0);
+
+        return Json.createObjectBuilder()
+                   .add("doi", record.getOrDefault("doi", JsonValue.NULL))
+                   .add("pmid", record.getOrDefault("pmid", JsonValue.NULL))
+                   .add("pmcid", record.getOrDefault("pmcid", JsonValue.NULL))
+                   .build();
+    }
+
+    @Override
+    public ExternalDoiError findError(JsonObject object, String doi) {
+        if (!"ok".equals(object.getString("status", null))) {
+            return new ExternalDoiError(500, "A record for this resource could not be returned from " + name() +
+                                             ": " + object.getString("message", "unknown error"));
+        }
+
+        JsonArray records = object.getJsonArray("records");
+
+        if (records == null || records.isEmpty() || records.getJsonObject(0).containsKey("errmsg") ||
+            !records.getJsonObject(0).containsKey("pmid")) {
+            return new ExternalDoiError(404, "The resource for DOI " + doi + " could not be found on " + name() +
+                                             ".");
+        }
+
+        return null;
+    }
+
+    @Override
+    public JsonFieldFilter fieldFilter() {
+        return FIELD_FILTER;
+    }
+}
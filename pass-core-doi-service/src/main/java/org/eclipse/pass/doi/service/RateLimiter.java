@@ -0,0 +1,182 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A token bucket limiting the rate of requests to an external service. The rate starts at a configured value and
+ * adapts to the X-Rate-Limit-Limit and X-Rate-Limit-Interval headers sent by the service. Callers wait for a token
+ * up to a maximum time, and the number of waiting callers is tracked as the queue depth.
+ *
+ * @author jrm
+ */
+public class RateLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimiter.class);
+    private static final double MIN_TOKENS_PER_NANO = 1.0 / TimeUnit.MINUTES.toNanos(1);
+    private static final Pattern INTERVAL_PATTERN = Pattern.compile("^(\\d+)(ms|s|m)?$");
+
+    private final String name;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private double capacity;
+    private double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param name the name of the limited service, used in log messages
+     * @param limit the number of requests allowed per interval
+     * @param intervalMillis the interval in milliseconds
+     */
+    public RateLimiter(String name, int limit, long intervalMillis) {
+        this.name = name;
+        this.lastRefill = System.nanoTime();
+        setRate(limit, intervalMillis);
+        this.tokens = capacity;
+    }
+
+    /**
+     * Take a token, waiting for one to become available if necessary.
+     *
+     * @param maxWaitMillis the maximum time to wait
+     * @return true if a token was taken, false if none became available in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire(long maxWaitMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        waiting.incrementAndGet();
+
+        try {
+            while (true) {
+                long waitNanos;
+
+                synchronized (this) {
+                    refill();
+
+                    if (tokens >= 1) {
+                        tokens -= 1;
+                        return true;
+                    }
+
+                    waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+
+                if (System.nanoTime() + waitNanos > deadline) {
+                    return false;
+                }
+
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Set the rate from the X-Rate-Limit-Limit and X-Rate-Limit-Interval headers of a response. Missing or
+     * malformed headers are ignored.
+     *
+     * @param limit the value of the X-Rate-Limit-Limit header, may be null
+     * @param interval the value of the X-Rate-Limit-Interval header such as 1s, may be null
+     */
+    public void adapt(String limit, String interval) {
+        if (limit == null || interval == null) {
+            return;
+        }
+
+        Matcher matcher = INTERVAL_PATTERN.matcher(interval.trim());
+
+        try {
+            int newLimit = Integer.parseInt(limit.trim());
+
+            if (!matcher.matches() || newLimit < 1) {
+                return;
+            }
+
+            long millis = Long.parseLong(matcher.group(1));
+            String unit = matcher.group(2);
+
+            if (unit == null || unit.equals("s")) {
+                millis *= 1000;
+            } else if (unit.equals("m")) {
+                millis *= 60000;
+            }
+
+            if (millis > 0) {
+                setRate(newLimit, millis);
+            }
+        } catch (NumberFormatException e) {
+            LOG.debug("Ignoring malformed rate limit headers from " + name + ": " + limit + ", " + interval);
+        }
+    }
+
+    /**
+     * Halve the rate after the service has told us to back off without saying what the limit is. The rate
+     * does not drop below one request per minute.
+     */
+    public synchronized void backOff() {
+        refill();
+        tokensPerNano = Math.max(MIN_TOKENS_PER_NANO, tokensPerNano / 2);
+        capacity = Math.max(1, capacity / 2);
+        tokens = Math.min(tokens, 0);
+        LOG.warn("Rate limit for " + name + " reduced to " + getRequestsPerSecond() + " requests per second");
+    }
+
+    private synchronized void setRate(int limit, long intervalMillis) {
+        double newTokensPerNano = (double) limit / TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+
+        if (newTokensPerNano != tokensPerNano || limit != capacity) {
+            refill();
+            tokensPerNano = newTokensPerNano;
+            capacity = limit;
+            tokens = Math.min(tokens, capacity);
+            LOG.debug("Rate limit for " + name + " set to " + limit + " requests per " + intervalMillis + " ms");
+        }
+    }
+
+    // Must be called holding the lock
+    private void refill() {
+        long now = System.nanoTime();
+
+        if (tokensPerNano > 0) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        }
+
+        lastRefill = now;
+    }
+
+    /**
+     * @return the number of callers waiting for a token
+     */
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    /**
+     * @return the current rate in requests per second
+     */
+    public synchronized double getRequestsPerSecond() {
+        return tokensPerNano * TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import java.io.IOException;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records each call to an external DOI service as a client span, and passes the trace context on in the request
+ * headers. The span ends when the response headers are received; reading the body is part of the calling span.
+ */
+class TracingInterceptor implements Interceptor {
+    private static final Tracer TRACER = GlobalOpenTelemetry.getTracer("org.eclipse.pass.doi.service");
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("http.method");
+    private static final AttributeKey<String> URL = AttributeKey.stringKey("http.url");
+    private static final AttributeKey<Long> STATUS = AttributeKey.longKey("http.status_code");
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Span span = TRACER.spanBuilder("HTTP " + request.method())
+                          .setSpanKind(SpanKind.CLIENT)
+                          .setAttribute(METHOD, request.method())
+                          .setAttribute(URL, request.url().toString())
+                          .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            Request.Builder traced = request.newBuilder();
+            GlobalOpenTelemetry.getPropagators().getTextMapPropagator()
+                               .inject(Context.current(), traced, Request.Builder::header);
+
+            Response response = chain.proceed(traced.build());
+            span.setAttribute(STATUS, response.code());
+
+            if (response.code() >= 400) {
+                span.setStatus(StatusCode.ERROR);
+            }
+
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
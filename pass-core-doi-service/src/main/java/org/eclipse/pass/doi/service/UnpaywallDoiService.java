@@ -20,13 +20,33 @@ import java.util.HashMap;
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
+import javax.json.JsonNumber;
 import javax.json.JsonObject;
+import javax.json.JsonString;
 import javax.json.JsonValue;
 
 public class UnpaywallDoiService extends ExternalDoiService {
 
     String UNPAYWALL_BASEURI = "https://api.unpaywall.org/v2/";
 
+    // the parts of a record used to list manuscripts, and of an error response
+    private static final JsonFieldFilter FIELD_FILTER = new JsonFieldFilter()
+        .keep("doi")
+        .keep("error")
+        .keep("HTTP_status_code")
+        .keep("message")
+        .keep("oa_locations", new JsonFieldFilter()
+            .keep("url_for_pdf")
+            .keep("is_best")
+            .keep("repository_institution"));
+
+    public UnpaywallDoiService() {
+    }
+
+    UnpaywallDoiService(String baseUrl) {
+        super(baseUrl);
+    }
+
     @Override
     public String name() {
         return "Unpaywall";
@@ -34,8 +54,7 @@ public class UnpaywallDoiService extends ExternalDoiService {
 
     @Override
     public String baseUrl() {
-        return System.getenv("UNPAYWALL_BASEURI") != null ? System.getenv(
-            "UNPAYWALL_BASEURI") : UNPAYWALL_BASEURI;
+        return baseUrl("UNPAYWALL_BASEURI", UNPAYWALL_BASEURI);
     }
 
     @Override
@@ -59,18 +78,18 @@ public class UnpaywallDoiService extends ExternalDoiService {
 
         for (int i = 0; i < locations.size(); i++) {
             JsonObject manuscript = locations.getJsonObject(i);
-            JsonValue urlForPdf = manuscript.getValue("/url_for_pdf");
-            JsonValue isBest = manuscript.getValue("/is_best");
+            JsonValue urlForPdf = manuscript.getOrDefault("url_for_pdf", JsonValue.NULL);
+            JsonValue isBest = manuscript.getOrDefault("is_best", JsonValue.NULL);
 
             JsonValue filename;
-            if ( urlForPdf == JsonValue.NULL ) {
+            if ( urlForPdf.getValueType() != JsonValue.ValueType.STRING ) {
                 filename = JsonValue.NULL;
             } else {
-                String urlForPdfString = urlForPdf.toString().replaceAll("\"","");
+                String urlForPdfString = ((JsonString) urlForPdf).getString();
                 filename = Json.createValue (urlForPdfString.substring(urlForPdfString.lastIndexOf('/') + 1));
             }
 
-            JsonValue repoInst = manuscript.getValue("/repository_institution");
+            JsonValue repoInst = manuscript.getOrDefault("repository_institution", JsonValue.NULL);
 
             JsonObject manuscriptObject = Json.createObjectBuilder().add("url", urlForPdf)
                                               .add("repositoryLabel", repoInst)
@@ -86,4 +105,29 @@ public class UnpaywallDoiService extends ExternalDoiService {
                    .add("manuscripts", jab.build())
                    .build();
     }
+
+    @Override
+    public ExternalDoiError findError(JsonObject object, String doi) {
+        if (!object.containsKey("error") || JsonValue.FALSE.equals(object.get("error"))) {
+            return null;
+        }
+
+        if (object.get("HTTP_status_code") instanceof JsonNumber && object.get("message") instanceof JsonString) {
+            return new ExternalDoiError(object.getInt("HTTP_status_code"), object.getString("message"));
+        }
+
+        return new ExternalDoiError(500, "A record for this resource could not be returned from " + name() + ": " +
+                                         object.get("error"));
+    }
+
+    @Override
+    public int requestsPerSecond() {
+        // Unpaywall asks for no more than 100,000 calls a day and does not send rate limit headers
+        return 10;
+    }
+
+    @Override
+    public JsonFieldFilter fieldFilter() {
+        return FIELD_FILTER;
+    }
 }
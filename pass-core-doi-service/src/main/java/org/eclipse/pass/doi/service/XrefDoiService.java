@@ -18,11 +18,27 @@ package org.eclipse.pass.doi.service;
 
 import java.util.HashMap;
 import javax.json.JsonObject;
+import javax.json.JsonValue;
 
 public class XrefDoiService extends ExternalDoiService {
 
     String XREF_BASEURI = "https://api.crossref.org/v1/works/";
 
+    // the parts of a works record used to build a journal
+    private static final JsonFieldFilter FIELD_FILTER = new JsonFieldFilter()
+        .keep("status")
+        .keep("message", new JsonFieldFilter()
+            .keep("container-title")
+            .keep("ISSN")
+            .keep("issn-type"));
+
+    public XrefDoiService() {
+    }
+
+    XrefDoiService(String baseUrl) {
+        super(baseUrl);
+    }
+
     @Override
     public String name() {
         return "Crossref";
@@ -30,8 +46,7 @@ public class XrefDoiService extends ExternalDoiService {
 
     @Override
     public String baseUrl() {
-        return System.getenv("XREF_BASEURI") != null ? System.getenv(
-            "XREF_BASEURI") : XREF_BASEURI;
+        return baseUrl("XREF_BASEURI", XREF_BASEURI);
     }
 
     @Override
@@ -53,4 +68,33 @@ public class XrefDoiService extends ExternalDoiService {
         return object;
     }
 
+    @Override
+    public JsonObject recordFields(JsonObject object) {
+        // the works record is wrapped in a message
+        JsonObject message = object.getJsonObject("message");
+        return message != null ? message : JsonValue.EMPTY_JSON_OBJECT;
+    }
+
+    @Override
+    public ExternalDoiError findError(JsonObject object, String doi) {
+        if (object.containsKey("error") && "Resource not found.".equals(object.getString("error", null))) {
+            return new ExternalDoiError(404, "The resource for DOI " + doi + " could not be found on " + name() +
+                                             ".");
+        }
+
+        return super.findError(object, doi);
+    }
+
+    @Override
+    public JsonFieldFilter fieldFilter() {
+        return FIELD_FILTER;
+    }
+
+    // the works record is returned by /doi/journal as it was received, so the whole body is kept in memory
+    // as well as the fields read from it; only the JSON tree is avoided, not the copy of the body
+    @Override
+    public boolean keepsBody() {
+        return true;
+    }
+
 }
@@ -0,0 +1,86 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the circuit breaker
+ *
+ * @author jrm
+ */
+public class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker underTest = new CircuitBreaker("test", 3, 1000, now::get);
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void testTripAndRecover() {
+        underTest.recordFailure();
+        underTest.recordFailure();
+        underTest.recordSuccess();
+        underTest.recordFailure();
+        underTest.recordFailure();
+        assertTrue(underTest.allowRequest());
+
+        underTest.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, underTest.getState());
+        assertFalse(underTest.allowRequest());
+        assertEquals(1, underTest.getTrips());
+
+        advanceMillis(1000);
+        assertTrue(underTest.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, underTest.getState());
+        assertFalse(underTest.allowRequest());
+
+        underTest.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, underTest.getState());
+        assertTrue(underTest.allowRequest());
+        assertEquals(1, underTest.getRecoveries());
+    }
+
+    @Test
+    public void testFailedTrialReopens() {
+        for (int i = 0; i < 3; i++) {
+            underTest.recordFailure();
+        }
+
+        advanceMillis(1500);
+        assertTrue(underTest.allowRequest());
+        underTest.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, underTest.getState());
+        assertFalse(underTest.allowRequest());
+        advanceMillis(999);
+        assertFalse(underTest.allowRequest());
+        advanceMillis(1);
+        assertTrue(underTest.allowRequest());
+
+        assertEquals(1, underTest.getTrips());
+        assertEquals(0, underTest.getRecoveries());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for DOI canonicalization
+ *
+ * @author jrm
+ */
+public class DoiCanonicalizerTest {
+    private static final String CANONICAL = "10.4137/cmc.s38446";
+
+    /**
+     * test that the variants of a DOI all reduce to the same canonical form
+     */
+    @Test
+    public void testVariants() {
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("10.4137/CMC.S38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("https://doi.org/10.4137/cmc.s38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("HTTP://DX.DOI.ORG/10.4137/CMC.S38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("doi:10.4137/cmc.s38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("info:doi/10.4137/cmc.s38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("10.4137%2Fcmc.s38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("https://doi.org/10.4137%2FCMC%2es38446"));
+        assertEquals(CANONICAL, DoiCanonicalizer.canonicalize("  10.4137/cmc.s38446\n"));
+        assertEquals("10.1002/(sici)1097-4636:3.0.co;2-m",
+                     DoiCanonicalizer.canonicalize("10.1002/(SICI)1097-4636:3.0.CO;2-M"));
+    }
+
+    /**
+     * test that a DOI which is already canonical is returned without a copy
+     */
+    @Test
+    public void testCanonicalNotCopied() {
+        assertSame(CANONICAL, DoiCanonicalizer.canonicalize(CANONICAL));
+    }
+
+    /**
+     * test that invalid DOIs are rejected
+     */
+    @Test
+    public void testInvalid() {
+        assertNull(DoiCanonicalizer.canonicalize(null));
+        assertNull(DoiCanonicalizer.canonicalize(""));
+        assertNull(DoiCanonicalizer.canonicalize("moo"));
+        assertNull(DoiCanonicalizer.canonicalize("4137/cmc.s38446"));
+        assertNull(DoiCanonicalizer.canonicalize("10.413/cmc.s38446"));
+        assertNull(DoiCanonicalizer.canonicalize("10.1234567890/cmc.s38446"));
+        assertNull(DoiCanonicalizer.canonicalize("10.4137/"));
+        assertNull(DoiCanonicalizer.canonicalize("10.4137"));
+        assertNull(DoiCanonicalizer.canonicalize("10.4137/cmc s38446"));
+        assertNull(DoiCanonicalizer.canonicalize("10.4137/cmc%2"));
+        assertNull(DoiCanonicalizer.canonicalize("10.4137/cmc%zz"));
+        assertNull(DoiCanonicalizer.canonicalize("10.4137/caf%C3%A9"));
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonObject;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Tests of the DOI providers, the connector and the combined lookup against a local stub server
+ *
+ * @author jrm
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DoiProviderStubServerTest {
+    private static final String FOUND_DOI = "10.4137/cmc.s38446";
+    private static final String MISSING_DOI = "10.1212/abc.DEF";
+    private static final String TRUNCATED_DOI = "10.1000/truncated";
+    private static final long DELAY_MILLIS = 500;
+
+    private static final String DATACITE_JSON =
+        "{\"data\":{\"id\":\"10.4137/cmc.s38446\",\"type\":\"dois\",\"attributes\":" +
+        "{\"doi\":\"10.4137/cmc.s38446\",\"titles\":[{\"title\":\"Arrhythmogenic Right Ventricular " +
+        "Dysplasia\"}],\"creators\":[{\"name\":\"Finsterer, Josef\",\"nameType\":\"Personal\"}]," +
+        "\"publisher\":\"SAGE Publications\",\"publicationYear\":2016,\"types\":" +
+        "{\"resourceTypeGeneral\":\"Text\",\"ris\":\"JOUR\"},\"url\":\"https://example.org/cmc\"," +
+        "\"descriptions\":[{\"description\":\"skipped\"}]}}}";
+
+    private static final String DATACITE_MISSING_JSON =
+        "{\"errors\":[{\"status\":\"404\",\"title\":\"The resource you are looking for doesn't exist.\"}]}";
+
+    private static final String PUBMED_JSON =
+        "{\"status\":\"ok\",\"responseDate\":\"2022-12-14 21:03:17\",\"request\":\"ids=10.4137/cmc.s38446\"," +
+        "\"records\":[{\"pmcid\":\"PMC5072460\",\"pmid\":\"27777503\",\"doi\":\"10.4137/cmc.s38446\"," +
+        "\"versions\":[{\"pmcid\":\"PMC5072460.1\",\"current\":\"true\"}]}]}";
+
+    private static final String PUBMED_MISSING_JSON =
+        "{\"status\":\"ok\",\"records\":[{\"doi\":\"10.1212/abc.DEF\",\"status\":\"error\"," +
+        "\"errmsg\":\"invalid article id\"}]}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final ExternalDoiServiceConnector connector = new ExternalDoiServiceConnector();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private DoiProviderRegistry registry;
+
+    @BeforeAll
+    public void startServer() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                MockResponse response = new MockResponse().setBodyDelay(DELAY_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (path.startsWith("/works/" + FOUND_DOI)) {
+                    return response.setBody(JsonTestObjects.xrefTestJson())
+                                   .setHeader("X-Rate-Limit-Limit", "50")
+                                   .setHeader("X-Rate-Limit-Interval", "1s");
+                } else if (path.startsWith("/works/" + TRUNCATED_DOI)) {
+                    // the connection is closed half way through the body
+                    return response.setBody(JsonTestObjects.xrefTestJson())
+                                   .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY);
+                } else if (path.startsWith("/works/")) {
+                    return response.setResponseCode(404).setBody("Resource not found.");
+                } else if (path.startsWith("/unpaywall/" + FOUND_DOI)) {
+                    return response.setBody(JsonTestObjects.unpaywallTestJson());
+                } else if (path.startsWith("/unpaywall/")) {
+                    return response.setResponseCode(404)
+                                   .setBody("{\"HTTP_status_code\":404,\"error\":true,\"message\":\"'" +
+                                            MISSING_DOI + "' is an invalid doi.\"}");
+                } else if (path.startsWith("/datacite/" + FOUND_DOI)) {
+                    return response.setBody(DATACITE_JSON);
+                } else if (path.startsWith("/datacite/")) {
+                    return response.setResponseCode(404).setBody(DATACITE_MISSING_JSON);
+                } else if (path.startsWith("/pubmed/") &&
+                           FOUND_DOI.equals(request.getRequestUrl().queryParameter("ids"))) {
+                    return response.setBody(PUBMED_JSON);
+                } else if (path.startsWith("/pubmed/")) {
+                    return response.setBody(PUBMED_MISSING_JSON);
+                }
+
+                return new MockResponse().setResponseCode(500);
+            }
+        });
+        server.start();
+
+        registry = new DoiProviderRegistry()
+            .register(DoiProviderRegistry.CROSSREF, new XrefDoiService(server.url("/works/").toString()))
+            .register(DoiProviderRegistry.UNPAYWALL, new UnpaywallDoiService(server.url("/unpaywall/").toString()))
+            .register(DoiProviderRegistry.DATACITE, new DataciteDoiService(server.url("/datacite/").toString()))
+            .register(DoiProviderRegistry.PUBMED, new PubMedDoiService(server.url("/pubmed/").toString()));
+    }
+
+    @AfterAll
+    public void stopServer() throws IOException {
+        executor.shutdownNow();
+        server.shutdown();
+    }
+
+    private JsonObject retrieve(String provider, String doi) {
+        ExternalDoiService service = registry.get(provider);
+        ExternalDoiResponse response = connector.retrieveResponse(doi, service);
+        assertNotNull(response);
+        assertNull(service.findError(response.getMetadata(), doi));
+        return service.processObject(response.getMetadata());
+    }
+
+    private ExternalDoiError retrieveError(String provider, String doi) {
+        ExternalDoiService service = registry.get(provider);
+        ExternalDoiResponse response = connector.retrieveResponse(doi, service);
+        assertNotNull(response);
+        return service.findError(response.getMetadata(), doi);
+    }
+
+    @Test
+    public void testCrossref() {
+        JsonObject result = retrieve(DoiProviderRegistry.CROSSREF, FOUND_DOI);
+        assertEquals(JsonTestObjects.xrefTestJsonObject().getJsonObject("message").getJsonArray("ISSN"),
+                     result.getJsonObject("message").getJsonArray("ISSN"));
+
+        ExternalDoiError error = retrieveError(DoiProviderRegistry.CROSSREF, MISSING_DOI);
+        assertEquals(404, error.getStatus());
+        assertEquals("The resource for DOI " + MISSING_DOI + " could not be found on Crossref.", error.getMessage());
+    }
+
+    @Test
+    public void testResponseBody() {
+        ExternalDoiResponse xref = connector.retrieveResponse(FOUND_DOI, registry.get(DoiProviderRegistry.CROSSREF));
+        assertEquals(JsonTestObjects.xrefTestJson(), xref.getBody());
+
+        ExternalDoiResponse unpaywall = connector.retrieveResponse(FOUND_DOI,
+                                                                   registry.get(DoiProviderRegistry.UNPAYWALL));
+        assertNull(unpaywall.getBody());
+
+        ExternalDoiResponse missing = connector.retrieveResponse(MISSING_DOI,
+                                                                 registry.get(DoiProviderRegistry.CROSSREF));
+        assertEquals("Resource not found.", missing.getMetadata().getString("error"));
+        assertNull(missing.getBody());
+    }
+
+    @Test
+    public void testTruncatedResponse() {
+        // a service of its own, so that opening its circuit breaker does not affect the other tests
+        ExternalDoiService service = new XrefDoiService(server.url("/works/").toString());
+
+        for (int i = 0; i < 5; i++) {
+            ExternalDoiResponse response = connector.retrieveResponse(TRUNCATED_DOI, service);
+            assertTrue(response.isUnavailable());
+
+            // the doi is unlocked, so a retry is not refused as already active
+            assertFalse(service.isAlreadyActive(TRUNCATED_DOI));
+            service.unlockDoi(TRUNCATED_DOI);
+        }
+
+        // each cut off response counts as a failure
+        assertEquals(CircuitBreaker.State.OPEN, service.guard().getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void testUnpaywall() {
+        JsonObject result = retrieve(DoiProviderRegistry.UNPAYWALL, FOUND_DOI);
+        assertEquals(3, result.getJsonArray("manuscripts").size());
+
+        ExternalDoiError error = retrieveError(DoiProviderRegistry.UNPAYWALL, MISSING_DOI);
+        assertEquals(404, error.getStatus());
+        assertEquals("'" + MISSING_DOI + "' is an invalid doi.", error.getMessage());
+    }
+
+    @Test
+    public void testDatacite() {
+        JsonObject result = retrieve(DoiProviderRegistry.DATACITE, FOUND_DOI);
+        assertEquals("Arrhythmogenic Right Ventricular Dysplasia", result.getString("title"));
+        assertEquals("Finsterer, Josef", result.getJsonArray("creators").getString(0));
+        assertEquals(2016, result.getInt("publicationYear"));
+        assertEquals("Text", result.getString("resourceType"));
+
+        assertEquals(404, retrieveError(DoiProviderRegistry.DATACITE, MISSING_DOI).getStatus());
+    }
+
+    @Test
+    public void testPubMed() {
+        JsonObject result = retrieve(DoiProviderRegistry.PUBMED, FOUND_DOI);
+        assertEquals("27777503", result.getString("pmid"));
+        assertEquals("PMC5072460", result.getString("pmcid"));
+
+        assertEquals(404, retrieveError(DoiProviderRegistry.PUBMED, MISSING_DOI).getStatus());
+    }
+
+    @Test
+    public void testParallelFanOut() {
+        DoiMetadataAggregator aggregator = new DoiMetadataAggregator(connector, executor);
+        Map<String, ExternalDoiService> providers = registry.getProviders();
+
+        long start = System.nanoTime();
+        JsonObject result = aggregator.retrieve(FOUND_DOI, providers);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // every provider is delayed, so a sequential lookup would take at least four delays
+        assertTrue(elapsedMillis < providers.size() * DELAY_MILLIS, "Took " + elapsedMillis + " ms");
+        assertEquals(FOUND_DOI, result.getString("doi"));
+        assertEquals(JsonTestObjects.xrefTestJsonObject().getJsonObject("message").getJsonArray("ISSN"),
+                     result.getJsonArray("ISSN"));
+        assertEquals(3, result.getJsonArray("manuscripts").size());
+        assertEquals("Arrhythmogenic Right Ventricular Dysplasia", result.getString("title"));
+        assertEquals("Text", result.getString("resourceType"));
+        assertEquals("27777503", result.getString("pmid"));
+
+        JsonObject statuses = result.getJsonObject("providers");
+        assertEquals(providers.keySet(), statuses.keySet());
+        statuses.values().forEach(status -> assertEquals(200, status.asJsonObject().getInt("status")));
+
+        JsonObject missing = aggregator.retrieve(MISSING_DOI, providers);
+        assertEquals(MISSING_DOI, missing.getString("doi"));
+        assertFalse(missing.containsKey("title"));
+        assertEquals(404, missing.getJsonObject("providers").getJsonObject(DoiProviderRegistry.CROSSREF)
+                                 .getInt("status"));
+        assertEquals(404, missing.getJsonObject("providers").getJsonObject(DoiProviderRegistry.DATACITE)
+                                 .getInt("status"));
+    }
+
+    @Test
+    public void testMergeOrder() {
+        DoiMetadataAggregator aggregator = new DoiMetadataAggregator(connector, executor);
+        Map<String, ExternalDoiService> providers = new LinkedHashMap<>();
+        providers.put(DoiProviderRegistry.PUBMED, registry.get(DoiProviderRegistry.PUBMED));
+        providers.put(DoiProviderRegistry.DATACITE, registry.get(DoiProviderRegistry.DATACITE));
+
+        // the requested doi comes first, then each field from the first provider which has it
+        JsonObject result = aggregator.retrieve(FOUND_DOI, providers);
+        assertEquals(FOUND_DOI, result.getString("doi"));
+        assertEquals("27777503", result.getString("pmid"));
+        assertEquals("SAGE Publications", result.getString("publisher"));
+        assertFalse(result.containsKey("container"));
+    }
+}
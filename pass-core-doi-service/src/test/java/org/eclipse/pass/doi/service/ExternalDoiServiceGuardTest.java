@@ -0,0 +1,71 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.json.Json;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the fallback cache of the guard
+ *
+ * @author jrm
+ */
+public class ExternalDoiServiceGuardTest {
+    private final ExternalDoiServiceGuard underTest = new ExternalDoiServiceGuard("guard-test", 3, 1000, 10, 100);
+
+    private static ExternalDoiResponse response(int size) {
+        return new ExternalDoiResponse(Json.createObjectBuilder().build(), "x".repeat(size));
+    }
+
+    @Test
+    public void testCacheBoundedBySize() {
+        ExternalDoiResponse first = response(40);
+        ExternalDoiResponse second = response(40);
+        underTest.cache("10.1/first", first);
+        underTest.cache("10.1/second", second);
+        assertEquals(80, underTest.getCachedChars());
+
+        // the first response was used most recently, so the second one is forgotten
+        assertSame(first, underTest.fallback("10.1/first"));
+        underTest.cache("10.1/third", response(40));
+        assertEquals(80, underTest.getCachedChars());
+        assertSame(first, underTest.fallback("10.1/first"));
+        assertTrue(underTest.fallback("10.1/second").isUnavailable());
+
+        // replacing a response does not count it twice
+        underTest.cache("10.1/first", response(10));
+        assertEquals(50, underTest.getCachedChars());
+
+        // a response larger than the cache is not kept
+        underTest.cache("10.1/large", response(101));
+        assertTrue(underTest.fallback("10.1/large").isUnavailable());
+        assertEquals(50, underTest.getCachedChars());
+    }
+
+    @Test
+    public void testMetadataCountedWithoutBody() {
+        underTest.cache("10.1/metadata", new ExternalDoiResponse(Json.createObjectBuilder()
+                                                                     .add("doi", "10.1/metadata")
+                                                                     .build(), null));
+        assertEquals("{\"doi\":\"10.1/metadata\"}".length(), underTest.getCachedChars());
+    }
+}
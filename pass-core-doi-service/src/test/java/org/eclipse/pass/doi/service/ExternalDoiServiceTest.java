@@ -17,7 +17,9 @@
 package org.eclipse.pass.doi.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -47,4 +49,21 @@ public class ExternalDoiServiceTest {
         String doi4 = "4137/cmc.s38446";
         assertNull(underTest.verify(doi4));
     }
+
+    /**
+     * Test that a doi is reported active until it is unlocked
+     */
+    @Test
+    public void activeDoiTest() {
+        String doi = "10.4137/cmc.s38446";
+
+        assertFalse(underTest.isAlreadyActive(doi));
+        assertTrue(underTest.isAlreadyActive(doi));
+        assertFalse(underTest.isAlreadyActive("10.1038/nature12373"));
+
+        underTest.unlockDoi(doi);
+        assertFalse(underTest.isAlreadyActive(doi));
+        underTest.unlockDoi(doi);
+        underTest.unlockDoi("10.1038/nature12373");
+    }
 }
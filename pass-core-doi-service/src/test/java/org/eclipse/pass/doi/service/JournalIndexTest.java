@@ -0,0 +1,125 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import com.yahoo.elide.annotation.LifeCycleHookBinding;
+import org.eclipse.pass.object.model.Journal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the journal index
+ *
+ * @author jrm
+ */
+public class JournalIndexTest {
+
+    private static Journal journal(long id, String name, String... issns) {
+        Journal journal = new Journal();
+        journal.setId(id);
+        journal.setJournalName(name);
+        journal.setIssns(Arrays.asList(issns));
+        return journal;
+    }
+
+    @Test
+    public void findByNameTest() {
+        JournalIndex index = new JournalIndex(10);
+        index.put(journal(1L, "Clinical Medicine Insights: Cardiology", "Print:1179-5468", "Online:1179-5468"));
+
+        JournalIndex.Entry entry = index.find("Clinical Medicine Insights: Cardiology");
+        assertEquals(1L, entry.getId());
+        assertTrue(entry.containsIssns(Collections.singletonList("Print:1179-5468")));
+        assertFalse(entry.containsIssns(Collections.singletonList("Print:0000-0000")));
+
+        // names must match exactly, as when searching PASS
+        assertNull(index.find("clinical medicine insights  cardiology"));
+        assertNull(index.find(null));
+    }
+
+    @Test
+    public void sharedNameTest() {
+        JournalIndex index = new JournalIndex(10);
+        index.put(journal(2L, "Journal A", "Print:2222-2222"));
+        index.put(journal(1L, "Journal A", "Print:1111-1111"));
+        index.put(journal(3L, "Journal A", "Print:3333-3333"));
+
+        assertEquals(1L, index.find("Journal A").getId());
+
+        index.remove(1L);
+        assertNull(index.find("Journal A"));
+    }
+
+    @Test
+    public void expiryTest() {
+        JournalIndex index = new JournalIndex(10, 0);
+        index.put(journal(1L, "Journal A", "Print:1111-1111"));
+
+        assertNull(index.find("Journal A"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void updateReplacesEntryTest() {
+        JournalIndex index = new JournalIndex(10);
+        index.put(journal(1L, "Journal A", "Print:1111-1111"));
+        index.put(journal(1L, "Journal B", "Print:2222-2222"));
+
+        assertEquals(1, index.size());
+        assertNull(index.find("Journal A"));
+        assertEquals(1L, index.find("Journal B").getId());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedTest() {
+        JournalIndex index = new JournalIndex(2);
+        index.put(journal(1L, "Journal A", "Print:1111-1111"));
+        index.put(journal(2L, "Journal B", "Print:2222-2222"));
+
+        // touch A so that B is the eldest
+        index.find("Journal A");
+        index.put(journal(3L, "Journal C", "Print:3333-3333"));
+
+        assertEquals(2, index.size());
+        assertNull(index.find("Journal B"));
+        assertEquals(1L, index.find("Journal A").getId());
+        assertEquals(3L, index.find("Journal C").getId());
+    }
+
+    @Test
+    public void lifeCycleHookTest() {
+        JournalIndex index = new JournalIndex(10);
+        Journal journal = journal(1L, "Journal A", "Print:1111-1111");
+
+        index.execute(LifeCycleHookBinding.Operation.CREATE, LifeCycleHookBinding.TransactionPhase.POSTCOMMIT,
+                journal, null, Optional.empty());
+        assertEquals(1L, index.find("Journal A").getId());
+
+        index.execute(LifeCycleHookBinding.Operation.DELETE, LifeCycleHookBinding.TransactionPhase.POSTCOMMIT,
+                journal, null, Optional.empty());
+        assertNull(index.find("Journal A"));
+        assertEquals(0, index.size());
+    }
+}
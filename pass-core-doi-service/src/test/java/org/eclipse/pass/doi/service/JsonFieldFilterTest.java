@@ -0,0 +1,96 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the streaming JSON field filter
+ *
+ * @author jrm
+ */
+public class JsonFieldFilterTest {
+
+    private static JsonObject read(ExternalDoiService service, String json) {
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            return service.readObject(parser);
+        }
+    }
+
+    /**
+     * test that the streamed Crossref object has exactly the journal fields of the full object
+     */
+    @Test
+    public void testXrefFields() {
+        JsonObject full = JsonTestObjects.xrefTestJsonObject();
+        JsonObject streamed = read(new XrefDoiService(), JsonTestObjects.xrefTestJson());
+
+        JsonObject expected = Json.createObjectBuilder()
+                                  .add("status", full.get("status"))
+                                  .add("message", Json.createObjectBuilder()
+                                      .add("container-title", full.getJsonObject("message").get("container-title"))
+                                      .add("ISSN", full.getJsonObject("message").get("ISSN"))
+                                      .add("issn-type", full.getJsonObject("message").get("issn-type")))
+                                  .build();
+
+        assertEquals(expected, streamed);
+    }
+
+    /**
+     * test that nested filters apply to each element of an array and that other values are skipped
+     */
+    @Test
+    public void testNestedArrays() {
+        JsonFieldFilter filter = new JsonFieldFilter()
+            .keep("n")
+            .keep("list", new JsonFieldFilter().keep("a"));
+
+        String json = "{\"skip\":{\"x\":[1,{\"y\":[]}]},\"n\":1.5,\"list\":[{\"a\":[true,null],\"b\":\"c\"}," +
+                      "[{\"a\":\"d\",\"b\":{}}]],\"after\":[[]]}";
+
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            assertEquals("{\"n\":1.5,\"list\":[{\"a\":[true,null]},[{\"a\":\"d\"}]]}",
+                         filter.read(parser).toString());
+        }
+    }
+
+    /**
+     * test that a service without a filter keeps everything, and that non-objects are rejected
+     */
+    @Test
+    public void testUnfilteredAndInvalid() {
+        ExternalDoiService service = new XrefDoiService() {
+            @Override
+            public JsonFieldFilter fieldFilter() {
+                return null;
+            }
+        };
+
+        assertEquals(JsonTestObjects.xrefTestJsonObject(), read(service, JsonTestObjects.xrefTestJson()));
+        assertThrows(JsonParsingException.class, () -> read(new XrefDoiService(), "[1,2]"));
+        assertThrows(JsonParsingException.class, () -> read(new XrefDoiService(), "Resource not found."));
+    }
+}
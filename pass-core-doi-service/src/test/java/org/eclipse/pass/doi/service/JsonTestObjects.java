@@ -157,4 +157,12 @@ public class JsonTestObjects {
         reader.close();
         return object;
     }
+
+    static String xrefTestJson() {
+        return xrefJson;
+    }
+
+    static String unpaywallTestJson() {
+        return unpaywallJson;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.doi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the rate limiter
+ *
+ * @author jrm
+ */
+public class RateLimiterTest {
+
+    @Test
+    public void testBurstThenLimit() throws InterruptedException {
+        RateLimiter underTest = new RateLimiter("test", 2, 60000);
+
+        assertTrue(underTest.acquire(0));
+        assertTrue(underTest.acquire(0));
+        assertFalse(underTest.acquire(10));
+        assertEquals(0, underTest.getQueueDepth());
+    }
+
+    @Test
+    public void testWaitForToken() throws InterruptedException {
+        RateLimiter underTest = new RateLimiter("test", 1, 50);
+
+        assertTrue(underTest.acquire(0));
+        assertTrue(underTest.acquire(1000));
+    }
+
+    @Test
+    public void testAdaptToHeaders() {
+        RateLimiter underTest = new RateLimiter("test", 50, 1000);
+
+        underTest.adapt("10", "1s");
+        assertEquals(10.0, underTest.getRequestsPerSecond(), 0.001);
+
+        underTest.adapt("120", "1m");
+        assertEquals(2.0, underTest.getRequestsPerSecond(), 0.001);
+
+        underTest.adapt("5", "500ms");
+        assertEquals(10.0, underTest.getRequestsPerSecond(), 0.001);
+
+        underTest.adapt("abc", "1s");
+        underTest.adapt("20", "soon");
+        underTest.adapt(null, null);
+        assertEquals(10.0, underTest.getRequestsPerSecond(), 0.001);
+
+        underTest.backOff();
+        assertEquals(5.0, underTest.getRequestsPerSecond(), 0.001);
+    }
+}
@@ -18,6 +18,11 @@ package org.eclipse.pass.doi.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.StringReader;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
@@ -42,4 +47,15 @@ public class UnpaywallDoiServiceTest {
             underTest.processObject(JsonTestObjects.unpaywallTestJsonObject()).toString());
     }
 
+    @Test
+    public void testProcessStreamedObject() {
+        JsonObject object;
+
+        try (JsonParser parser = Json.createParser(new StringReader(JsonTestObjects.unpaywallTestJson()))) {
+            object = underTest.readObject(parser);
+        }
+
+        assertEquals(unpaywallData, underTest.processObject(object).toString());
+    }
+
 }
@@ -39,6 +39,15 @@ import edu.wisc.library.ocfl.aws.OcflS3Client;
 import edu.wisc.library.ocfl.core.OcflRepositoryBuilder;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
 import edu.wisc.library.ocfl.core.path.constraint.ContentPathConstraints;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import org.apache.commons.io.FilenameUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.safety.Safelist;
@@ -78,6 +87,11 @@ import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
  * Note, the S3 OCFL implementation does not cache locally and therefore performs much slower compared to the file
  * system implementation, most notably on large files.
  *
+ * The time taken to store, get and delete files is recorded as the timer pass.file.storage and their size as the
+ * distribution pass.file.size, both tagged with the operation and storage type. With S3 storage the time of each
+ * S3 call is also recorded, see {@link S3MetricsInterceptor}. Each operation is traced as a span tagged with the
+ * storage type, and with S3 storage so is each S3 call, see {@link S3TracingInterceptor}.
+ *
  * @author Tim Sanders
  * @see StorageServiceType
  */
@@ -86,6 +100,8 @@ import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 public class FileStorageService {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileStorageService.class);
+    private static final Tracer TRACER = GlobalOpenTelemetry.getTracer("org.eclipse.pass.file.service");
+    private static final AttributeKey<String> STORAGE = AttributeKey.stringKey("pass.file.storage");
     private Path rootLoc;
     private Path ocflLoc;
     private Path workLoc;
@@ -189,6 +205,8 @@ public class FileStorageService {
                         .credentialsProvider(AnonymousCredentialsProvider.create())
                         .region(region)
                         .endpointOverride(URI.create(endpoint))
+                        .overrideConfiguration(config -> config.addExecutionInterceptor(new S3MetricsInterceptor())
+                                .addExecutionInterceptor(new S3TracingInterceptor()))
                         .build();
                 LOG.info("File Service: S3 client built with endpoint override");
             } else if (!storageProperties.getS3Endpoint().isPresent() && storageProperties.getRegion().isPresent()) {
@@ -196,6 +214,8 @@ public class FileStorageService {
                 cloudS3Client = S3Client.builder()
                         .credentialsProvider(AnonymousCredentialsProvider.create())
                         .region(region)
+                        .overrideConfiguration(config -> config.addExecutionInterceptor(new S3MetricsInterceptor())
+                                .addExecutionInterceptor(new S3TracingInterceptor()))
                         .build();
                 LOG.info("File Service: S3 client built");
             }
@@ -254,6 +274,10 @@ public class FileStorageService {
     public StorageFile storeFile(MultipartFile mFile) throws IOException {
         //TODO: refactor so that file is not stored with original file name, but with a UUID
         StorageFile storageFile = null;
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        Span span = start_span("store");
+        Scope scope = span.makeCurrent();
+        String outcome = "error";
         //NOTE: the work directory on the ocfl-java client should be located on the same mount as the OCFL storage root.
         try {
             //remove any unsafe characters from the original file name and the hyphen, since it is used as a delimiter
@@ -297,10 +321,15 @@ public class FileStorageService {
                     mFile.getSize(),
                     fileExt
             );
+            recordSize("store", mFile.getSize());
+            outcome = "success";
 
         } catch (IOException e) {
             LOG.error(e.toString());
             throw new IOException("File Service: The file system was unable to store the uploaded file", e);
+        } finally {
+            sample.stop(storageTimer("store", outcome));
+            end_span(span, scope, outcome);
         }
         return storageFile;
     }
@@ -318,6 +347,10 @@ public class FileStorageService {
         Path tempLoadDir = Paths.get(this.tempLoc.toString(), fileId,
                 Instant.now().toString().replace(":","-").replace(".","-"));
         Path tempLoadParentDir = Paths.get(this.tempLoc.toString(), fileId);
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        Span span = start_span("get");
+        Scope scope = span.makeCurrent();
+        String outcome = "error";
         try {
             //need the parent directory for the OCFL getObject to work
             if (!Files.exists(tempLoadParentDir)) {
@@ -328,9 +361,15 @@ public class FileStorageService {
             LOG.info("File Service: File with ID " + fileId + " was loaded from the repo");
             Path fileNamePath = tempLoadDir.toFile().listFiles()[0].toPath();
             loadedResource = new ByteArrayResource(Files.readAllBytes(fileNamePath));
+            recordSize("get", loadedResource.contentLength());
+            outcome = "success";
 
         } catch (NotFoundException e) {
+            outcome = "not_found";
             throw new IOException("File Service: The file could not be loaded, file ID: " + fileId + " " + e);
+        } finally {
+            sample.stop(storageTimer("get", outcome));
+            end_span(span, scope, outcome);
         }
 
         if (loadedResource.exists() && loadedResource.isReadable()) {
@@ -350,7 +389,46 @@ public class FileStorageService {
      * @param fileId The fileId of the file to be deleted
      */
     public void deleteFile(String fileId) {
-        ocflRepository.purgeObject(fileId);
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        Span span = start_span("delete");
+        Scope scope = span.makeCurrent();
+        String outcome = "error";
+
+        try {
+            ocflRepository.purgeObject(fileId);
+            outcome = "success";
+        } finally {
+            sample.stop(storageTimer("delete", outcome));
+            end_span(span, scope, outcome);
+        }
+    }
+
+    private Span start_span(String operation) {
+        return TRACER.spanBuilder("FileStorageService." + operation)
+                .setAttribute(STORAGE, storageType.label)
+                .startSpan();
+    }
+
+    private void end_span(Span span, Scope scope, String outcome) {
+        if (!outcome.equals("success")) {
+            span.setStatus(StatusCode.ERROR, outcome);
+        }
+
+        scope.close();
+        span.end();
+    }
+
+    private Timer storageTimer(String operation, String outcome) {
+        return Metrics.timer("pass.file.storage", "operation", operation, "storage", storageType.label,
+                "outcome", outcome);
+    }
+
+    private void recordSize(String operation, long size) {
+        DistributionSummary.builder("pass.file.size")
+                .tags("operation", operation, "storage", storageType.label)
+                .baseUnit("bytes")
+                .register(Metrics.globalRegistry)
+                .record(size);
     }
 
     /**
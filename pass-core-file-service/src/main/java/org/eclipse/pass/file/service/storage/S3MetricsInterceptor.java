@@ -0,0 +1,57 @@
+/*
+ *
+ * Copyright 2023 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.file.service.storage;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Records the time of each S3 call, including retries, as the timer pass.file.s3.requests tagged with the S3
+ * operation, such as PutObject or GetObject, and the outcome.
+ */
+public class S3MetricsInterceptor implements ExecutionInterceptor {
+    private static final ExecutionAttribute<Timer.Sample> SAMPLE = new ExecutionAttribute<>("PassS3TimerSample");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        attributes.putAttribute(SAMPLE, Timer.start(Metrics.globalRegistry));
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        stop(attributes, context.httpResponse().isSuccessful() ? "success" : "error");
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        stop(attributes, "error");
+    }
+
+    private void stop(ExecutionAttributes attributes, String outcome) {
+        Timer.Sample sample = attributes.getAttribute(SAMPLE);
+
+        if (sample != null) {
+            sample.stop(Metrics.timer("pass.file.s3.requests",
+                    "operation", attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME), "outcome", outcome));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *
+ * Copyright 2023 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.file.service.storage;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Records each S3 call, including retries, as a client span named after the S3 operation, such as PutObject or
+ * GetObject. The span is a child of the span current on the thread making the call, so calls which OCFL makes
+ * from its own threads start traces of their own.
+ */
+public class S3TracingInterceptor implements ExecutionInterceptor {
+    private static final Tracer TRACER = GlobalOpenTelemetry.getTracer("org.eclipse.pass.file.service");
+    private static final ExecutionAttribute<Span> SPAN = new ExecutionAttribute<>("PassS3Span");
+    private static final AttributeKey<Long> STATUS = AttributeKey.longKey("http.status_code");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+        attributes.putAttribute(SPAN, TRACER.spanBuilder("S3." + attributes.getAttribute(
+                SdkExecutionAttribute.OPERATION_NAME)).setSpanKind(SpanKind.CLIENT).startSpan());
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+        Span span = attributes.getAttribute(SPAN);
+
+        if (span != null) {
+            span.setAttribute(STATUS, context.httpResponse().statusCode());
+
+            if (!context.httpResponse().isSuccessful()) {
+                span.setStatus(StatusCode.ERROR);
+            }
+
+            span.end();
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+        Span span = attributes.getAttribute(SPAN);
+
+        if (span != null) {
+            span.recordException(context.exception());
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Stands in for Crossref and Unpaywall so that DOI lookups do not depend on, or put load on, the real services.
+ * Every DOI resolves to the same recorded responses. The advertised rate limit is high so that the rate limiter
+ * of the DOI service does not hold lookups back.
+ */
+public class CrossrefStub implements AutoCloseable {
+    private final MockWebServer server = new MockWebServer();
+
+    /**
+     * Start the stub on a free port.
+     *
+     * @throws IOException if the stub cannot be started
+     */
+    public CrossrefStub() throws IOException {
+        String crossref = readResource("/crossref-work.json");
+        String unpaywall = readResource("/unpaywall-record.json");
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().startsWith("/works/") ? crossref : unpaywall;
+
+                return new MockResponse().setBody(body)
+                                         .setHeader("Content-Type", "application/json")
+                                         .setHeader("X-Rate-Limit-Limit", "100000")
+                                         .setHeader("X-Rate-Limit-Interval", "1s");
+            }
+        });
+        server.start();
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream in = CrossrefStub.class.getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * @return base URI to use for Crossref works
+     */
+    public String getCrossrefUri() {
+        return server.url("/works/").toString();
+    }
+
+    /**
+     * @return base URI to use for Unpaywall
+     */
+    public String getUnpaywallUri() {
+        return server.url("/unpaywall/").toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+}
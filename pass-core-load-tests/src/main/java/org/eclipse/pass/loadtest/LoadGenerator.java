@@ -0,0 +1,180 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.eclipse.pass.loadtest.Workload.Operation;
+
+/**
+ * Sends requests at a fixed rate regardless of how quickly they complete, as independent users would. Request
+ * start times are scheduled in advance and latency is measured from the scheduled time rather than from when
+ * the request was actually sent. A server which falls behind therefore shows the queueing delay in its latency
+ * instead of silently slowing the generator down.
+ */
+public class LoadGenerator {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param client client to send requests with
+     * @param workload the requests to send
+     */
+    public LoadGenerator(HttpClient client, Workload workload) {
+        this.client = client;
+        this.workload = workload;
+    }
+
+    /**
+     * Result of running the load at one rate.
+     */
+    public static class StageResult {
+        private final double rate;
+        private final double seconds;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+        StageResult(double rate, double seconds) {
+            this.rate = rate;
+            this.seconds = seconds;
+
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+                errors.put(op, new AtomicLong());
+            }
+        }
+
+        /**
+         * @return target requests per second
+         */
+        public double getRate() {
+            return rate;
+        }
+
+        /**
+         * @return length of the stage in seconds
+         */
+        public double getSeconds() {
+            return seconds;
+        }
+
+        /**
+         * @param op the operation
+         * @return latency in nanoseconds of the requests of the operation, including failed ones
+         */
+        public Histogram getLatency(Operation op) {
+            return latencies.get(op);
+        }
+
+        /**
+         * @param op the operation
+         * @return number of requests which failed or returned an unexpected status
+         */
+        public long getErrors(Operation op) {
+            return errors.get(op).get();
+        }
+
+        /**
+         * @return latency of all requests
+         */
+        public Histogram getTotalLatency() {
+            Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+            latencies.values().forEach(total::add);
+            return total;
+        }
+
+        /**
+         * @return number of failed requests of all operations
+         */
+        public long getTotalErrors() {
+            return errors.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+    }
+
+    /**
+     * Send requests at the given rate for the given time and wait for the responses.
+     *
+     * @param rate requests per second
+     * @param duration how long to send requests
+     * @return latency and errors of the requests
+     * @throws InterruptedException if interrupted
+     */
+    public StageResult run(double rate, Duration duration) throws InterruptedException {
+        StageResult result = new StageResult(rate, duration.toMillis() / 1000.0);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            send(workload.next(), intended, result);
+        }
+
+        await_responses();
+
+        return result;
+    }
+
+    private void send(Operation op, long intended, StageResult result) {
+        HttpRequest request = workload.request(op);
+        int expected = Workload.expectedStatus(op);
+        inFlight.incrementAndGet();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intended;
+            result.latencies.get(op).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+
+            if (error != null || response.statusCode() != expected) {
+                result.errors.get(op).incrementAndGet();
+            }
+
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void await_responses() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+
+import org.HdrHistogram.Histogram;
+import org.eclipse.pass.loadtest.LoadGenerator.StageResult;
+import org.eclipse.pass.loadtest.Workload.Operation;
+
+/**
+ * Starts pass-core-main and runs the workload against it at a series of increasing request rates, reporting the
+ * throughput and latency of each operation at each rate. The options are read from load-test.properties and may
+ * be overridden by system properties of the same name:
+ * <ul>
+ *   <li>load.jar: the pass-core-main jar to run</li>
+ *   <li>load.database: h2 or postgres</li>
+ *   <li>load.virtual-threads: whether the server handles requests on virtual threads, needs Java 21</li>
+ *   <li>load.compare: run the test with and without virtual threads and print a comparison, needs Java 21</li>
+ *   <li>load.rates: comma separated requests per second of each stage</li>
+ *   <li>load.stage: seconds each stage runs</li>
+ *   <li>load.warmup: seconds of load at the first rate before the stages, not reported</li>
+ *   <li>load.threads: threads handling responses</li>
+ *   <li>load.report: file the JSON report is written to</li>
+ * </ul>
+ */
+public class LoadTest {
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private LoadTest() {
+    }
+
+    /**
+     * @param args unused, options are given as system properties
+     * @throws Exception if the load test cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        Properties options = options();
+        Path report = Path.of(options.getProperty("load.report"));
+
+        if (!Boolean.parseBoolean(options.getProperty("load.compare"))) {
+            run(options, Boolean.parseBoolean(options.getProperty("load.virtual-threads")), report);
+            return;
+        }
+
+        List<StageResult> platform = run(options, false, suffixed(report, "platform"));
+        List<StageResult> virtual = run(options, true, suffixed(report, "virtual"));
+
+        print_comparison(platform, virtual);
+    }
+
+    /**
+     * Start a server and run the stages against it.
+     *
+     * @param options the options
+     * @param virtualThreads whether the server handles requests on virtual threads
+     * @param report file the JSON report is written to
+     * @return the results of the stages
+     * @throws Exception if the load test cannot be run
+     */
+    private static List<StageResult> run(Properties options, boolean virtualThreads, Path report)
+            throws Exception {
+        Path jar = Path.of(options.getProperty("load.jar"));
+        String database = options.getProperty("load.database");
+        double[] rates = Arrays.stream(options.getProperty("load.rates").split(","))
+                             .mapToDouble(s -> Double.parseDouble(s.trim())).toArray();
+        Duration stage = Duration.ofSeconds(Long.parseLong(options.getProperty("load.stage")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getProperty("load.warmup")));
+        int threads = Integer.parseInt(options.getProperty("load.threads"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor)
+                                      .connectTimeout(Duration.ofSeconds(10)).build();
+        List<StageResult> results = new ArrayList<>();
+
+        try (CrossrefStub stub = new CrossrefStub();
+             PassCoreServer server = PassCoreServer.start(jar, database, virtualThreads, stub,
+                                                          report.toAbsolutePath().getParent().resolve("load-test"))) {
+            Workload workload = new Workload(server.getBaseUri());
+            workload.seed(client);
+
+            LoadGenerator generator = new LoadGenerator(client, workload);
+
+            if (!warmup.isZero()) {
+                System.out.println("Warming up at " + rates[0] + " requests/s for " + warmup.toSeconds() + " s");
+                generator.run(rates[0], warmup);
+            }
+
+            for (double rate : rates) {
+                System.out.println("Running at " + rate + " requests/s for " + stage.toSeconds() + " s");
+                StageResult result = generator.run(rate, stage);
+                results.add(result);
+                print(result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        write(report, database, virtualThreads, results);
+        System.out.println("Report written to " + report);
+
+        return results;
+    }
+
+    private static Path suffixed(Path report, String suffix) {
+        String name = report.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+
+        return report.resolveSibling(dot < 0 ? name + "-" + suffix
+                                             : name.substring(0, dot) + "-" + suffix + name.substring(dot));
+    }
+
+    // a Markdown table of the total throughput and latency at each rate in both modes
+    private static void print_comparison(List<StageResult> platform, List<StageResult> virtual) {
+        System.out.println("| rate | mode     | req/s  | p50 ms  | p99 ms  | p99.9 ms | errors |");
+        System.out.println("|-----:|----------|-------:|--------:|--------:|---------:|-------:|");
+
+        for (int i = 0; i < platform.size(); i++) {
+            print_comparison_row("platform", platform.get(i));
+            print_comparison_row("virtual", virtual.get(i));
+        }
+    }
+
+    private static void print_comparison_row(String mode, StageResult result) {
+        Histogram latency = result.getTotalLatency();
+
+        System.out.printf("| %4.0f | %-8s | %6.1f | %7.2f | %7.2f | %8.2f | %6d |%n", result.getRate(), mode,
+                          latency.getTotalCount() / result.getSeconds(),
+                          millis(latency.getValueAtPercentile(PERCENTILES[0])),
+                          millis(latency.getValueAtPercentile(PERCENTILES[1])),
+                          millis(latency.getValueAtPercentile(PERCENTILES[2])),
+                          result.getTotalErrors());
+    }
+
+    private static Properties options() throws IOException {
+        Properties options = new Properties();
+
+        try (InputStream in = LoadTest.class.getResourceAsStream("/load-test.properties")) {
+            options.load(in);
+        }
+
+        for (String name : options.stringPropertyNames()) {
+            String value = System.getProperty(name);
+
+            if (value != null) {
+                options.setProperty(name, value);
+            }
+        }
+
+        return options;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void print(StageResult result) {
+        System.out.printf("%-18s %8s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "req/s",
+                          "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Operation op : Operation.values()) {
+            print_row(op.name(), result.getLatency(op), result.getErrors(op), result.getSeconds());
+        }
+
+        print_row("TOTAL", result.getTotalLatency(), result.getTotalErrors(), result.getSeconds());
+        System.out.println();
+    }
+
+    private static void print_row(String name, Histogram latency, long errors, double seconds) {
+        System.out.printf("%-18s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, latency.getTotalCount(), errors,
+                          latency.getTotalCount() / seconds,
+                          millis(latency.getValueAtPercentile(PERCENTILES[0])),
+                          millis(latency.getValueAtPercentile(PERCENTILES[1])),
+                          millis(latency.getValueAtPercentile(PERCENTILES[2])),
+                          millis(latency.getMaxValue()));
+    }
+
+    private static void write(Path report, String database, boolean virtualThreads, List<StageResult> results)
+            throws IOException {
+        JsonArrayBuilder stages = Json.createArrayBuilder();
+
+        for (StageResult result : results) {
+            JsonObjectBuilder operations = Json.createObjectBuilder();
+
+            for (Operation op : Operation.values()) {
+                operations.add(op.name(), summary(result.getLatency(op), result.getErrors(op), result.getSeconds()));
+            }
+
+            stages.add(Json.createObjectBuilder()
+                           .add("rate", result.getRate())
+                           .add("seconds", result.getSeconds())
+                           .add("total", summary(result.getTotalLatency(), result.getTotalErrors(),
+                                                 result.getSeconds()))
+                           .add("operations", operations));
+        }
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+
+        try (Writer out = Files.newBufferedWriter(report)) {
+            Json.createWriterFactory(Map.of(JsonGenerator.PRETTY_PRINTING, true)).createWriter(out)
+                .write(Json.createObjectBuilder().add("database", database).add("virtualThreads", virtualThreads)
+                           .add("stages", stages).build());
+        }
+    }
+
+    private static JsonObjectBuilder summary(Histogram latency, long errors, double seconds) {
+        return Json.createObjectBuilder()
+                   .add("count", latency.getTotalCount())
+                   .add("errors", errors)
+                   .add("throughput", latency.getTotalCount() / seconds)
+                   .add("p50_ms", millis(latency.getValueAtPercentile(PERCENTILES[0])))
+                   .add("p99_ms", millis(latency.getValueAtPercentile(PERCENTILES[1])))
+                   .add("p999_ms", millis(latency.getValueAtPercentile(PERCENTILES[2])))
+                   .add("max_ms", millis(latency.getMaxValue()));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Runs the pass-core-main jar in its own JVM, as it runs in production, against H2 or a Postgres server started
+ * for the load test. The DOI service is pointed at a local stub of Crossref and Unpaywall. The output of the
+ * server is written to server.log in the work directory.
+ */
+public class PassCoreServer implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final EmbeddedPostgres postgres;
+    private final URI baseUri;
+
+    private PassCoreServer(Process process, EmbeddedPostgres postgres, URI baseUri) {
+        this.process = process;
+        this.postgres = postgres;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Start the server and wait until it reports itself healthy.
+     *
+     * @param jar the pass-core-main jar
+     * @param database h2 or postgres
+     * @param virtualThreads whether the server handles requests on virtual threads
+     * @param stub the Crossref and Unpaywall stub
+     * @param workDir directory for files, logs and server output
+     * @return the started server
+     * @throws Exception if the server cannot be started
+     */
+    public static PassCoreServer start(Path jar, String database, boolean virtualThreads, CrossrefStub stub,
+                                       Path workDir) throws Exception {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("pass-core-main jar not found, build it first: " + jar);
+        }
+
+        Files.createDirectories(workDir);
+
+        int port = freePort();
+        URI baseUri = URI.create("http://localhost:" + port);
+        EmbeddedPostgres postgres = null;
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--logging.path=" + workDir);
+        command.add("--pass.virtual-threads.enabled=" + virtualThreads);
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        Map<String, String> env = builder.environment();
+        env.put("PASS_CORE_BASE_URL", baseUri.toString());
+        env.put("XREF_BASEURI", stub.getCrossrefUri());
+        env.put("UNPAYWALL_BASEURI", stub.getUnpaywallUri());
+
+        if (database.equalsIgnoreCase("postgres")) {
+            postgres = EmbeddedPostgres.builder().start();
+
+            env.put("spring_profiles_active", "production");
+            env.put("PASS_CORE_DATABASE_URL", postgres.getJdbcUrl("postgres", "postgres"));
+            env.put("PASS_CORE_DATABASE_USERNAME", "postgres");
+            env.put("PASS_CORE_DATABASE_PASSWORD", "");
+            env.put("PASS_CORE_PORT", String.valueOf(port));
+            env.put("PASS_CORE_FILE_SERVICE_ROOT_DIR", workDir.resolve("files").toString());
+        } else if (!database.equalsIgnoreCase("h2")) {
+            throw new IllegalArgumentException("Unknown database, expected h2 or postgres: " + database);
+        }
+
+        File log = workDir.resolve("server.log").toFile();
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(log);
+
+        PassCoreServer server = new PassCoreServer(builder.start(), postgres, baseUri);
+
+        try {
+            server.await_healthy(log);
+        } catch (Exception e) {
+            server.close();
+            throw e;
+        }
+
+        return server;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void await_healthy(File log) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("pass-core-main exited with " + process.exitValue() + ", see "
+                                                + log);
+            }
+
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+
+            Thread.sleep(500);
+        }
+
+        throw new IllegalStateException("pass-core-main did not become healthy within " + STARTUP_TIMEOUT
+                                        + ", see " + log);
+    }
+
+    /**
+     * @return base URI of the server
+     */
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() throws Exception {
+        process.destroy();
+
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
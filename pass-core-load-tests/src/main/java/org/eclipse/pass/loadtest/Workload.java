@@ -0,0 +1,239 @@
+/*
+ *
+ * Copyright 2022 Johns Hopkins University
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.eclipse.pass.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * The requests made by the load test, in the proportions a deployment sees: mostly JSON:API reads, with
+ * submissions being created and edited, files uploaded and downloaded and DOIs looked up. Requests refer to
+ * objects created by {@link #seed(HttpClient)} before the load starts.
+ */
+public class Workload {
+    private static final String JSON_API = "application/vnd.api+json";
+    private static final String DOI = "10.4137/cmc.s38446";
+    private static final int SEED_SIZE = 20;
+    private static final byte[] FILE_CONTENT = new byte[64 * 1024];
+
+    static {
+        ThreadLocalRandom.current().nextBytes(FILE_CONTENT);
+    }
+
+    /**
+     * The kinds of request and their weight in the mix.
+     */
+    public enum Operation {
+        GET_JOURNAL(45),
+        LIST_SUBMISSIONS(15),
+        CREATE_SUBMISSION(15),
+        UPDATE_SUBMISSION(5),
+        UPLOAD_FILE(5),
+        DOWNLOAD_FILE(5),
+        LOOKUP_DOI(10);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * @return relative frequency of the operation
+         */
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(Operation.values()).mapToInt(Operation::getWeight)
+                                                .sum();
+
+    private final URI baseUri;
+    private final String[] journals = new String[SEED_SIZE];
+    private final String[] submissions = new String[SEED_SIZE];
+    private final String[] files = new String[SEED_SIZE];
+    private String publication;
+
+    /**
+     * @param baseUri base URI of pass-core
+     */
+    public Workload(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Create the journals, submissions and files which requests refer to.
+     *
+     * @param client client to use
+     * @throws IOException if an object cannot be created
+     * @throws InterruptedException if interrupted
+     */
+    public void seed(HttpClient client) throws IOException, InterruptedException {
+        for (int i = 0; i < SEED_SIZE; i++) {
+            journals[i] = create(client, "journal", "{\"data\":{\"type\":\"journal\",\"attributes\":"
+                                 + "{\"journalName\":\"Load test journal " + i + "\",\"issns\":[\"Print:0000-"
+                                 + String.format("%04d", i) + "\"]}}}");
+        }
+
+        publication = create(client, "publication", "{\"data\":{\"type\":\"publication\",\"attributes\":"
+                             + "{\"title\":\"Load test publication\",\"doi\":\"" + DOI + "\"},\"relationships\":"
+                             + "{\"journal\":{\"data\":{\"type\":\"journal\",\"id\":\"" + journals[0] + "\"}}}}}");
+
+        for (int i = 0; i < SEED_SIZE; i++) {
+            submissions[i] = create(client, "submission", submission(null));
+
+            HttpResponse<String> response = client.send(upload(), HttpResponse.BodyHandlers.ofString());
+            check(response, 201);
+            JsonObject file = Json.createReader(new StringReader(response.body())).readObject();
+            files[i] = file.getString("uuid") + "/" + file.getString("fileName");
+        }
+    }
+
+    private String create(HttpClient client, String type, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/data/" + type))
+                                         .header("Content-Type", JSON_API)
+                                         .header("Accept", JSON_API)
+                                         .POST(HttpRequest.BodyPublishers.ofString(body))
+                                         .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        check(response, 201);
+
+        return Json.createReader(new StringReader(response.body())).readObject().getJsonObject("data")
+                   .getString("id");
+    }
+
+    private static void check(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Seeding failed: " + response.request().method() + " "
+                                            + response.uri() + " returned " + response.statusCode() + ": "
+                                            + response.body());
+        }
+    }
+
+    /**
+     * @return an operation chosen at random according to the weights
+     */
+    public Operation next() {
+        int choice = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+
+        for (Operation op : Operation.values()) {
+            choice -= op.getWeight();
+
+            if (choice < 0) {
+                return op;
+            }
+        }
+
+        throw new AssertionError();
+    }
+
+    /**
+     * @param op the operation
+     * @return a request performing the operation
+     */
+    public HttpRequest request(Operation op) {
+        switch (op) {
+            case GET_JOURNAL:
+                return get("/data/journal/" + pick(journals), JSON_API);
+            case LIST_SUBMISSIONS:
+                return get("/data/submission?page%5Bsize%5D=25", JSON_API);
+            case CREATE_SUBMISSION:
+                return HttpRequest.newBuilder(baseUri.resolve("/data/submission"))
+                                  .header("Content-Type", JSON_API)
+                                  .header("Accept", JSON_API)
+                                  .POST(HttpRequest.BodyPublishers.ofString(submission(null)))
+                                  .build();
+            case UPDATE_SUBMISSION:
+                String id = pick(submissions);
+                return HttpRequest.newBuilder(baseUri.resolve("/data/submission/" + id))
+                                  .header("Content-Type", JSON_API)
+                                  .header("Accept", JSON_API)
+                                  .method("PATCH", HttpRequest.BodyPublishers.ofString(submission(id)))
+                                  .build();
+            case UPLOAD_FILE:
+                return upload();
+            case DOWNLOAD_FILE:
+                return get("/file/" + pick(files), "*/*");
+            case LOOKUP_DOI:
+                return get("/doi/journal?doi=" + DOI, "application/json");
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + op);
+        }
+    }
+
+    /**
+     * @param op the operation
+     * @return the status code of a successful response
+     */
+    public static int expectedStatus(Operation op) {
+        switch (op) {
+            case CREATE_SUBMISSION:
+            case UPLOAD_FILE:
+                return 201;
+            case UPDATE_SUBMISSION:
+                return 204;
+            default:
+                return 200;
+        }
+    }
+
+    private static String pick(String[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private HttpRequest get(String path, String accept) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header("Accept", accept).GET().build();
+    }
+
+    private String submission(String id) {
+        String metadata = "{\\\"title\\\":\\\"Load test " + UUID.randomUUID() + "\\\"}";
+
+        return "{\"data\":{\"type\":\"submission\"" + (id == null ? "" : ",\"id\":\"" + id + "\"")
+               + ",\"attributes\":{\"submitted\":false,\"metadata\":\"" + metadata + "\"},\"relationships\":"
+               + "{\"publication\":{\"data\":{\"type\":\"publication\",\"id\":\"" + publication + "\"}}}}}";
+    }
+
+    private HttpRequest upload() {
+        String boundary = UUID.randomUUID().toString();
+        byte[] head = ("--" + boundary + "\r\n"
+                       + "Content-Disposition: form-data; name=\"file\"; filename=\"load-test.bin\"\r\n"
+                       + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(head.length + FILE_CONTENT.length + tail.length);
+        body.writeBytes(head);
+        body.writeBytes(FILE_CONTENT);
+        body.writeBytes(tail);
+
+        return HttpRequest.newBuilder(baseUri.resolve("/file"))
+                          .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                          .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                          .build();
+    }
+}
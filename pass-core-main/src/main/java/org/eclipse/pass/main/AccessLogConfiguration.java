@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Captures request and response bodies for the access log, see logback-access-spring.xml. Only the fraction
+ * pass.access-log.body-sample-rate of requests is captured and never requests matching a pattern of
+ * pass.access-log.body-exclude, such as file uploads and downloads.
+ */
+@Configuration
+public class AccessLogConfiguration {
+    @Bean
+    FilterRegistrationBean<SampledTeeFilter> accessLogBodyFilter(
+            @Value("${pass.access-log.body-sample-rate:0}") double rate,
+            @Value("${pass.access-log.body-exclude:}") List<String> excluded) {
+        FilterRegistrationBean<SampledTeeFilter> result = new FilterRegistrationBean<>(
+                new SampledTeeFilter(rate, excluded));
+        result.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+
+        return result;
+    }
+}
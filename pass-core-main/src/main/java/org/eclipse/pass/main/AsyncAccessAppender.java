@@ -0,0 +1,30 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import ch.qos.logback.access.spi.IAccessEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+
+/**
+ * Writes access events to the appender it references on a background thread. The event is copied before the
+ * request completes, since the container reuses request and response objects.
+ */
+public class AsyncAccessAppender extends AsyncAppenderBase<IAccessEvent> {
+    @Override
+    protected void preprocess(IAccessEvent event) {
+        event.prepareForDeferredProcessing();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.jms.TextMessage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yahoo.elide.annotation.LifeCycleHookBinding;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+import com.yahoo.elide.core.lifecycle.LifeCycleHook;
+import com.yahoo.elide.core.security.ChangeSpec;
+import com.yahoo.elide.core.security.RequestScope;
+import com.yahoo.elide.core.type.ClassType;
+import org.eclipse.pass.object.model.Deposit;
+import org.eclipse.pass.object.model.PassEntity;
+import org.eclipse.pass.object.model.RepositoryCopy;
+import org.eclipse.pass.object.model.Submission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Publishes an event to a JMS topic when a Submission, Deposit or RepositoryCopy is created, updated or deleted
+ * through Elide. The event is published after the transaction commits. The body of the message is a JSON object
+ * with the JSON:API type and id of the object, the operation and the version of the object, for example
+ * {"type":"deposit","id":"12","operation":"update","version":3}. The type and operation are also set as
+ * message properties, so that consumers can select the events they want.
+ *
+ * Note that writes made through an {@link org.eclipse.pass.object.ElideDataStorePassClient} do not trigger hooks
+ * and so are not published.
+ */
+public class ChangeFeed {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeed.class);
+
+    /**
+     * Entity types whose changes are published.
+     */
+    public static final List<Class<? extends PassEntity>> TYPES = List.of(Submission.class, Deposit.class,
+            RepositoryCopy.class);
+
+    private final JmsTemplate jmsTemplate;
+    private final String topic;
+    private final ObjectMapper objectMapper;
+    private final List<String> typeNames = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param jmsTemplate template sending to topics
+     * @param topic name of the topic
+     * @param objectMapper mapper used to write events
+     */
+    public ChangeFeed(JmsTemplate jmsTemplate, String topic, ObjectMapper objectMapper) {
+        this.jmsTemplate = jmsTemplate;
+        this.topic = topic;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return JSON:API names of the entity types whose changes are published, once registered
+     */
+    public List<String> getTypeNames() {
+        return typeNames;
+    }
+
+    /**
+     * Bind the feed to create, update and delete events on the published entity types.
+     *
+     * @param dictionary the dictionary of the Elide instance serving the data
+     */
+    public void register(EntityDictionary dictionary) {
+        for (Class<? extends PassEntity> type : TYPES) {
+            String typeName = dictionary.getJsonAliasFor(ClassType.of(type));
+            Hook hook = new Hook(typeName);
+
+            typeNames.add(typeName);
+
+            for (LifeCycleHookBinding.Operation operation : List.of(LifeCycleHookBinding.Operation.CREATE,
+                    LifeCycleHookBinding.Operation.UPDATE, LifeCycleHookBinding.Operation.DELETE)) {
+                dictionary.bindTrigger(type, operation, LifeCycleHookBinding.TransactionPhase.POSTCOMMIT, hook,
+                        false);
+            }
+        }
+    }
+
+    /**
+     * Publish a change to the topic. The change has already been committed, so a failure to publish is logged
+     * rather than failing the request.
+     *
+     * @param type JSON:API type of the object
+     * @param operation the operation
+     * @param entity the object
+     */
+    void publish(String type, LifeCycleHookBinding.Operation operation, PassEntity entity) {
+        String op = operation.name().toLowerCase(Locale.ROOT);
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("id", String.valueOf(entity.getId()));
+        event.put("operation", op);
+        event.put("version", entity.getVersion());
+
+        try {
+            String body = objectMapper.writeValueAsString(event);
+
+            jmsTemplate.send(topic, session -> {
+                TextMessage message = session.createTextMessage(body);
+                message.setStringProperty("type", type);
+                message.setStringProperty("operation", op);
+                return message;
+            });
+        } catch (JsonProcessingException | JmsException e) {
+            LOG.error("Failed to publish " + op + " of " + type + " " + entity.getId(), e);
+        }
+    }
+
+    private class Hook implements LifeCycleHook<PassEntity> {
+        private final String type;
+
+        Hook(String type) {
+            this.type = type;
+        }
+
+        @Override
+        public void execute(LifeCycleHookBinding.Operation operation, LifeCycleHookBinding.TransactionPhase phase,
+                            PassEntity entity, RequestScope requestScope, Optional<ChangeSpec> changes) {
+            publish(type, operation, entity);
+        }
+    }
+}
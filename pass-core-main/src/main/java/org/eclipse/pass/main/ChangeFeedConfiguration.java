@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yahoo.elide.RefreshableElide;
+import org.eclipse.pass.object.VirtualThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Publishes changes to the topic, see {@link ChangeFeed}, and provides the threads which stream them to the
+ * subscribers of {@link ChangeFeedController}.
+ */
+@Configuration
+public class ChangeFeedConfiguration {
+    /**
+     * @param refreshableElide Elide, whose entity dictionary the hooks are bound to
+     * @param jmsTemplate template sending to the topic
+     * @param objectMapper mapper used to write events
+     * @param topic name of the topic
+     * @return the change feed, bound to the create, update and delete hooks
+     */
+    @Bean
+    public ChangeFeed changeFeed(RefreshableElide refreshableElide, JmsTemplate jmsTemplate,
+                                 ObjectMapper objectMapper, @Value("${pass.changes.topic:pass.changes}") String topic) {
+        ChangeFeed result = new ChangeFeed(jmsTemplate, topic, objectMapper);
+        result.register(refreshableElide.getElide().getElideSettings().getDictionary());
+
+        return result;
+    }
+
+    /**
+     * Each subscriber is sent its events by at most one thread at a time, so a slow client holds a thread of its
+     * own rather than delaying the others.
+     *
+     * @param virtualThreads whether to send events on virtual threads
+     * @return executor sending events to subscribers
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService changeFeedExecutor(@Value("${pass.virtual-threads.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return VirtualThreads.newExecutor("change-feed-");
+        }
+
+        AtomicInteger count = new AtomicInteger();
+
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "change-feed-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.jms.JMSException;
+import javax.jms.TextMessage;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the events published by the {@link ChangeFeed} to clients as server-sent events. A client may limit
+ * the stream to some entity types with the type parameter, for example /changes?type=deposit&amp;type=submission.
+ *
+ * Events are taken from the JMS topic, so a client sees the changes made through every pass-core instance
+ * using the same broker. Events published while a client is not connected are not replayed.
+ *
+ * The listener only queues an event for each subscriber, the events are sent by the change feed executor. A
+ * subscriber whose queue fills because it does not keep up is disconnected, it must reconnect and catch up
+ * from the JSON:API.
+ */
+@RestController
+public class ChangeFeedController {
+    private final ChangeFeed changeFeed;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final int queueSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    ChangeFeedController(ChangeFeed changeFeed, @Qualifier("changeFeedExecutor") ExecutorService executor,
+                         @Value("${pass.changes.sse-timeout:30m}") Duration timeout,
+                         @Value("${pass.changes.sse-queue-size:256}") int queueSize) {
+        this.changeFeed = changeFeed;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Subscribe to change events.
+     *
+     * @param types JSON:API types of the changes to send, all types if empty
+     * @return the stream of events or bad request if a type is not published
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam(name = "type", required = false) List<String> types) {
+        List<String> typeNames = changeFeed.getTypeNames();
+        Set<String> selected = new HashSet<>(types == null || types.isEmpty() ? typeNames : types);
+
+        if (!typeNames.containsAll(selected)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, selected, queueSize);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Queue an event from the topic for the subscribers of its type.
+     *
+     * @param message the event
+     * @throws JMSException if the message cannot be read
+     */
+    @JmsListener(destination = "${pass.changes.topic:pass.changes}")
+    public void forward(TextMessage message) throws JMSException {
+        String type = message.getStringProperty("type");
+        String body = message.getText();
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.types.contains(type)) {
+                if (subscriber.queue.offer(body)) {
+                    drain(subscriber);
+                } else {
+                    // The client is not keeping up, it reconnects and catches up rather than miss events silently
+                    disconnect(subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Start sending the queued events of the subscriber unless they are already being sent.
+     *
+     * @param subscriber the subscriber
+     */
+    private void drain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> send(subscriber));
+            } catch (RejectedExecutionException e) {
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        String body;
+
+        while ((body = subscriber.queue.poll()) != null) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().data(body, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away, the container completes the emitter
+                subscribers.remove(subscriber);
+                subscriber.queue.clear();
+                return;
+            }
+        }
+
+        subscriber.draining.set(false);
+
+        // An event may have been queued after the last poll but before draining was cleared
+        if (!subscriber.queue.isEmpty()) {
+            drain(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> types;
+        private final BlockingQueue<String> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<String> types, int queueSize) {
+            this.emitter = emitter;
+            this.types = types;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Tunes the gzip handler which Jetty adds when server.compression.enabled is set. Besides compressing responses
+ * of the types in server.compression.mime-types larger than server.compression.min-response-size, it inflates
+ * request bodies sent with Content-Encoding: gzip. The compression level is pass.compression.level, from 1 for
+ * fastest to 9 for smallest. Jetty keeps a pool of deflaters, and takes the buffers compressed output is written
+ * to from the pool of its connector, so compression does not allocate either per response.
+ *
+ * Request bodies to /data are limited to pass.compression.max-inflated-size once inflated, see
+ * {@link RequestSizeLimitFilter}.
+ */
+@Configuration
+public class CompressionConfiguration {
+    @Bean
+    WebServerFactoryCustomizer<JettyServletWebServerFactory> gzipCustomizer(
+            @Value("${pass.compression.level:-1}") int level,
+            @Value("${pass.compression.inflate-buffer-size:8192}") int inflateBufferSize) {
+        return factory -> factory.addServerCustomizers(server -> {
+            GzipHandler gzip = server.getChildHandlerByClass(GzipHandler.class);
+
+            if (gzip != null) {
+                gzip.setCompressionLevel(level);
+                gzip.setInflateBufferSize(inflateBufferSize);
+                gzip.addIncludedMethods("POST", "PATCH");
+            }
+        });
+    }
+
+    @Bean
+    FilterRegistrationBean<RequestSizeLimitFilter> requestSizeLimitFilter(
+            @Value("${pass.compression.max-inflated-size:50MB}") DataSize limit) {
+        FilterRegistrationBean<RequestSizeLimitFilter> result = new FilterRegistrationBean<>(
+                new RequestSizeLimitFilter(limit.toBytes()));
+        result.addUrlPatterns("/data/*");
+        // Before the access log filter, which may read the whole body
+        result.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.yahoo.elide.RefreshableElide;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Answers conditional JSON:API requests, see {@link EntityTagFilter}.
+ */
+@Configuration
+public class EntityTagConfiguration {
+    @Bean
+    FilterRegistrationBean<EntityTagFilter> entityTagFilter(@Value("${elide.json-api.path}") String path,
+            EntityManagerFactory entityManagerFactory, RefreshableElide elide) {
+        FilterRegistrationBean<EntityTagFilter> result = new FilterRegistrationBean<>(
+                new EntityTagFilter(path, entityManagerFactory, elide));
+        result.addUrlPatterns(path + "/*");
+
+        return result;
+    }
+}
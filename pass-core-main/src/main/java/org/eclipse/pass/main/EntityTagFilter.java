@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.io.IOException;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.yahoo.elide.RefreshableElide;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+import com.yahoo.elide.core.type.Type;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Adds weak ETags to JSON:API GET responses and answers a request with If-None-Match matching the current ETag
+ * with 304 Not Modified.
+ *
+ * The ETag of a single resource, /data/{type}/{id}, is its version, see PassEntity, so an unchanged resource costs
+ * a lookup of the version by primary key rather than loading and serializing it. Query parameters such as sparse
+ * fieldsets are part of the ETag. A single resource requested with its related resources, which may change
+ * without the version of the resource changing, is given an ETag computed from the response body. That saves
+ * sending an unchanged body but not producing it. Collections are not given an ETag, as their bodies may be
+ * large and would have to be buffered to compute one, and a validator computed from the filter would have to
+ * re-implement the filter translation of Elide. Clients waiting for changes should use the change feed.
+ */
+class EntityTagFilter extends ShallowEtagHeaderFilter {
+    private static final String VERSIONED = EntityTagFilter.class.getName() + ".VERSIONED";
+
+    private final String path;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RefreshableElide elide;
+
+    /**
+     * @param path the path JSON:API is served from
+     * @param entityManagerFactory the factory of the entity managers to look up versions with
+     * @param elide Elide, to map the JSON:API types to entities
+     */
+    EntityTagFilter(String path, EntityManagerFactory entityManagerFactory, RefreshableElide elide) {
+        this.path = path.endsWith("/") ? path : path + "/";
+        this.entityManagerFactory = entityManagerFactory;
+        this.elide = elide;
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // The version was already checked when the request was dispatched the first time
+        if (isAsyncDispatch(request) && request.getAttribute(VERSIONED) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String[] resource = get_resource(request);
+
+        if (resource == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String etag = get_version_etag(request, resource);
+
+        if (etag == null) {
+            super.doFilterInternal(request, response, chain);
+            return;
+        }
+
+        request.setAttribute(VERSIONED, etag);
+
+        // Sets the ETag and, if it matches, the 304 status
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    // The type and id of a GET of a single resource, null for other requests
+    private String[] get_resource(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (!request.getMethod().equals("GET") || !uri.startsWith(path)) {
+            return null;
+        }
+
+        String[] segments = uri.substring(path.length()).split("/");
+
+        return segments.length == 2 ? segments : null;
+    }
+
+    private String get_version_etag(HttpServletRequest request, String[] resource) {
+        if (request.getParameter("include") != null) {
+            return null;
+        }
+
+        Long version = get_version(resource[0], resource[1]);
+
+        if (version == null) {
+            return null;
+        }
+
+        String query = request.getQueryString();
+
+        return "W/\"" + version + (query == null ? "" : "-" + Integer.toHexString(query.hashCode())) + "\"";
+    }
+
+    private Long get_version(String type, String id) {
+        Type<?> entity = elide.getElide().getElideSettings().getDictionary()
+                .getEntityClass(type, EntityDictionary.NO_VERSION);
+        long key;
+
+        try {
+            key = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (entity == null) {
+            return null;
+        }
+
+        EntityManager em = entityManagerFactory.createEntityManager();
+
+        try {
+            List<Long> result = em.createQuery("select e.version from " + entity.getSimpleName()
+                                               + " e where e.id = :id", Long.class)
+                                  .setParameter("id", key)
+                                  .getResultList();
+
+            return result.isEmpty() ? null : result.get(0);
+        } finally {
+            em.close();
+        }
+    }
+}
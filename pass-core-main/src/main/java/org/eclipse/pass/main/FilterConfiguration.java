@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.ArrayList;
+
+import com.yahoo.elide.ElideSettings;
+import com.yahoo.elide.RefreshableElide;
+import com.yahoo.elide.core.filter.dialect.jsonapi.MultipleFilterDialect;
+import org.eclipse.pass.object.filter.CollectionMemberFilter;
+import org.eclipse.pass.object.filter.JsonPathFilterDialect;
+import org.eclipse.pass.object.model.Submission;
+import org.eclipse.pass.object.model.User;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the filters which are evaluated by the database rather than by the standard Elide operators.
+ */
+@Configuration
+public class FilterConfiguration {
+    public FilterConfiguration() {
+        CollectionMemberFilter.register(User.class, "locatorIds");
+    }
+
+    /**
+     * Adds the =jsonpath= operator to the filter dialects of each Elide instance. The dialect is tried first and
+     * leaves filters without the operator to the standard dialects.
+     *
+     * @return post processor of Elide instances
+     */
+    @Bean
+    public static BeanPostProcessor jsonPathFilterDialectRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RefreshableElide) {
+                    ElideSettings settings = ((RefreshableElide) bean).getElide().getElideSettings();
+                    MultipleFilterDialect standard = new MultipleFilterDialect(
+                            new ArrayList<>(settings.getJoinFilterDialects()),
+                            new ArrayList<>(settings.getSubqueryFilterDialects()));
+                    JsonPathFilterDialect dialect = new JsonPathFilterDialect(settings.getDictionary(), standard);
+
+                    dialect.addAttribute(Submission.class, "metadata");
+                    settings.getJoinFilterDialects().add(0, dialect);
+                    settings.getSubqueryFilterDialects().add(0, dialect);
+                }
+
+                return bean;
+            }
+        };
+    }
+}
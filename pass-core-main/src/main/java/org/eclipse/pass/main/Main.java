@@ -18,6 +18,7 @@ package org.eclipse.pass.main;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication
@@ -25,9 +26,18 @@ import org.springframework.context.annotation.ComponentScan;
     "org.eclipse.pass.file.service", "org.eclipse.pass.file.service.storage"})
 @EntityScan(basePackages = { "org.eclipse.pass.object.model" })
 public class Main {
+    /**
+     * Number of startup steps recorded for the {@link StartupReport}.
+     */
+    public static final int STARTUP_STEPS = 10000;
+
     protected Main() {}
 
     public static void main(String[] args) throws Exception {
-        SpringApplication.run(Main.class, args);
+        Tracing.install();
+
+        SpringApplication application = new SpringApplication(Main.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 }
\ No newline at end of file
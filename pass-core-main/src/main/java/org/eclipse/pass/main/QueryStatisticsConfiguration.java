@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps Hibernate statistics so that queries slower than pass.query.slow-threshold are logged, see
+ * {@link SlowQueryStatistics}, and the count and time of each query are exported as the metric
+ * hibernate.query.executions, tagged with the query with its literals redacted.
+ */
+@Configuration
+public class QueryStatisticsConfiguration {
+    @Bean
+    HibernatePropertiesCustomizer slowQueryStatistics(@Value("${pass.query.slow-threshold:500}") long threshold) {
+        return props -> {
+            props.put(AvailableSettings.GENERATE_STATISTICS, true);
+            props.put(StatisticsInitiator.STATS_BUILDER,
+                    (StatisticsFactory) sessionFactory -> new SlowQueryStatistics(sessionFactory, threshold));
+        };
+    }
+}
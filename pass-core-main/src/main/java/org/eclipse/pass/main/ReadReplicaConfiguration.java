@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.Map;
+import javax.sql.DataSource;
+
+import com.yahoo.elide.core.datastore.DataStore;
+import com.zaxxer.hikari.HikariDataSource;
+import org.eclipse.pass.object.ReadReplicaDataStore;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Sends read transactions to a read replica of the database when pass.datasource.replica.url is set. The
+ * primary and the replica each have a connection pool configured by spring.datasource.hikari, which the
+ * replica may override with pass.datasource.replica.hikari. Liquibase and all writes use the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${pass.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfiguration {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(Environment env) {
+        Binder binder = Binder.get(env);
+        DataSourceProperties properties = binder.bind("spring.datasource", DataSourceProperties.class)
+                .orElseGet(DataSourceProperties::new);
+        binder.bind("pass.datasource.replica", Bindable.ofInstance(properties));
+
+        HikariDataSource result = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(result));
+        binder.bind("pass.datasource.replica.hikari", Bindable.ofInstance(result));
+
+        return result;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        ReadReplicaDataSource result = new ReadReplicaDataSource();
+        result.setTargetDataSources(Map.of(false, primaryDataSource, true, replicaDataSource));
+        result.setDefaultTargetDataSource(primaryDataSource);
+
+        return result;
+    }
+
+    /**
+     * The connection of a transaction must be taken from the pool selected when the transaction begins.
+     *
+     * @return customizer acquiring connections when the EntityManager is created
+     */
+    @Bean
+    HibernatePropertiesCustomizer acquireConnectionOnBegin() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.IMMEDIATE_ACQUISITION_AND_HOLD);
+    }
+
+    /**
+     * @return post processor wrapping the Elide DataStore so that it routes read transactions
+     */
+    @Bean
+    static BeanPostProcessor readReplicaDataStore() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataStore && !(bean instanceof ReadReplicaDataStore)) {
+                    return new ReadReplicaDataStore((DataStore) bean);
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    static class ReadReplicaDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return ReadReplicaDataStore.isReplicaSelected();
+        }
+    }
+}
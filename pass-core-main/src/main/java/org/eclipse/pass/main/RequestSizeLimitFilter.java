@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Limits the size of request bodies as read by the application. A gzip encoded body is inflated by Jetty before
+ * the application reads it, so its Content-Length says nothing about how much will be read. A request which
+ * declares a larger body is refused with 413, and reading more than the limit of a body fails with an IOException.
+ */
+class RequestSizeLimitFilter extends OncePerRequestFilter {
+    private final long limit;
+
+    RequestSizeLimitFilter(long limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getContentLengthLong() > limit) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        chain.doFilter(new LimitedRequest(request), response);
+    }
+
+    private class LimitedRequest extends HttpServletRequestWrapper {
+        private ServletInputStream input;
+
+        LimitedRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (input == null) {
+                input = new LimitedInputStream(super.getInputStream());
+            }
+
+            return input;
+        }
+    }
+
+    private class LimitedInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+        private long count;
+
+        LimitedInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        private int counted(int n) throws IOException {
+            if (n > 0) {
+                count += n;
+
+                if (count > limit) {
+                    throw new IOException("Request body is larger than " + limit + " bytes");
+                }
+            }
+
+            return n;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+
+            if (b != -1) {
+                counted(1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return counted(delegate.read(b, off, len));
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
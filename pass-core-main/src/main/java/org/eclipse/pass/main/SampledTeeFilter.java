@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import ch.qos.logback.access.servlet.TeeFilter;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Buffers the bodies of a sample of requests and responses so that they are written to the access log.
+ * Requests matching an excluded path pattern are never buffered.
+ */
+public class SampledTeeFilter extends TeeFilter {
+    private final PathMatcher matcher = new AntPathMatcher();
+    private final double rate;
+    private final List<String> excluded;
+
+    /**
+     * @param rate fraction of requests whose bodies are captured, from 0 to 1
+     * @param excluded path patterns whose bodies are never captured
+     */
+    public SampledTeeFilter(double rate, List<String> excluded) {
+        this.rate = rate;
+        this.excluded = excluded;
+    }
+
+    boolean isCaptured(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (excluded.stream().anyMatch(pattern -> matcher.match(pattern, path))) {
+            return false;
+        }
+
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (request instanceof HttpServletRequest && isCaptured((HttpServletRequest) request)) {
+            super.doFilter(request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change converting a column of serialized {@link URI} objects, as Hibernate stored URI attributes
+ * before they were converted to strings, to a varchar column holding the URIs as strings. The column must be
+ * in a table with an id primary key. Only URI objects are deserialized.
+ */
+public class SerializedUriChange implements CustomTaskChange {
+    private String tableName;
+    private String columnName;
+
+    /**
+     * @param tableName name of the table
+     */
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * @param columnName name of the column of serialized URIs
+     */
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection conn = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        String stringColumn = columnName + "_string";
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + tableName + " ADD COLUMN " + stringColumn + " varchar(255)");
+
+            try (ResultSet rs = stmt.executeQuery("SELECT id, " + columnName + " FROM " + tableName
+                                                  + " WHERE " + columnName + " IS NOT NULL");
+                 PreparedStatement update = conn.prepareStatement("UPDATE " + tableName + " SET " + stringColumn
+                                                                  + " = ? WHERE id = ?")) {
+                while (rs.next()) {
+                    update.setString(1, deserialize(rs.getBytes(2)).toString());
+                    update.setLong(2, rs.getLong(1));
+                    update.addBatch();
+                }
+
+                update.executeBatch();
+            }
+
+            stmt.execute("ALTER TABLE " + tableName + " DROP COLUMN " + columnName);
+            stmt.execute("ALTER TABLE " + tableName + " RENAME COLUMN " + stringColumn + " TO " + columnName);
+        } catch (SQLException | IOException | ClassNotFoundException e) {
+            throw new CustomChangeException("Failed to convert " + tableName + "." + columnName + " to strings", e);
+        }
+    }
+
+    static URI deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(info -> info.serialClass() == null || info.serialClass() == URI.class
+                                            ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED);
+
+            return (URI) in.readObject();
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Converted serialized URIs in " + tableName + "." + columnName + " to strings";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hibernate statistics which also log queries taking longer than a threshold. The entry names the entity
+ * queried and the code which ran the query. Literals and parameters in the query are replaced by ? so that
+ * values stay out of the log, and a list of them, as in IN (:p1, :p2), by a single ?.
+ *
+ * The time of every query is recorded by the timer hibernate.query.executions, tagged with the query redacted
+ * the same way, so that queries differing only in values, parameter names or the length of a list share a
+ * timer. The timers of recent queries are cached so that a query is not redacted each time it runs. At most
+ * 500 redacted queries get a timer of their own, the rest share the query tag "other", so that the number of
+ * time series stays bounded.
+ */
+public class SlowQueryStatistics extends StatisticsImpl {
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryStatistics.class);
+
+    private static final Pattern ENTITY = Pattern.compile("\\bfrom\\s+(?:[\\w$]+\\.)*([\\w$]+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER = Pattern.compile("(?<![:\\w]):[\\w$]+|\\?\\d+");
+    private static final Pattern LIST = Pattern.compile("\\b(in)\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)",
+            Pattern.CASE_INSENSITIVE);
+
+    // How many queries the timers are cached for, and how many distinct redacted queries are tagged
+    private static final int TIMER_CACHE_SIZE = 1000;
+    private static final int MAX_QUERY_TAGS = 500;
+    private static final String OTHER_QUERY = "other";
+
+    // Frames skipped when looking for the code which ran a query
+    private static final Set<String> SKIPPED_PACKAGES = Set.of("org.hibernate.", "java.", "jdk.", "sun.",
+            "com.sun.", "javax.", "org.springframework.");
+
+    private final long threshold;
+    private final Set<String> queryTags = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> timers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Timer> eldest) {
+            return size() > TIMER_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * @param sessionFactory the session factory whose statistics are kept
+     * @param threshold the time in milliseconds above which a query is logged
+     */
+    public SlowQueryStatistics(SessionFactoryImplementor sessionFactory, long threshold) {
+        super(sessionFactory);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void queryExecuted(String query, int rows, long time) {
+        super.queryExecuted(query, rows, time);
+
+        timer(query).record(time, TimeUnit.MILLISECONDS);
+
+        if (time > threshold) {
+            LOG.warn("slow_query time_ms={} threshold_ms={} rows={} entity={} caller={} query=\"{}\"", time,
+                    threshold, rows, entity(query), caller(), redact(query));
+        }
+    }
+
+    private Timer timer(String query) {
+        synchronized (timers) {
+            return timers.computeIfAbsent(query, q -> Timer.builder("hibernate.query.executions")
+                    .description("Time of Hibernate queries")
+                    .tag("query", query_tag(redact(q)))
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    private String query_tag(String redacted) {
+        if (queryTags.contains(redacted) || queryTags.size() < MAX_QUERY_TAGS && queryTags.add(redacted)) {
+            return redacted;
+        }
+
+        return OTHER_QUERY;
+    }
+
+    static String redact(String query) {
+        String result = PARAMETER.matcher(query).replaceAll("?");
+        result = LITERAL.matcher(result).replaceAll("?");
+        return LIST.matcher(result).replaceAll("$1 (?)");
+    }
+
+    static String entity(String query) {
+        Matcher matcher = ENTITY.matcher(query);
+        return matcher.find() ? matcher.group(1) : "unknown";
+    }
+
+    // The first PASS frame, such as a PassClient, otherwise the first frame outside of Hibernate, such as Elide
+    private static String caller() {
+        List<StackWalker.StackFrame> callers = StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(SlowQueryStatistics.class.getName()))
+                .filter(frame -> SKIPPED_PACKAGES.stream().noneMatch(frame.getClassName()::startsWith))
+                .collect(Collectors.toList()));
+
+        return callers.stream()
+                .filter(frame -> frame.getClassName().startsWith("org.eclipse.pass."))
+                .findFirst()
+                .or(() -> callers.stream().findFirst())
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .orElse("unknown");
+    }
+}
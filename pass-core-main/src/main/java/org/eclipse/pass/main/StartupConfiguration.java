@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import javax.persistence.EntityManagerFactory;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.eclipse.pass.doi.service.PassDoiServiceController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans which are created on startup even when spring.main.lazy-initialization is set, as in the fast-startup
+ * profile. The schema is migrated and Hibernate started before requests are accepted, and beans which only
+ * register something when created would otherwise never be created. The change feed and the journal index of the
+ * DOI service bind Elide hooks, which must be in place before the first write.
+ */
+@Configuration
+public class StartupConfiguration {
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SpringLiquibase.class, EntityManagerFactory.class,
+                FilterConfiguration.class, StartupReport.class, ChangeFeed.class,
+                PassDoiServiceController.class);
+    }
+}
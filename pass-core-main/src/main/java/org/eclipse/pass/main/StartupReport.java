@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs how long the application took to start and the startup steps which took longest, such as creating the
+ * Hibernate entity manager factory, running Liquibase or building Elide. The time of a step excludes the time
+ * of the steps nested in it, so the steps reported are where the time was spent rather than what triggered it.
+ *
+ * Steps are only recorded when the application is started with a {@link BufferingApplicationStartup}, as
+ * {@link Main} does. Otherwise only a warning that the startup could not be timed is logged.
+ */
+@Component
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(StartupReport.class);
+
+    private final Duration target;
+    private final int size;
+    private Duration startupTime;
+
+    /**
+     * @param target the time the application is expected to start in, a warning is logged if it takes longer
+     * @param size the number of steps to report
+     */
+    public StartupReport(@Value("${pass.startup.target:30s}") Duration target,
+                         @Value("${pass.startup.report-size:10}") int size) {
+        this.target = target;
+        this.size = size;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            LOG.warn("Application startup is not recorded, start with a BufferingApplicationStartup to time it");
+            return;
+        }
+
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).getBufferedTimeline();
+        startupTime = Duration.between(timeline.getStartTime(), Instant.now());
+
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, Duration> nested = new HashMap<>();
+
+        for (StartupTimeline.TimelineEvent step : events) {
+            Long parent = step.getStartupStep().getParentId();
+
+            if (parent != null) {
+                nested.merge(parent, step.getDuration(), Duration::plus);
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("Started in ").append(startupTime.toMillis()).append(" ms, slowest steps:");
+
+        events.stream()
+              .sorted(Comparator.comparing((StartupTimeline.TimelineEvent step) -> selfTime(step, nested))
+                                .reversed())
+              .limit(size)
+              .forEach(step -> report.append(System.lineSeparator()).append("  ")
+                                     .append(selfTime(step, nested).toMillis()).append(" ms (")
+                                     .append(step.getDuration().toMillis()).append(" ms total) ")
+                                     .append(describe(step.getStartupStep())));
+
+        LOG.info(report.toString());
+
+        if (startupTime.compareTo(target) > 0) {
+            LOG.warn("Startup took " + startupTime.toMillis() + " ms, longer than the target of "
+                     + target.toMillis() + " ms");
+        }
+    }
+
+    private static Duration selfTime(StartupTimeline.TimelineEvent step, Map<Long, Duration> nested) {
+        return step.getDuration().minus(nested.getOrDefault(step.getStartupStep().getId(), Duration.ZERO));
+    }
+
+    private static String describe(StartupStep step) {
+        StringBuilder result = new StringBuilder(step.getName());
+
+        for (StartupStep.Tag tag : step.getTags()) {
+            result.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * @return the time the application took to start, or null if it has not started or was not timed
+     */
+    public Duration getStartupTime() {
+        return startupTime;
+    }
+
+    /**
+     * @return the time the application is expected to start in
+     */
+    public Duration getTarget() {
+        return target;
+    }
+}
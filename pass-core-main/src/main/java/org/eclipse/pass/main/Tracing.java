@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.extension.trace.propagation.B3Propagator;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Registers the global OpenTelemetry instance which the modules of PASS Core create spans with. It must be
+ * installed before Spring starts, as the modules look up their tracers when their classes are loaded. Trace
+ * context is taken from and passed on in both W3C traceparent and B3 headers.
+ *
+ * The environment variable PASS_CORE_TRACING_EXPORTER selects where spans go: none, the default, logging to
+ * write them to the log, or otlp to send them to the collector at PASS_CORE_TRACING_OTLP_ENDPOINT. The fraction of
+ * traces sampled is PASS_CORE_TRACING_SAMPLE_RATIO. Spans are created even when not exported, so that log lines
+ * carry a trace id.
+ */
+final class Tracing {
+    private static final String DEFAULT_OTLP_ENDPOINT = "http://localhost:4318/v1/traces";
+
+    private Tracing() {
+    }
+
+    static void install() {
+        String exporter = env("PASS_CORE_TRACING_EXPORTER", "none");
+        double ratio = Double.parseDouble(env("PASS_CORE_TRACING_SAMPLE_RATIO", "1.0"));
+
+        SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), "pass-core"))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(ratio)));
+
+        switch (exporter) {
+            case "none":
+                break;
+            case "logging":
+                builder.addSpanProcessor(SimpleSpanProcessor.create(LoggingSpanExporter.create()));
+                break;
+            case "otlp":
+                builder.addSpanProcessor(BatchSpanProcessor.builder(OtlpHttpSpanExporter.builder()
+                        .setEndpoint(env("PASS_CORE_TRACING_OTLP_ENDPOINT", DEFAULT_OTLP_ENDPOINT))
+                        .build()).build());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown PASS_CORE_TRACING_EXPORTER: " + exporter);
+        }
+
+        SdkTracerProvider provider = builder.build();
+        Runtime.getRuntime().addShutdownHook(new Thread(provider::close));
+
+        OpenTelemetrySdk.builder()
+                .setTracerProvider(provider)
+                .setPropagators(ContextPropagators.create(TextMapPropagator.composite(
+                        W3CTraceContextPropagator.getInstance(), B3Propagator.injectingMultiHeaders())))
+                .buildAndRegisterGlobal();
+    }
+
+    private static String env(String name, String value) {
+        String result = System.getenv(name);
+        return result != null ? result : value;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.Map;
+
+import com.yahoo.elide.core.datastore.DataStore;
+import io.opentelemetry.context.Context;
+import org.eclipse.pass.object.TracingDataStore;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Traces requests, see {@link TracingFilter}, and the transactions of the Elide DataStore, see
+ * {@link TracingDataStore}. The trace context and MDC of a request are carried over to the threads of the
+ * application task executor, which handle requests processed asynchronously.
+ */
+@Configuration
+public class TracingConfiguration {
+    @Bean
+    FilterRegistrationBean<TracingFilter> tracingFilter() {
+        FilterRegistrationBean<TracingFilter> result = new FilterRegistrationBean<>(new TracingFilter());
+        result.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return result;
+    }
+
+    @Bean
+    TaskDecorator tracingTaskDecorator() {
+        return task -> {
+            Runnable traced = Context.current().wrap(task);
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+            return () -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+
+                try {
+                    traced.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        };
+    }
+
+    @Bean
+    static TracingDataStorePostProcessor tracingDataStore() {
+        return new TracingDataStorePostProcessor();
+    }
+
+    /**
+     * Wraps the DataStore before other post processors, so that a ReadReplicaDataStore stays the outermost
+     * wrapper where PassClient instances look for it.
+     */
+    static class TracingDataStorePostProcessor implements BeanPostProcessor, PriorityOrdered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataStore && !(bean instanceof TracingDataStore)) {
+                return new TracingDataStore((DataStore) bean);
+            }
+
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
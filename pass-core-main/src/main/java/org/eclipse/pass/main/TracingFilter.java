@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.io.IOException;
+import java.util.Collections;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records each request as a server span, continuing the trace of the caller if the request carries one. The span
+ * is named after the method and the matched route, such as GET /data/**, and ends when the response is complete,
+ * including for requests handled asynchronously. The trace id is put in the MDC as X-B3-TraceId for the log
+ * pattern.
+ */
+class TracingFilter extends OncePerRequestFilter {
+    static final String TRACE_ID = "X-B3-TraceId";
+
+    private static final Tracer TRACER = GlobalOpenTelemetry.getTracer("org.eclipse.pass.main");
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("http.method");
+    private static final AttributeKey<String> TARGET = AttributeKey.stringKey("http.target");
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<Long> STATUS = AttributeKey.longKey("http.status_code");
+
+    private static final TextMapGetter<HttpServletRequest> HEADERS = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(HttpServletRequest request) {
+            return Collections.list(request.getHeaderNames());
+        }
+
+        @Override
+        public String get(HttpServletRequest request, String name) {
+            return request == null ? null : request.getHeader(name);
+        }
+    };
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Context parent = GlobalOpenTelemetry.getPropagators().getTextMapPropagator()
+                .extract(Context.current(), request, HEADERS);
+        Span span = TRACER.spanBuilder(request.getMethod())
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute(METHOD, request.getMethod())
+                .setAttribute(TARGET, request.getRequestURI())
+                .startSpan();
+        boolean async = false;
+
+        if (span.getSpanContext().isValid()) {
+            MDC.put(TRACE_ID, span.getSpanContext().getTraceId());
+        }
+
+        try (Scope scope = span.makeCurrent()) {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            MDC.remove(TRACE_ID);
+
+            if (async) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        end(span, request, response);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        span.setStatus(StatusCode.ERROR, "timeout");
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        if (event.getThrowable() != null) {
+                            span.recordException(event.getThrowable());
+                        }
+                        span.setStatus(StatusCode.ERROR);
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                end(span, request, response);
+            }
+        }
+    }
+
+    private static void end(Span span, HttpServletRequest request, HttpServletResponse response) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        if (route != null) {
+            span.updateName(request.getMethod() + " " + route);
+            span.setAttribute(ROUTE, route.toString());
+        }
+
+        span.setAttribute(STATUS, response.getStatus());
+
+        if (response.getStatus() >= 500) {
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        span.end();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change copying the comma separated pass_user.locatorids column, as Hibernate stored User.locatorIds,
+ * into the pass_user_locators collection table. Locator ids are trimmed, empty ones are dropped and a locator id
+ * repeated in the list of a user is kept once, in its first position.
+ *
+ * A locator id identifies a single user, so the change fails without copying anything if one belongs to more
+ * than one user. The message lists the locator ids and users, which have to be corrected by hand.
+ */
+public class UserLocatorChange implements CustomTaskChange {
+    // how many conflicting locator ids are listed in the error
+    private static final int CONFLICT_LIMIT = 20;
+
+    private int copied;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection conn = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        Map<String, Long> owners = new HashMap<>();
+        Map<Long, Set<String>> locators = new HashMap<>();
+        List<String> conflicts = new ArrayList<>();
+
+        try {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id, locatorids FROM pass_user"
+                                                  + " WHERE locatorids IS NOT NULL ORDER BY id")) {
+                while (rs.next()) {
+                    long userId = rs.getLong(1);
+                    Set<String> userLocators = new LinkedHashSet<>();
+
+                    for (String value : rs.getString(2).split(",")) {
+                        String locator = value.trim();
+
+                        if (locator.isEmpty() || !userLocators.add(locator)) {
+                            continue;
+                        }
+
+                        Long owner = owners.putIfAbsent(locator, userId);
+
+                        if (owner != null) {
+                            conflicts.add(locator + " (users " + owner + " and " + userId + ")");
+                        }
+                    }
+
+                    locators.put(userId, userLocators);
+                }
+            }
+
+            if (!conflicts.isEmpty()) {
+                throw new CustomChangeException(conflicts.size() + " locator ids in pass_user.locatorids belong to"
+                        + " more than one user, remove them from all but one user and restart: "
+                        + String.join(", ", conflicts.subList(0, Math.min(conflicts.size(), CONFLICT_LIMIT)))
+                        + (conflicts.size() > CONFLICT_LIMIT ? ", ..." : ""));
+            }
+
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO pass_user_locators"
+                    + " (user_id, locator_order, locator_id) VALUES (?, ?, ?)")) {
+                for (Map.Entry<Long, Set<String>> entry : locators.entrySet()) {
+                    int order = 0;
+
+                    for (String locator : entry.getValue()) {
+                        insert.setLong(1, entry.getKey());
+                        insert.setInt(2, order++);
+                        insert.setString(3, locator);
+                        insert.addBatch();
+                        copied++;
+                    }
+                }
+
+                insert.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Failed to copy pass_user.locatorids to pass_user_locators", e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Copied " + copied + " locator ids from pass_user.locatorids to pass_user_locators";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import org.eclipse.pass.object.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Runs request handling on virtual threads when pass.virtual-threads.enabled is set, see {@link VirtualThreads}.
+ * Jetty uses a {@link VirtualThreadPool} of at most pass.virtual-threads.max-threads threads, and requests
+ * processed asynchronously, which includes all JSON:API requests, run on a new virtual thread each instead of
+ * the bounded application task executor.
+ *
+ * The database connection pool still bounds the number of transactions at once, so JSON:API requests beyond
+ * its size wait for a connection, up to spring.datasource.hikari.connection-timeout.
+ */
+@Configuration
+@ConditionalOnProperty(name = "pass.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    /**
+     * Not ordered, so it runs after the customizer applying server.jetty.threads and replaces its pool.
+     *
+     * @param maxThreads maximum number of Jetty threads
+     * @return customizer setting the Jetty thread pool
+     */
+    @Bean
+    WebServerFactoryCustomizer<JettyServletWebServerFactory> virtualThreadPool(
+            @Value("${pass.virtual-threads.max-threads:10000}") int maxThreads) {
+        return factory -> {
+            LOG.info("Handling requests on virtual threads, at most " + maxThreads + " at once");
+            factory.setThreadPool(new VirtualThreadPool(maxThreads));
+        };
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    TaskExecutorAdapter applicationTaskExecutor(ObjectProvider<TaskDecorator> taskDecorator) {
+        TaskExecutorAdapter result = new TaskExecutorAdapter(VirtualThreads.newExecutor("task-"));
+        taskDecorator.ifAvailable(result::setTaskDecorator);
+
+        return result;
+    }
+}
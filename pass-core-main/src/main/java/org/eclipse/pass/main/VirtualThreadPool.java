@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.pass.object.VirtualThreads;
+
+/**
+ * Jetty thread pool whose threads are virtual threads. Jetty runs its selectors and acceptors and handles each
+ * request on a thread of the pool, so the maximum number of threads bounds the number of requests handled at
+ * once. Virtual threads are cheap to create and to block, so the maximum can be far higher than for platform
+ * threads and requests waiting on the database or external services do not hold up others.
+ */
+public class VirtualThreadPool extends QueuedThreadPool {
+    private final ThreadFactory factory = VirtualThreads.factory("jetty-virtual-");
+
+    /**
+     * @param maxThreads the maximum number of threads
+     */
+    public VirtualThreadPool(int maxThreads) {
+        super(maxThreads);
+        setName("jetty-virtual");
+        // Virtual threads are always daemon threads
+        setDaemon(true);
+    }
+
+    @Override
+    protected Thread newThread(Runnable runnable) {
+        return factory.newThread(runnable);
+    }
+}
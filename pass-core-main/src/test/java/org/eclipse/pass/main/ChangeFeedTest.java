@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that changes to objects are streamed from /changes.
+ */
+public class ChangeFeedTest extends IntegrationTest {
+    private static final String JSON_API = "application/vnd.api+json";
+
+    @Test
+    public void testCreateEvent() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/changes?type=deposit"))
+                                         .header("Accept", "text/event-stream").build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request,
+                HttpResponse.BodyHandlers.ofLines());
+
+        assertEquals(200, response.statusCode());
+
+        CompletableFuture<String> event = CompletableFuture.supplyAsync(() -> response.body()
+                .filter(line -> line.startsWith("data:")).findFirst().orElse(null));
+
+        String id = given().contentType(JSON_API).accept(JSON_API)
+                           .body("{\"data\":{\"type\":\"deposit\"}}")
+                           .when().post("/data/deposit")
+                           .then().statusCode(201)
+                           .extract().path("data.id");
+
+        assertEquals("data:{\"type\":\"deposit\",\"id\":\"" + id + "\",\"operation\":\"create\",\"version\":0}",
+                event.get(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testUnknownType() {
+        given().accept("text/event-stream").queryParam("type", "journal")
+               .when().get("/changes")
+               .then().statusCode(400);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that JSON:API responses are compressed and gzip encoded request bodies are accepted.
+ */
+public class CompressionTest extends IntegrationTest {
+    private static final String JSON_API = "application/vnd.api+json";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private static byte[] gzip(String s) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(result)) {
+            out.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return result.toByteArray();
+    }
+
+    private static String gunzip(byte[] b) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(b))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @Test
+    public void testCompressedRequestAndResponse() throws Exception {
+        String text = "Compressed submission " + "x".repeat(4000);
+        String body = "{\"data\":{\"type\":\"submission\",\"attributes\":{\"metadata\":"
+                      + "\"{\\\"abstract\\\":\\\"" + text + "\\\"}\"}}}";
+
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(uri("/data/submission"))
+                .header("Content-Type", JSON_API)
+                .header("Content-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(gzip(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().contains(text));
+
+        HttpResponse<byte[]> page = client.send(HttpRequest.newBuilder(uri("/data/submission?page%5Bsize%5D=500"))
+                .header("Accept", JSON_API)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, page.statusCode());
+        assertEquals(Optional.of("gzip"), page.headers().firstValue("Content-Encoding"));
+        assertTrue(gunzip(page.body()).contains(text));
+    }
+
+    @Test
+    public void testSmallResponseNotCompressed() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/data/journal/0"))
+                .header("Accept", JSON_API)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(404, response.statusCode());
+        assertEquals(Optional.empty(), response.headers().firstValue("Content-Encoding"));
+    }
+}
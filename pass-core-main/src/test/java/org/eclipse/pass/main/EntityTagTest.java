@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that JSON:API responses carry ETags and conditional requests for unchanged resources return 304.
+ */
+public class EntityTagTest extends IntegrationTest {
+    private static final String JSON_API = "application/vnd.api+json";
+
+    @Test
+    public void testResourceVersionETag() {
+        String id = given().contentType(JSON_API).accept(JSON_API)
+                           .body("{\"data\":{\"type\":\"journal\",\"attributes\":{\"journalName\":\"ETag journal\"}}}")
+                           .when().post("/data/journal")
+                           .then().statusCode(201)
+                           .extract().path("data.id");
+
+        String etag = given().accept(JSON_API)
+                             .when().get("/data/journal/" + id)
+                             .then().statusCode(200)
+                             .extract().header("ETag");
+
+        assertEquals("W/\"0\"", etag);
+
+        given().accept(JSON_API).header("If-None-Match", etag)
+               .when().get("/data/journal/" + id)
+               .then().statusCode(304);
+
+        given().contentType(JSON_API).accept(JSON_API)
+               .body("{\"data\":{\"type\":\"journal\",\"id\":\"" + id + "\",\"attributes\":"
+                     + "{\"journalName\":\"Updated ETag journal\"}}}")
+               .when().patch("/data/journal/" + id)
+               .then().statusCode(204);
+
+        String updated = given().accept(JSON_API).header("If-None-Match", etag)
+                                .when().get("/data/journal/" + id)
+                                .then().statusCode(200)
+                                .extract().header("ETag");
+
+        assertEquals("W/\"1\"", updated);
+    }
+
+    @Test
+    public void testIncludeETag() {
+        String id = given().contentType(JSON_API).accept(JSON_API)
+                           .body("{\"data\":{\"type\":\"journal\",\"attributes\":"
+                                 + "{\"journalName\":\"Include journal\"}}}")
+                           .when().post("/data/journal")
+                           .then().statusCode(201)
+                           .extract().path("data.id");
+
+        String etag = given().accept(JSON_API).queryParam("include", "publisher")
+                             .when().get("/data/journal/" + id)
+                             .then().statusCode(200)
+                             .extract().header("ETag");
+
+        assertNotNull(etag);
+        assertNotEquals("W/\"0\"", etag);
+
+        given().accept(JSON_API).queryParam("include", "publisher").header("If-None-Match", etag)
+               .when().get("/data/journal/" + id)
+               .then().statusCode(304);
+    }
+
+    @Test
+    public void testNoCollectionETag() {
+        String etag = given().accept(JSON_API)
+                             .when().get("/data/journal")
+                             .then().statusCode(200)
+                             .extract().header("ETag");
+
+        assertNull(etag);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that the =jsonpath= operator filters submissions by their metadata, alone and combined with other
+ * operators, while == still compares the whole document.
+ */
+public class JsonPathFilterTest extends IntegrationTest {
+    private static final String JSON_API = "application/vnd.api+json";
+
+    @Test
+    public void testJsonPathOperator() {
+        String title = "Journal " + UUID.randomUUID();
+        String nature = create("{\\\"journal-title\\\": \\\"" + title + "\\\", \\\"volume\\\": 12}");
+        create("{\\\"journal-title\\\": \\\"" + title + "\\\", \\\"volume\\\": 13}");
+        String predicate = "$.\"journal-title\" == \"" + title + "\"";
+
+        given().accept(JSON_API).queryParam("filter[submission]", "metadata=jsonpath='" + predicate + "'")
+               .when().get("/data/submission")
+               .then().statusCode(200)
+               .body("data.size()", equalTo(2));
+
+        given().accept(JSON_API)
+               .queryParam("filter[submission]", "metadata=jsonpath='" + predicate + "';id==" + nature)
+               .when().get("/data/submission")
+               .then().statusCode(200)
+               .body("data.size()", equalTo(1))
+               .body("data[0].id", equalTo(nature));
+
+        given().accept(JSON_API)
+               .queryParam("filter[submission]", "metadata=jsonpath=('$.volume == 12','$.volume == 99');"
+                                                 + "metadata=jsonpath='" + predicate + "'")
+               .when().get("/data/submission")
+               .then().statusCode(200)
+               .body("data.size()", equalTo(1))
+               .body("data[0].id", equalTo(nature));
+
+        given().accept(JSON_API).queryParam("filter[submission]", "metadata=='" + predicate + "'")
+               .when().get("/data/submission")
+               .then().statusCode(200)
+               .body("data.size()", equalTo(0));
+    }
+
+    @Test
+    public void testJsonPathOperatorOnOtherAttribute() {
+        given().accept(JSON_API).queryParam("filter[submission]", "submissionStatus=jsonpath='$.a == 1'")
+               .when().get("/data/submission")
+               .then().statusCode(400);
+    }
+
+    private String create(String metadata) {
+        return given().contentType(JSON_API).accept(JSON_API)
+                      .body("{\"data\":{\"type\":\"submission\",\"attributes\":{\"metadata\":\"" + metadata + "\"}}}")
+                      .when().post("/data/submission")
+                      .then().statusCode(201)
+                      .extract().path("data.id");
+    }
+}
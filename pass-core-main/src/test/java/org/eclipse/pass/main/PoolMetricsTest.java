@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Check that the utilization and wait time of the connection pool are exported as metrics.
+ */
+public class PoolMetricsTest extends IntegrationTest {
+    @ParameterizedTest
+    @ValueSource(strings = {"hikaricp.connections.active", "hikaricp.connections.pending",
+        "hikaricp.connections.acquire", "hikaricp.connections.usage", "hikaricp.connections.timeout"})
+    public void testPoolMetric(String name) {
+        given().queryParam("tag", "pool:pass-core")
+               .when().get("/actuator/metrics/" + name)
+               .then().statusCode(200).body("name", equalTo(name));
+    }
+}
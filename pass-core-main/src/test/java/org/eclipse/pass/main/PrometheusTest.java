@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+
+import com.yahoo.elide.RefreshableElide;
+import org.eclipse.pass.doi.service.XrefDoiService;
+import org.eclipse.pass.object.ElideDataStorePassClient;
+import org.eclipse.pass.object.PassClient;
+import org.eclipse.pass.object.model.Journal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Check that metrics are exported in the Prometheus format, including those of PassClient.
+ */
+public class PrometheusTest extends IntegrationTest {
+    @Autowired
+    protected RefreshableElide refreshableElide;
+
+    @Test
+    public void testPassClientMetrics() throws IOException {
+        try (PassClient client = new ElideDataStorePassClient(refreshableElide)) {
+            Journal journal = new Journal();
+            journal.setJournalName("Metrics journal");
+            client.createObject(journal);
+            client.getObject(Journal.class, journal.getId());
+        }
+
+        given().when().get("/actuator/prometheus")
+               .then().statusCode(200)
+               .body(containsString("hikaricp_connections_active{pool=\"pass-core\""))
+               .body(containsString("pass_client_requests_seconds_count{client=\"datastore\",entity=\"Journal\","
+                                    + "operation=\"create\",outcome=\"success\""))
+               .body(containsString("pass_client_requests_seconds_bucket{client=\"datastore\",entity=\"Journal\","
+                                    + "operation=\"get\",outcome=\"success\""));
+    }
+
+    @Test
+    public void testDoiServiceMetrics() {
+        // the metrics of a service are registered with its guard
+        new XrefDoiService().guard();
+
+        given().when().get("/actuator/prometheus")
+               .then().statusCode(200)
+               .body(containsString("pass_doi_external_circuit_open{service=\"Crossref\""))
+               .body(containsString("pass_doi_external_rate_queue{service=\"Crossref\""));
+    }
+
+    @Test
+    public void testQueryMetrics() {
+        given().queryParam("filter[journal]", "journalName=='Query metrics journal'")
+               .when().get("/data/journal")
+               .then().statusCode(200);
+
+        given().when().get("/actuator/prometheus")
+               .then().statusCode(200)
+               .body(containsString("hibernate_query_executions_seconds_count{query=\"SELECT"))
+               .body(not(containsString("Query metrics journal")));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Check which requests have their bodies captured for the access log.
+ */
+public class SampledTeeFilterTest {
+    @Test
+    public void testExcludedPath() {
+        SampledTeeFilter filter = new SampledTeeFilter(1, List.of("/file/**"));
+
+        assertTrue(filter.isCaptured(new MockHttpServletRequest("GET", "/data/grant/1")));
+        assertFalse(filter.isCaptured(new MockHttpServletRequest("POST", "/file")));
+        assertFalse(filter.isCaptured(new MockHttpServletRequest("GET", "/file/abc/test.pdf")));
+    }
+
+    @Test
+    public void testSampleRate() {
+        SampledTeeFilter none = new SampledTeeFilter(0, List.of());
+        SampledTeeFilter half = new SampledTeeFilter(0.5, List.of());
+        int captured = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(none.isCaptured(new MockHttpServletRequest("GET", "/data/grant")));
+
+            if (half.isCaptured(new MockHttpServletRequest("GET", "/data/grant"))) {
+                captured++;
+            }
+        }
+
+        assertTrue(captured > 350 && captured < 650, "Captured " + captured + " of 1000");
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+
+import com.yahoo.elide.RefreshableElide;
+import org.eclipse.pass.object.PassClient;
+import org.eclipse.pass.object.PassClientSelector;
+import org.eclipse.pass.object.model.PassEntity;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Check that the queries Elide and Hibernate generate for the standard filters can use the indexes of the
+ * schema created by the Liquibase changelog. Each filter is run through a {@link PassClient}, the SQL statements
+ * Hibernate sends are recorded, and those which test the filtered column are checked. The filters match no
+ * objects, so that no other statements test the column.
+ *
+ * The query plan of an attribute filter must look the value up in the index. A relationship filter becomes a left
+ * join, which H2 does not turn into an inner join and so always scans the filtered table, while Postgres joins
+ * from the filter value. For those the join column must be the first column of the index.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                 + "org.eclipse.pass.main.SchemaIndexTest$RecordingStatementInspector")
+public class SchemaIndexTest extends IntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RefreshableElide refreshableElide;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Publication | doi=='10.1234/none' | doi | pass_publication_doi_idx",
+        "Publication | pmid=='none' | pmid | pass_publication_pmid_idx",
+        "Grant | localKey=='johnshopkins.edu:grant:none' | localkey | pass_grant_local_key_idx",
+        "Grant | awardNumber=='none' | awardnumber | pass_grant_award_number_idx",
+        "Funder | localKey=='johnshopkins.edu:funder:none' | localkey | pass_funder_local_key_idx",
+        "User | username=='none' | username | pass_user_username_idx",
+        "User | locatorIds=hasmember='jhu:jhed:none' | locator_id | pass_user_locators_locator_id_idx",
+        "Repository | repositoryKey=='none' | repositorykey | pass_repository_repository_key_idx",
+        "Submission | submissionStatus=='submitted' | submissionstatus | pass_submission_submission_status_idx",
+    })
+    public void testAttributeFilterUsesIndex(String type, String filter, String column, String index)
+            throws Exception {
+        for (String query : generatedQueries(type, filter, column)) {
+            String plan = explain(query);
+
+            // unquoted identifiers are stored in upper case, a lookup is followed by its condition
+            assertTrue(plan.contains(index.toUpperCase(Locale.ROOT) + ": "),
+                       "Expected a lookup in " + index + " by " + plan);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "Deposit | submission.id==0 | submission_id | pass_deposit | pass_deposit_submission_id_idx",
+        "Deposit | repositoryCopy.id==0 | repositorycopy_id | pass_deposit | pass_deposit_repository_copy_id_idx",
+        "File | submission.id==0 | submission_id | pass_file | pass_file_submission_id_idx",
+        "Contributor | publication.id==0 | publication_id | pass_contributor | pass_contributor_publication_id_idx",
+        "RepositoryCopy | publication.id==0 | publication_id | pass_repository_copy | "
+            + "pass_repository_copy_publication_id_idx",
+        "Submission | submitter.id==0 | submitter_id | pass_submission | pass_submission_submitter_id_idx",
+        "SubmissionEvent | submission.id==0 | submission_id | pass_submission_event | "
+            + "pass_submission_event_submission_id_idx",
+        "Grant | pi.id==0 | pi_id | pass_grant | pass_grant_pi_id_idx",
+        "Journal | publisher.id==0 | publisher_id | pass_journal | pass_journal_publisher_id_idx",
+        "Grant | coPis.id==0 | user_id | pass_grant_co_pis | pass_grant_co_pis_user_id_idx",
+        "Submission | grants.id==0 | grant_id | pass_submission_grants | pass_submission_grants_grant_id_idx",
+    })
+    public void testRelationshipFilterJoinsOnIndex(String type, String filter, String column, String table,
+                                                   String index) throws Exception {
+        generatedQueries(type, filter, column);
+
+        assertTrue(firstIndexColumns(table).contains(index + "." + column),
+                   "Expected " + index + " to start with " + column);
+    }
+
+    private List<String> generatedQueries(String type, String filter, String column) throws Exception {
+        Class<? extends PassEntity> entityType = Class.forName("org.eclipse.pass.object.model." + type)
+                                                      .asSubclass(PassEntity.class);
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        select(entityType, filter);
+
+        List<String> queries = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("." + column + "="))
+                .collect(Collectors.toList());
+
+        assertFalse(queries.isEmpty(), "Expected " + column + " to be tested by "
+                                       + RecordingStatementInspector.STATEMENTS);
+
+        return queries;
+    }
+
+    private <T extends PassEntity> void select(Class<T> type, String filter) throws IOException {
+        try (PassClient client = PassClient.newInstance(refreshableElide)) {
+            client.selectObjects(new PassClientSelector<>(type, 0, 10, filter, null));
+        }
+    }
+
+    // the parameter values do not change which index is used
+    private String explain(String query) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("explain " + query)) {
+            for (int i = 1; i <= stmt.getParameterMetaData().getParameterCount(); i++) {
+                stmt.setString(i, "1");
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+
+                return plan.toString();
+            }
+        }
+    }
+
+    // index.column for the first column of each index of the table
+    private Set<String> firstIndexColumns(String table) throws SQLException {
+        Set<String> result = new HashSet<>();
+
+        try (Connection conn = dataSource.getConnection();
+             ResultSet rs = conn.getMetaData().getIndexInfo(null, null, table.toUpperCase(Locale.ROOT), false,
+                                                            false)) {
+            while (rs.next()) {
+                if (rs.getShort("ORDINAL_POSITION") == 1) {
+                    result.add((rs.getString("INDEX_NAME") + "." + rs.getString("COLUMN_NAME"))
+                                   .toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Records the SQL statements Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
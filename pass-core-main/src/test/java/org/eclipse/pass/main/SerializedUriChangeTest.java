@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check the conversion of columns of serialized URIs, as Hibernate created them, to strings.
+ */
+public class SerializedUriChangeTest {
+    private static byte[] serialize(Serializable value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testConvertColumn() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:serialized-uri")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE pass_file (id bigint PRIMARY KEY, name varchar(255), uri varbinary)");
+            }
+
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO pass_file VALUES (?, ?, ?)")) {
+                insert.setLong(1, 1);
+                insert.setString(2, "a.pdf");
+                insert.setBytes(3, serialize(URI.create("file:///files/a.pdf")));
+                insert.execute();
+
+                insert.setLong(1, 2);
+                insert.setString(2, "b.pdf");
+                insert.setBytes(3, null);
+                insert.execute();
+            }
+
+            Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(conn));
+            SerializedUriChange change = new SerializedUriChange();
+            change.setTableName("pass_file");
+            change.setColumnName("uri");
+            change.execute(database);
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id, name, uri FROM pass_file ORDER BY id")) {
+                rs.next();
+                assertEquals("a.pdf", rs.getString(2));
+                assertEquals("file:///files/a.pdf", rs.getString(3));
+                assertEquals("CHARACTER VARYING", rs.getMetaData().getColumnTypeName(3));
+
+                rs.next();
+                assertNull(rs.getString(3));
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyUrisDeserialized() throws IOException {
+        assertThrows(InvalidClassException.class, () -> SerializedUriChange.deserialize(serialize(new ArrayList<>())));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check what is logged about a slow query.
+ */
+public class SlowQueryStatisticsTest {
+    private static final String QUERY = "SELECT example_Grant FROM org.eclipse.pass.object.model.Grant AS "
+            + "example_Grant WHERE example_Grant.localKey = 'abc''d' AND example_Grant.awardNumber IN (:p1, 42)";
+
+    @Test
+    public void testRedact() {
+        assertEquals("SELECT example_Grant FROM org.eclipse.pass.object.model.Grant AS example_Grant WHERE "
+                + "example_Grant.localKey = ? AND example_Grant.awardNumber IN (?)",
+                SlowQueryStatistics.redact(QUERY));
+    }
+
+    @Test
+    public void testRedactParameters() {
+        String query = "SELECT g FROM Grant g WHERE g.localKey = :localKey_3f2a_0 AND g.id in (:id_1b_0, :id_1b_1, "
+                + ":id_1b_2) AND g.awardNumber = ?1 AND g.projectName IN (SELECT p.name FROM Project p)";
+
+        assertEquals("SELECT g FROM Grant g WHERE g.localKey = ? AND g.id in (?) AND g.awardNumber = ? AND "
+                + "g.projectName IN (SELECT p.name FROM Project p)", SlowQueryStatistics.redact(query));
+        assertEquals(SlowQueryStatistics.redact("SELECT g FROM Grant g WHERE g.id IN (:a)"),
+                SlowQueryStatistics.redact("SELECT g FROM Grant g WHERE g.id IN (:b, :c, 7)"));
+        assertEquals("SELECT x::text FROM t", SlowQueryStatistics.redact("SELECT x::text FROM t"));
+    }
+
+    @Test
+    public void testEntity() {
+        assertEquals("Grant", SlowQueryStatistics.entity(QUERY));
+        assertEquals("unknown", SlowQueryStatistics.entity("UPDATE Grant SET localKey = :p1"));
+    }
+}
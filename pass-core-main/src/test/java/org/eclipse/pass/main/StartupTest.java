@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Start the application as Main does, with a fresh database, in each profile. The startup time depends on the
+ * machine, so it must only be within a generous multiple of the target of the profile, which catches a startup
+ * that has become several times slower. The beans which bind Elide hooks must have been created even when
+ * initialization is lazy.
+ */
+public class StartupTest {
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTest.class);
+
+    // allowance for slow and shared CI machines
+    private static final int TARGET_MULTIPLE = 3;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"default", "fast-startup"})
+    public void testStartup(String profile) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Main.class)
+                .applicationStartup(new BufferingApplicationStartup(Main.STARTUP_STEPS))
+                .profiles(profile)
+                .properties("server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:startup-" + profile + ";DB_CLOSE_DELAY=-1")
+                .run()) {
+            StartupReport report = context.getBean(StartupReport.class);
+            Duration startupTime = report.getStartupTime();
+
+            assertNotNull(startupTime);
+            LOG.info("Profile {} started in {}, target is {}", profile, startupTime, report.getTarget());
+
+            Duration limit = report.getTarget().multipliedBy(TARGET_MULTIPLE);
+            assertTrue(startupTime.compareTo(limit) <= 0,
+                       "Profile " + profile + " started in " + startupTime + ", more than " + limit);
+
+            for (String name : new String[] {"changeFeed", "passDoiServiceController"}) {
+                assertTrue(context.getBeanFactory().containsSingleton(name), name + " was not created on startup");
+            }
+        }
+    }
+}
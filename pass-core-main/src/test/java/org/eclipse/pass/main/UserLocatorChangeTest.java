@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check the copying of comma separated locator ids, as Hibernate stored them, to the collection table.
+ */
+public class UserLocatorChangeTest {
+    private static Connection createDatabase(String name, String... locatorIds) throws SQLException {
+        Connection conn = DriverManager.getConnection("jdbc:h2:mem:" + name);
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE pass_user (id bigint PRIMARY KEY, locatorids varchar(1000))");
+            stmt.execute("CREATE TABLE pass_user_locators (user_id bigint NOT NULL, locator_order int NOT NULL,"
+                         + " locator_id varchar(255) NOT NULL, PRIMARY KEY (user_id, locator_order))");
+            stmt.execute("CREATE UNIQUE INDEX pass_user_locators_locator_id_idx ON pass_user_locators"
+                         + " (locator_id)");
+        }
+
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO pass_user VALUES (?, ?)")) {
+            for (int i = 0; i < locatorIds.length; i++) {
+                insert.setLong(1, i + 1);
+                insert.setString(2, locatorIds[i]);
+                insert.execute();
+            }
+        }
+
+        return conn;
+    }
+
+    private static void migrate(Connection conn) throws Exception {
+        Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(conn));
+        new UserLocatorChange().execute(database);
+    }
+
+    private static List<String> locators(Connection conn) throws SQLException {
+        List<String> result = new ArrayList<>();
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT user_id, locator_order, locator_id FROM pass_user_locators"
+                                              + " ORDER BY user_id, locator_order")) {
+            while (rs.next()) {
+                result.add(rs.getLong(1) + ":" + rs.getInt(2) + ":" + rs.getString(3));
+            }
+        }
+
+        return result;
+    }
+
+    @Test
+    public void testCopyLocators() throws Exception {
+        try (Connection conn = createDatabase("user-locators", "jhu:employeeid:1, jhu:jhed:a,,jhu:employeeid:1 ",
+                                              null, " jhu:jhed:b ")) {
+            migrate(conn);
+
+            assertEquals(List.of("1:0:jhu:employeeid:1", "1:1:jhu:jhed:a", "3:0:jhu:jhed:b"), locators(conn));
+        }
+    }
+
+    @Test
+    public void testLocatorOfTwoUsers() throws Exception {
+        try (Connection conn = createDatabase("user-locators-conflict", "jhu:jhed:a,jhu:jhed:b", "jhu:jhed:c",
+                                              " jhu:jhed:a")) {
+            CustomChangeException e = assertThrows(CustomChangeException.class, () -> migrate(conn));
+
+            assertTrue(e.getMessage().contains("jhu:jhed:a (users 1 and 3)"), e.getMessage());
+            assertFalse(e.getMessage().contains("jhu:jhed:b"), e.getMessage());
+            assertTrue(locators(conn).isEmpty());
+        }
+    }
+}
@@ -15,7 +15,13 @@
  */
 package org.eclipse.pass.object;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
 import com.yahoo.elide.RefreshableElide;
+import org.eclipse.pass.object.model.Funder;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class ElideDataStorePassClientTest extends PassClientTest {
@@ -26,4 +32,25 @@ public class ElideDataStorePassClientTest extends PassClientTest {
     protected PassClient getNewClient() {
         return new ElideDataStorePassClient(refreshableElide);
     }
+
+    @Test
+    public void testUpdateSetsStoredVersion() throws IOException {
+        try (PassClient writer = getNewClient()) {
+            Funder funder = new Funder();
+            funder.setName("Twice updated funder");
+            writer.createObject(funder);
+
+            funder.setLocalKey("first");
+            writer.updateObject(funder);
+            funder.setLocalKey("second");
+            writer.updateObject(funder);
+
+            try (PassClient reader = getNewClient()) {
+                Funder stored = reader.getObject(Funder.class, funder.getId());
+
+                assertEquals("second", stored.getLocalKey());
+                assertEquals(stored.getVersion(), funder.getVersion());
+            }
+        }
+    }
 }
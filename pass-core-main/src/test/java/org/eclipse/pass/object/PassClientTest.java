@@ -80,7 +80,7 @@ public abstract class PassClientTest extends IntegrationTest {
 
         Journal test = client.getObject(Journal.class, journal.getId());
 
-        assertEquals(journal, test);
+        assertTrue(journal.deepEquals(test));
     }
 
     @Test
@@ -153,6 +153,29 @@ public abstract class PassClientTest extends IntegrationTest {
         assertEquals(funder.getLocalKey(), test.getLocalKey());
     }
 
+    @Test
+    public void testUpdateObjectWithoutVersion() throws IOException {
+        Funder funder = new Funder();
+        funder.setName("Versioned funder");
+
+        client.createObject(funder);
+        funder.setLocalKey("first");
+        client.updateObject(funder);
+
+        // Built rather than read, so it has no version
+        Funder replacement = new Funder();
+        replacement.setId(funder.getId());
+        replacement.setName("Replaced funder");
+
+        client.updateObject(replacement);
+
+        refreshClient();
+        Funder test = client.getObject(Funder.class, funder.getId());
+
+        assertEquals(replacement.getName(), test.getName());
+        assertNull(test.getLocalKey());
+    }
+
     @Test
     public void testDeleteObject() throws IOException {
         SubmissionEvent ev = new SubmissionEvent();
@@ -276,4 +299,68 @@ public abstract class PassClientTest extends IntegrationTest {
             assertTrue(p.getJournal().getJournalName().startsWith("Journal"));
         });
     }
+
+    @Test
+    public void testFindUserByLocatorId() throws IOException {
+        String prefix = "johnshopkins.edu:jhed:" + UUID.randomUUID();
+
+        User user = new User();
+        user.setDisplayName("Located user");
+        user.setLocatorIds(List.of(prefix + ":b", prefix + ":a", prefix + ":c"));
+        client.createObject(user);
+
+        User other = new User();
+        other.setDisplayName("Other user");
+        other.setLocatorIds(List.of(prefix + ":d"));
+        client.createObject(other);
+
+        User test = client.findUserByLocatorId(prefix + ":a");
+
+        assertNotNull(test);
+        assertEquals(user.getId(), test.getId());
+        assertEquals(List.of(prefix + ":b", prefix + ":a", prefix + ":c"), test.getLocatorIds());
+
+        assertEquals(other.getId(), client.findUserByLocatorId(prefix + ":d").getId());
+        assertNull(client.findUserByLocatorId(prefix + ":e"));
+
+        String filter = RSQL.hasNoMember("locatorIds", prefix + ":a");
+        PassClientResult<User> result = client.selectObjects(new PassClientSelector<>(User.class, 0, 1000,
+                RSQL.and(filter, RSQL.equals("displayName", "Located user")), null));
+
+        assertTrue(result.getObjects().stream().noneMatch(u -> u.getId().equals(user.getId())));
+    }
+
+    @Test
+    public void testSelectSubmissionsByMetadata() throws IOException {
+        String title = "Journal " + UUID.randomUUID();
+
+        Submission nature = new Submission();
+        nature.setMetadata("{\"journal-title\": \"" + title + "\", \"agreements\": [{\"JScholarship\": true}]}");
+        client.createObject(nature);
+
+        Submission other = new Submission();
+        other.setMetadata("{\"journal-title\": \"" + title + "\", \"agreements\": []}");
+        client.createObject(other);
+
+        String filter = RSQL.jsonPath("metadata", "$.\"journal-title\" == \"" + title + "\"");
+        PassClientResult<Submission> result = client.selectObjects(new PassClientSelector<>(Submission.class, 0,
+                100, filter, "id"));
+
+        assertEquals(2, result.getTotal());
+        assertEquals(nature.getId(), result.getObjects().get(0).getId());
+        assertEquals(other.getId(), result.getObjects().get(1).getId());
+
+        filter = RSQL.and(filter, RSQL.jsonPath("metadata", "$.agreements.JScholarship == true"));
+        result = client.selectObjects(new PassClientSelector<>(Submission.class, 0, 100, filter, null));
+
+        assertEquals(1, result.getTotal());
+        assertEquals(nature.getId(), result.getObjects().get(0).getId());
+
+        filter = RSQL.and(RSQL.jsonPath("metadata", "$.\"journal-title\" == \"" + title + "\""),
+                          RSQL.equals("id", other.getId().toString()));
+        result = client.selectObjects(new PassClientSelector<>(Submission.class, 0, 100, filter, null));
+
+        assertEquals(1, result.getTotal());
+        assertEquals(other.getId(), result.getObjects().get(0).getId());
+    }
 }
@@ -44,18 +44,24 @@ import org.eclipse.pass.object.model.PassEntity;
  *
  * Objects retrieved using this client may not work after the client has been closed.
  * This is because relationships are loaded lazily.
+ *
+ * Updating an object which was read checks its version, so the update fails with an optimistic lock exception
+ * if the object has been updated by someone else since it was read. The object is given the new version, so it
+ * can be updated again. An object without a version replaces the stored one, whatever its version.
  */
 public class ElideDataStorePassClient implements PassClient {
+    private static final PassClientMetrics METRICS = new PassClientMetrics("datastore");
+
     private final Elide elide;
     private final ElideSettings settings;
-    private final DataStoreTransaction read_tx;
+    private DataStoreTransaction read_tx;
+    private TransactionHoldMonitor read_tx_hold;
+    private DataStoreTransaction primary_read_tx;
+    private boolean wrote;
 
     public ElideDataStorePassClient(RefreshableElide refreshableElide) {
         this.elide = refreshableElide.getElide();
         this.settings = elide.getElideSettings();
-
-        // Keep a read transaction open for interacting with objects which have lazy loading relationships
-        this.read_tx = elide.getDataStore().beginReadTransaction();
     }
 
     private RequestScope get_scope(String path, DataStoreTransaction tx) {
@@ -86,6 +92,34 @@ public class ElideDataStorePassClient implements PassClient {
                 .build();
     }
 
+    // The read transaction is kept open for interacting with objects which have lazy loading relationships. It is
+    // begun by the first read. After a write of its own, the client reads from the primary rather than a replica
+    // which may lag behind, so a client which writes before reading never takes a replica connection.
+    private DataStoreTransaction get_read_tx() {
+        if (read_tx_hold == null) {
+            read_tx_hold = new TransactionHoldMonitor();
+        }
+
+        if (wrote && elide.getDataStore() instanceof ReadReplicaDataStore) {
+            if (primary_read_tx == null) {
+                primary_read_tx = ReadReplicaDataStore.onPrimary(elide.getDataStore()::beginReadTransaction);
+            }
+
+            return primary_read_tx;
+        }
+
+        if (read_tx == null) {
+            read_tx = elide.getDataStore().beginReadTransaction();
+        }
+
+        return read_tx;
+    }
+
+    private RequestScope get_read_scope(String path, DataStoreTransaction tx) {
+        read_tx_hold.check();
+        return get_scope(path, tx);
+    }
+
     private String get_path(Class<?> type, Long id) {
         StringBuilder result = new StringBuilder();
 
@@ -102,6 +136,13 @@ public class ElideDataStorePassClient implements PassClient {
 
     @Override
     public <T extends PassEntity> void createObject(T obj) throws IOException {
+        METRICS.time("create", obj.getClass(), () -> {
+            create_object(obj);
+            return null;
+        });
+    }
+
+    private <T extends PassEntity> void create_object(T obj) throws IOException {
         try (DataStoreTransaction tx = elide.getDataStore().beginTransaction()) {
             String path = get_path(obj.getClass(), null);
             RequestScope scope = get_scope(path, tx);
@@ -111,37 +152,92 @@ public class ElideDataStorePassClient implements PassClient {
             tx.flush(scope);
             tx.commit(scope);
         }
+
+        wrote = true;
     }
 
     @Override
     public <T extends PassEntity> void updateObject(T obj) throws IOException {
+        METRICS.time("update", obj.getClass(), () -> {
+            update_object(obj);
+            return null;
+        });
+    }
+
+    private <T extends PassEntity> void update_object(T obj) throws IOException {
+        // An object built by the caller rather than read has no version, it overwrites whichever version is stored
+        if (obj.getVersion() == null) {
+            obj.setVersion(get_stored_version(obj));
+        }
+
         try (DataStoreTransaction tx = elide.getDataStore().beginTransaction()) {
             String path = get_path(obj.getClass(), obj.getId());
             RequestScope scope = get_scope(path, tx);
+            EntityProjection projection = EntityProjection.builder().type(obj.getClass()).build();
 
             tx.preCommit(scope);
             tx.save(obj, scope);
-            tx.commit(scope);
             tx.flush(scope);
+
+            // The object is merged into the transaction, so the new version is set on the merged copy. It is copied
+            // back so that the object can be updated again.
+            Long version = tx.<PassEntity>loadObject(projection, obj.getId(), scope).getVersion();
+
+            tx.commit(scope);
+            obj.setVersion(version);
+        }
+
+        wrote = true;
+    }
+
+    private Long get_stored_version(PassEntity obj) throws IOException {
+        try (DataStoreTransaction tx = ReadReplicaDataStore.onPrimary(elide.getDataStore()::beginReadTransaction)) {
+            RequestScope scope = get_scope(get_path(obj.getClass(), obj.getId()), tx);
+            EntityProjection projection = EntityProjection.builder().type(obj.getClass()).build();
+            PassEntity stored = tx.loadObject(projection, obj.getId(), scope);
+
+            if (stored == null) {
+                throw new IOException("Cannot update " + obj.getClass().getSimpleName() + " " + obj.getId()
+                                      + ", it does not exist");
+            }
+
+            return stored.getVersion();
         }
     }
 
     @Override
     public <T extends PassEntity> T getObject(Class<T> type, Long id) throws IOException {
+        return METRICS.time("get", type, () -> get_object(type, id));
+    }
+
+    private <T extends PassEntity> T get_object(Class<T> type, Long id) throws IOException {
         String path = get_path(type, id);
-        RequestScope scope = get_scope(path, read_tx);
+        DataStoreTransaction tx = get_read_tx();
+        RequestScope scope = get_read_scope(path, tx);
         EntityProjection projection = EntityProjection.builder().type(type).build();
 
-        return read_tx.loadObject(projection, id, scope);
+        return tx.loadObject(projection, id, scope);
     }
 
     @Override
     public <T extends PassEntity> PassClientResult<T> selectObjects(PassClientSelector<T> selector) throws IOException {
+        PassClientResult<T> result = METRICS.time("select", selector.getType(), () -> select_objects(selector));
+
+        if (result != null) {
+            METRICS.recordPage(selector.getType(), result.getObjects().size());
+        }
+
+        return result;
+    }
+
+    private <T extends PassEntity> PassClientResult<T> select_objects(PassClientSelector<T> selector)
+            throws IOException {
         String path = get_path(selector.getType(), null);
-        RequestScope scope = get_scope(path, read_tx);
+        DataStoreTransaction tx = get_read_tx();
+        RequestScope scope = get_read_scope(path, tx);
         EntityProjection proj = get_projection(scope, selector);
 
-        DataStoreIterable<T> iterable = read_tx.loadObjects(proj, scope);
+        DataStoreIterable<T> iterable = tx.loadObjects(proj, scope);
 
         long total = -1;
         Pagination pagination = proj.getPagination();
@@ -158,6 +254,13 @@ public class ElideDataStorePassClient implements PassClient {
 
     @Override
     public <T extends PassEntity> void deleteObject(Class<T> type, Long id) throws IOException {
+        METRICS.time("delete", type, () -> {
+            delete_object(type, id);
+            return null;
+        });
+    }
+
+    private <T extends PassEntity> void delete_object(Class<T> type, Long id) throws IOException {
         try (DataStoreTransaction tx = elide.getDataStore().beginTransaction()) {
             String path = get_path(type, id);
             RequestScope scope = get_scope(path, tx);
@@ -168,10 +271,22 @@ public class ElideDataStorePassClient implements PassClient {
             tx.commit(scope);
             tx.flush(scope);
         }
+
+        wrote = true;
     }
 
     @Override
     public void close() throws IOException {
-        read_tx.close();
+        if (read_tx_hold != null) {
+            read_tx_hold.close();
+        }
+
+        if (read_tx != null) {
+            read_tx.close();
+        }
+
+        if (primary_read_tx != null) {
+            primary_read_tx.close();
+        }
     }
 }
\ No newline at end of file
@@ -48,18 +48,22 @@ import org.eclipse.pass.object.model.PassEntity;
  * This is because relationships are loaded lazily.
  */
 public class ElidePassClient implements PassClient {
+    private static final PassClientMetrics METRICS = new PassClientMetrics("elide");
+
     private final Elide elide;
     private final ElideSettings settings;
     private final User user;
     private final String api_version;
-    private final DataStoreTransaction read_tx;
+    private DataStoreTransaction read_tx;
+    private TransactionHoldMonitor read_tx_hold;
+    private DataStoreTransaction primary_read_tx;
+    private boolean wrote;
 
     public ElidePassClient(RefreshableElide refreshableElide, User user) {
         this.elide = refreshableElide.getElide();
         this.settings = elide.getElideSettings();
         this.user = user;
         this.api_version = settings.getDictionary().getApiVersions().iterator().next();
-        this.read_tx = elide.getDataStore().beginReadTransaction();
     }
 
     private RequestScope get_scope(String path, DataStoreTransaction tx) {
@@ -69,6 +73,43 @@ public class ElidePassClient implements PassClient {
         return scope;
     }
 
+    // The read transaction is kept open for interacting with objects which have lazy loading relationships. It is
+    // begun by the first read. After a write of its own, the client reads from the primary rather than a replica
+    // which may lag behind, so a client which writes before reading never takes a replica connection.
+    private DataStoreTransaction get_read_tx() {
+        if (read_tx_hold == null) {
+            read_tx_hold = new TransactionHoldMonitor();
+        }
+
+        if (wrote && elide.getDataStore() instanceof ReadReplicaDataStore) {
+            if (primary_read_tx == null) {
+                primary_read_tx = ReadReplicaDataStore.onPrimary(elide.getDataStore()::beginReadTransaction);
+            }
+
+            return primary_read_tx;
+        }
+
+        if (read_tx == null) {
+            read_tx = elide.getDataStore().beginReadTransaction();
+        }
+
+        return read_tx;
+    }
+
+    private RequestScope get_read_scope(String path, DataStoreTransaction tx) {
+        read_tx_hold.check();
+        return get_scope(path, tx);
+    }
+
+    private ElideResponse get(String path, MultivaluedMap<String, String> params) {
+        if (wrote) {
+            return ReadReplicaDataStore.onPrimary(() -> elide.get(settings.getBaseUrl(), path, params, user,
+                    api_version));
+        }
+
+        return elide.get(settings.getBaseUrl(), path, params, user, api_version);
+    }
+
     private String get_path(Class<?> type, Long id) {
         StringBuilder result = new StringBuilder();
 
@@ -83,7 +124,8 @@ public class ElidePassClient implements PassClient {
         return result.toString();
     }
 
-    private JsonApiDocument to_json_api_doc(PassEntity obj) {
+    // Package-private for benchmarks
+    JsonApiDocument to_json_api_doc(PassEntity obj) {
         EntityDictionary dict = settings.getDictionary();
 
         String typeName = EntityDictionary.getEntityName(ClassType.of(obj.getClass()));
@@ -139,6 +181,13 @@ public class ElidePassClient implements PassClient {
 
     @Override
     public <T extends PassEntity> void createObject(T obj) throws IOException {
+        METRICS.time("create", obj.getClass(), () -> {
+            create_object(obj);
+            return null;
+        });
+    }
+
+    private <T extends PassEntity> void create_object(T obj) throws IOException {
         String path = get_path(obj.getClass(), null);
 
         String json = elide.getMapper().writeJsonApiDocument(to_json_api_doc(obj));
@@ -148,12 +197,21 @@ public class ElidePassClient implements PassClient {
             throw new IOException("Failed to create object: " + response.getResponseCode() + " " + response.getBody());
         }
 
+        wrote = true;
+
         String id = elide.getMapper().readJsonApiDocument(response.getBody()).getData().getSingleValue().getId();
         settings.getDictionary().setId(obj, id);
     }
 
     @Override
     public <T extends PassEntity> void updateObject(T obj) throws IOException {
+        METRICS.time("update", obj.getClass(), () -> {
+            update_object(obj);
+            return null;
+        });
+    }
+
+    private <T extends PassEntity> void update_object(T obj) throws IOException {
         String path = get_path(obj.getClass(), obj.getId());
 
         String json = elide.getMapper().writeJsonApiDocument(to_json_api_doc(obj));
@@ -165,14 +223,20 @@ public class ElidePassClient implements PassClient {
         if (code < 200 || code > 204) {
             throw new IOException("Failed to update object: " + code + " " + response.getBody());
         }
+
+        wrote = true;
     }
 
     @Override
     public <T extends PassEntity> T getObject(Class<T> type, Long id) throws IOException {
+        return METRICS.time("get", type, () -> get_object(type, id));
+    }
+
+    private <T extends PassEntity> T get_object(Class<T> type, Long id) throws IOException {
         String path = get_path(type, id);
 
         MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
-        ElideResponse response = elide.get(settings.getBaseUrl(), path, params, user, api_version);
+        ElideResponse response = get(path, params);
 
         if (response.getResponseCode() == 404) {
             return null;
@@ -184,11 +248,18 @@ public class ElidePassClient implements PassClient {
 
         JsonApiDocument doc = elide.getMapper().readJsonApiDocument(response.getBody());
 
-        return type.cast(doc.getData().getSingleValue().toPersistentResource(get_scope(path, read_tx)).getObject());
+        return type.cast(doc.getData().getSingleValue().toPersistentResource(get_read_scope(path, get_read_tx())).getObject());
     }
 
     @Override
     public <T extends PassEntity> void deleteObject(Class<T> type, Long id) throws IOException {
+        METRICS.time("delete", type, () -> {
+            delete_object(type, id);
+            return null;
+        });
+    }
+
+    private <T extends PassEntity> void delete_object(Class<T> type, Long id) throws IOException {
         String path = get_path(type, id);
 
         ElideResponse response = elide.delete(settings.getBaseUrl(), path, api_version, user, api_version);
@@ -196,10 +267,23 @@ public class ElidePassClient implements PassClient {
         if (response.getResponseCode() != 204) {
             throw new IOException("Failed to delete object: " + response.getResponseCode() + " " + response.getBody());
         }
+
+        wrote = true;
     }
 
     @Override
     public <T extends PassEntity> PassClientResult<T> selectObjects(PassClientSelector<T> selector) throws IOException {
+        PassClientResult<T> result = METRICS.time("select", selector.getType(), () -> select_objects(selector));
+
+        if (result != null) {
+            METRICS.recordPage(selector.getType(), result.getObjects().size());
+        }
+
+        return result;
+    }
+
+    private <T extends PassEntity> PassClientResult<T> select_objects(PassClientSelector<T> selector)
+            throws IOException {
         String path = get_path(selector.getType(), null);
 
         MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
@@ -216,7 +300,7 @@ public class ElidePassClient implements PassClient {
         params.add("page[limit]", "" + selector.getLimit());
         params.add("page[totals]", null);
 
-        ElideResponse response = elide.get(settings.getBaseUrl(), path, params, user, api_version);
+        ElideResponse response = get(path, params);
 
         if (response.getResponseCode() == 404) {
             return null;
@@ -237,7 +321,7 @@ public class ElidePassClient implements PassClient {
 
         PassClientResult<T> result = new PassClientResult<>(total);
 
-        RequestScope scope = get_scope(path, read_tx);
+        RequestScope scope = get_read_scope(path, get_read_tx());
 
         doc.getData().get().forEach(r -> {
             @SuppressWarnings("unchecked")
@@ -250,6 +334,16 @@ public class ElidePassClient implements PassClient {
 
     @Override
     public void close() throws IOException {
-        read_tx.close();
+        if (read_tx_hold != null) {
+            read_tx_hold.close();
+        }
+
+        if (read_tx != null) {
+            read_tx.close();
+        }
+
+        if (primary_read_tx != null) {
+            primary_read_tx.close();
+        }
     }
 }
\ No newline at end of file
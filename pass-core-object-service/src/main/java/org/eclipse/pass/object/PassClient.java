@@ -24,10 +24,13 @@ import java.util.stream.StreamSupport;
 
 import com.yahoo.elide.RefreshableElide;
 import org.eclipse.pass.object.model.PassEntity;
+import org.eclipse.pass.object.model.User;
 
 /**
  * PassClient represents a session with the PASS repository. It should not be kept open long term.
  * Objects retrieved by a PassClient instance may only be used while that instance is open.
+ * A client holds a database connection while it is open, and a warning is logged if it is used or closed after
+ * holding it longer than PASS_CORE_CLIENT_HOLD_WARNING_MILLIS, 30 seconds by default.
  */
 public interface PassClient extends Closeable {
 
@@ -52,7 +55,10 @@ public interface PassClient extends Closeable {
     <T extends PassEntity> void createObject(T obj) throws IOException;
 
     /**
-     * Update an existing object.
+     * Update an existing object. An implementation may use the version of the object for optimistic locking, so
+     * that the update fails if the object has been updated since it was read, and then sets the new version on the
+     * object. An object without a version, such as one built by the caller rather than read, is not checked: it
+     * replaces whichever version is stored.
      *
      * @param <T> object type
      * @param obj object to persist
@@ -102,6 +108,22 @@ public interface PassClient extends Closeable {
      */
     <T extends PassEntity> PassClientResult<T> selectObjects(PassClientSelector<T> selector) throws IOException;
 
+    /**
+     * Find the user with the given locator id. Locator ids are unique and indexed, so the lookup does not
+     * depend on the number of users.
+     *
+     * @param locatorId locator id of the user
+     * @return Matching user or null
+     * @throws IOException if operation fails
+     */
+    default User findUserByLocatorId(String locatorId) throws IOException {
+        PassClientSelector<User> selector = new PassClientSelector<>(User.class, 0, 1,
+                RSQL.hasMember("locatorIds", locatorId), null);
+        PassClientResult<User> result = selectObjects(selector);
+
+        return result.getObjects().isEmpty() ? null : result.getObjects().get(0);
+    }
+
     /**
      * Stream all objects in the repository matching the selector starting from the selector offset.
      *
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import java.io.IOException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the latency of PassClient operations as the timer pass.client.requests and the number of objects
+ * returned by selects as the distribution pass.client.page.size. Both are tagged with the client implementation,
+ * the operation and the entity type. Meters are registered with the global Micrometer registry, to which Spring
+ * Boot adds its registries.
+ */
+class PassClientMetrics {
+    /**
+     * An operation of a client which may fail
+     *
+     * @param <T> result type
+     */
+    interface Operation<T> {
+        T call() throws IOException;
+    }
+
+    private final String client;
+
+    /**
+     * @param client name of the client implementation
+     */
+    PassClientMetrics(String client) {
+        this.client = client;
+    }
+
+    /**
+     * Time an operation. The outcome tag is error if it throws.
+     *
+     * @param operation name of the operation
+     * @param type entity type
+     * @param op the operation
+     * @param <T> result type
+     * @return result of the operation
+     * @throws IOException if the operation does
+     */
+    <T> T time(String operation, Class<?> type, Operation<T> op) throws IOException {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        String outcome = "error";
+
+        try {
+            T result = op.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Metrics.timer("pass.client.requests", "client", client, "operation", operation,
+                    "entity", type.getSimpleName(), "outcome", outcome));
+        }
+    }
+
+    /**
+     * Record the number of objects returned by a select.
+     *
+     * @param type entity type
+     * @param size number of objects
+     */
+    void recordPage(Class<?> type, int size) {
+        DistributionSummary.builder("pass.client.page.size")
+                .tags("client", client, "operation", "select", "entity", type.getSimpleName())
+                .baseUnit("objects")
+                .register(Metrics.globalRegistry)
+                .record(size);
+    }
+}
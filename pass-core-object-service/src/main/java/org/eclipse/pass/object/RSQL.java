@@ -73,6 +73,35 @@ public class RSQL {
         return comparison_group(name, "=out=", values);
     }
 
+    /**
+     * @param name Name of collection field
+     * @param value Value of collection member
+     * @return RSQL expression testing that object has a collection field containing the value
+     */
+    public static String hasMember(String name, String value) {
+        return comparison(name, "=hasmember=", value);
+    }
+
+    /**
+     * @param name Name of collection field
+     * @param value Value of collection member
+     * @return RSQL expression testing that object has a collection field not containing the value
+     */
+    public static String hasNoMember(String name, String value) {
+        return comparison(name, "=hasnomember=", value);
+    }
+
+    /**
+     * The attribute must be registered with {@link org.eclipse.pass.object.filter.JsonPathFilterDialect}.
+     *
+     * @param name Name of field holding a JSON document
+     * @param predicate SQL/JSON path predicate, such as {@code $."journal-title" == "Nature"}
+     * @return RSQL expression testing that object has a field with a JSON document matching the predicate
+     */
+    public static String jsonPath(String name, String predicate) {
+        return comparison(name, "=jsonpath=", predicate);
+    }
+
     private static String group_expressions(String op, String...expressions) {
         StringBuilder result = new StringBuilder();
 
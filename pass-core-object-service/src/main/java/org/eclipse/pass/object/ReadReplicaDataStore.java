@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import java.util.function.Supplier;
+
+import com.yahoo.elide.core.datastore.DataStore;
+import com.yahoo.elide.core.datastore.DataStoreTransaction;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+
+/**
+ * Wraps the Elide DataStore so that read transactions are begun on a read replica of the database and all other
+ * transactions on the primary. The choice is made by the thread which begins the transaction, see
+ * {@link #isReplicaSelected()}, so the connection of a transaction must be acquired when it begins.
+ *
+ * A read transaction may be begun on the primary with {@link #onPrimary(Supplier)}. PassClient instances do
+ * this for reads following a write of their own, so that they see what they wrote before it reaches the replica.
+ */
+public class ReadReplicaDataStore implements DataStore {
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+
+    private final DataStore delegate;
+
+    /**
+     * @param delegate the DataStore whose connections are routed
+     */
+    public ReadReplicaDataStore(DataStore delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return whether a transaction being begun on the current thread should use the replica
+     */
+    public static boolean isReplicaSelected() {
+        return Boolean.TRUE.equals(REPLICA.get());
+    }
+
+    /**
+     * Begin transactions on the primary while calling the supplier, even read transactions.
+     *
+     * @param supplier the code to call
+     * @param <T> the result type
+     * @return the result of the supplier
+     */
+    public static <T> T onPrimary(Supplier<T> supplier) {
+        return select(false, supplier);
+    }
+
+    private static <T> T select(boolean replica, Supplier<T> supplier) {
+        Boolean previous = REPLICA.get();
+        REPLICA.set(replica);
+
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                REPLICA.remove();
+            } else {
+                REPLICA.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public void populateEntityDictionary(EntityDictionary dictionary) {
+        delegate.populateEntityDictionary(dictionary);
+    }
+
+    @Override
+    public DataStoreTransaction beginTransaction() {
+        return select(false, delegate::beginTransaction);
+    }
+
+    @Override
+    public DataStoreTransaction beginReadTransaction() {
+        // an explicit choice of the primary is kept
+        if (REPLICA.get() != null) {
+            return delegate.beginReadTransaction();
+        }
+
+        return select(true, delegate::beginReadTransaction);
+    }
+}
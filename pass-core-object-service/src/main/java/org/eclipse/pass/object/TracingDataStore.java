@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import com.yahoo.elide.core.datastore.DataStore;
+import com.yahoo.elide.core.datastore.DataStoreTransaction;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+
+/**
+ * Wraps the Elide DataStore so that the operations of its transactions are recorded as spans, see
+ * {@link TracingDataStoreTransaction}. Beginning a transaction is also a span, as it may wait for a connection.
+ * Spans are reported to the OpenTelemetry instance registered as global, and are not recorded if there is none.
+ */
+public class TracingDataStore implements DataStore {
+    static final Tracer TRACER = GlobalOpenTelemetry.getTracer("org.eclipse.pass.object");
+
+    private final DataStore delegate;
+
+    /**
+     * @param delegate the DataStore whose transactions are traced
+     */
+    public TracingDataStore(DataStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void populateEntityDictionary(EntityDictionary dictionary) {
+        delegate.populateEntityDictionary(dictionary);
+    }
+
+    @Override
+    public DataStoreTransaction beginTransaction() {
+        return new TracingDataStoreTransaction(TracingDataStoreTransaction.trace("DataStore.beginTransaction",
+                null, delegate::beginTransaction));
+    }
+
+    @Override
+    public DataStoreTransaction beginReadTransaction() {
+        return new TracingDataStoreTransaction(TracingDataStoreTransaction.trace("DataStore.beginReadTransaction",
+                null, delegate::beginReadTransaction));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.datastore.DataStoreIterable;
+import com.yahoo.elide.core.datastore.DataStoreTransaction;
+import com.yahoo.elide.core.datastore.wrapped.TransactionWrapper;
+import com.yahoo.elide.core.request.EntityProjection;
+import com.yahoo.elide.core.request.Relationship;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Records a span, named after the method and tagged with the entity type, for each operation of a transaction
+ * which may go to the database. Loads are only traced as far as the DataStore goes: the rows of a relationship
+ * which Hibernate loads lazily are fetched when the result is iterated, in the span of whatever iterates it.
+ */
+class TracingDataStoreTransaction extends TransactionWrapper {
+    static final AttributeKey<String> ENTITY = AttributeKey.stringKey("pass.entity");
+
+    TracingDataStoreTransaction(DataStoreTransaction tx) {
+        super(tx);
+    }
+
+    static <T> T trace(String name, String entity, Supplier<T> operation) {
+        SpanBuilder builder = TracingDataStore.TRACER.spanBuilder(name);
+
+        if (entity != null) {
+            builder.setAttribute(ENTITY, entity);
+        }
+
+        Span span = builder.startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            return operation.get();
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private static void trace(String name, String entity, Runnable operation) {
+        trace(name, entity, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private static String entity(Object object) {
+        return object == null ? null : object.getClass().getSimpleName();
+    }
+
+    @Override
+    public <T> T loadObject(EntityProjection projection, Serializable id, RequestScope scope) {
+        return trace("DataStoreTransaction.loadObject", projection.getType().getSimpleName(),
+                () -> super.loadObject(projection, id, scope));
+    }
+
+    @Override
+    public <T> DataStoreIterable<T> loadObjects(EntityProjection projection, RequestScope scope) {
+        return trace("DataStoreTransaction.loadObjects", projection.getType().getSimpleName(),
+                () -> super.loadObjects(projection, scope));
+    }
+
+    @Override
+    public <T, R> DataStoreIterable<R> getToManyRelation(DataStoreTransaction relationTx, T entity,
+            Relationship relationship, RequestScope scope) {
+        return trace("DataStoreTransaction.getToManyRelation", entity(entity),
+                () -> super.getToManyRelation(relationTx, entity, relationship, scope));
+    }
+
+    @Override
+    public <T, R> R getToOneRelation(DataStoreTransaction relationTx, T entity, Relationship relationship,
+            RequestScope scope) {
+        return trace("DataStoreTransaction.getToOneRelation", entity(entity),
+                () -> super.getToOneRelation(relationTx, entity, relationship, scope));
+    }
+
+    @Override
+    public <T> void createObject(T entity, RequestScope scope) {
+        trace("DataStoreTransaction.createObject", entity(entity), () -> super.createObject(entity, scope));
+    }
+
+    @Override
+    public <T> void save(T entity, RequestScope scope) {
+        trace("DataStoreTransaction.save", entity(entity), () -> super.save(entity, scope));
+    }
+
+    @Override
+    public <T> void delete(T entity, RequestScope scope) {
+        trace("DataStoreTransaction.delete", entity(entity), () -> super.delete(entity, scope));
+    }
+
+    @Override
+    public void flush(RequestScope scope) {
+        trace("DataStoreTransaction.flush", null, () -> super.flush(scope));
+    }
+
+    @Override
+    public void commit(RequestScope scope) {
+        trace("DataStoreTransaction.commit", null, () -> super.commit(scope));
+    }
+}
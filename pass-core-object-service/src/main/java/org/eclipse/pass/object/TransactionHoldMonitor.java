@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks how long a PassClient has held its read transaction, and with it a database connection. A warning is
+ * logged once if the client holds it longer than a threshold, naming the code which opened the client. The
+ * clients which are still open are swept periodically, so that a client which is never used or closed again is
+ * reported too. The threshold in milliseconds is taken from the environment variable
+ * PASS_CORE_CLIENT_HOLD_WARNING_MILLIS.
+ */
+class TransactionHoldMonitor {
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionHoldMonitor.class);
+
+    static final long DEFAULT_THRESHOLD_MILLIS = 30000;
+
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(threshold());
+
+    // Frames skipped when looking for the code which opened a client
+    private static final Set<String> CLIENT_CLASSES = Set.of(TransactionHoldMonitor.class.getName(),
+            PassClient.class.getName(), ElidePassClient.class.getName(), ElideDataStorePassClient.class.getName());
+
+    // Monitors of open clients which have not been reported yet
+    private static final Set<TransactionHoldMonitor> OPEN = ConcurrentHashMap.newKeySet();
+
+    static {
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "pass-client-hold-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(THRESHOLD_NANOS) / 2);
+
+        sweeper.scheduleWithFixedDelay(TransactionHoldMonitor::sweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private final long opened;
+    private final long thresholdNanos;
+    private final String origin;
+    private final AtomicBoolean warned = new AtomicBoolean();
+
+    TransactionHoldMonitor() {
+        this(THRESHOLD_NANOS);
+    }
+
+    TransactionHoldMonitor(long thresholdNanos) {
+        this.opened = System.nanoTime();
+        this.thresholdNanos = thresholdNanos;
+        this.origin = StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !CLIENT_CLASSES.contains(frame.getClassName()))
+                .findFirst()
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .orElse("unknown"));
+
+        OPEN.add(this);
+    }
+
+    private static long threshold() {
+        String threshold = System.getenv("PASS_CORE_CLIENT_HOLD_WARNING_MILLIS");
+        return threshold != null ? Long.parseLong(threshold) : DEFAULT_THRESHOLD_MILLIS;
+    }
+
+    /**
+     * Check the monitors of all open clients.
+     */
+    static void sweep() {
+        OPEN.forEach(TransactionHoldMonitor::check);
+    }
+
+    /**
+     * Log a warning if the transaction has been held longer than the threshold and no warning was logged yet.
+     */
+    void check() {
+        long held = System.nanoTime() - opened;
+
+        if (held > thresholdNanos && warned.compareAndSet(false, true)) {
+            OPEN.remove(this);
+            LOG.warn("PassClient opened at " + origin + " has held a database connection for "
+                     + TimeUnit.NANOSECONDS.toMillis(held) + " ms, longer than "
+                     + TimeUnit.NANOSECONDS.toMillis(thresholdNanos) + " ms. Close clients when done with them.");
+        }
+    }
+
+    /**
+     * Check the monitor a last time when the client is closed and stop sweeping it.
+     */
+    void close() {
+        check();
+        OPEN.remove(this);
+    }
+
+    /**
+     * @return whether a warning has been logged
+     */
+    boolean hasWarned() {
+        return warned.get();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads when PASS Core runs in virtual thread mode, enabled by setting the property
+ * pass.virtual-threads.enabled to true. Virtual threads need Java 21 or later. PASS Core is built for Java 11, so
+ * they are created reflectively and enabling the mode on an older Java fails when the first thread is needed.
+ *
+ * Code running on a virtual thread should not block while holding a monitor, which pins the virtual thread
+ * to its carrier thread. Use a {@link java.util.concurrent.locks.Lock} instead of synchronized around I/O.
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {}
+
+    /**
+     * Create a factory of virtual threads named with a prefix followed by a counter.
+     *
+     * @param prefix the prefix of thread names
+     * @return the factory
+     * @throws IllegalStateException if virtual threads are not supported by the running Java
+     */
+    public static ThreadFactory factory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, running "
+                                            + System.getProperty("java.version"), e);
+        }
+    }
+
+    /**
+     * Create an executor which starts a new virtual thread for each task.
+     *
+     * @param prefix the prefix of thread names
+     * @return the executor
+     * @throws IllegalStateException if virtual threads are not supported by the running Java
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        ThreadFactory factory = factory(prefix);
+
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, running "
+                                            + System.getProperty("java.version"), e);
+        }
+    }
+}
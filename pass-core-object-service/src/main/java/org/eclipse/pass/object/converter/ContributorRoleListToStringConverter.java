@@ -15,24 +15,22 @@
  */
 package org.eclipse.pass.object.converter;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.persistence.AttributeConverter;
 
 import org.eclipse.pass.object.model.ContributorRole;
 
 public class ContributorRoleListToStringConverter implements AttributeConverter<List<ContributorRole>, String> {
+    private static final EnumLookup<ContributorRole> LOOKUP = new EnumLookup<>(ContributorRole.values(),
+        ContributorRole::getValue, ContributorRole::of);
+
     @Override
     public String convertToDatabaseColumn(List<ContributorRole> attribute) {
-        return attribute == null ? null
-                : String.join(",", attribute.stream().map(ContributorRole::getValue).collect(Collectors.toList()));
+        return Delimited.join(attribute, ContributorRole::getValue);
     }
 
     @Override
     public List<ContributorRole> convertToEntityAttribute(String dbData) {
-        return dbData == null ? Collections.emptyList() :
-            Stream.of(dbData.split(",")).map(ContributorRole::of).collect(Collectors.toList());
+        return Delimited.split(dbData, LOOKUP);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Splits and joins the comma separated values stored by the collection converters. Entities are read and
+ * written in bulk, so values are located with indexOf rather than split into an intermediate array, enum
+ * values are matched in place without a substring, and the collections are created with their final size.
+ *
+ * Lists and sets read from the database are modifiable, as entities update their collections in place. Like
+ * {@link String#split(String)}, trailing empty values are dropped.
+ */
+final class Delimited {
+    static final char DELIMITER = ',';
+
+    /**
+     * Parses the value between start and end of a column.
+     *
+     * @param <T> type of the value
+     */
+    @FunctionalInterface
+    interface Parser<T> {
+        T parse(String column, int start, int end);
+    }
+
+    /**
+     * Parser returning the value as a string. A column with a single value is returned as is.
+     */
+    static final Parser<String> STRING = String::substring;
+
+    private Delimited() {}
+
+    /**
+     * @param column column value, may be null
+     * @param parser parser of each value
+     * @param <T> type of the values
+     * @return list of the values
+     */
+    static <T> List<T> split(String column, Parser<T> parser) {
+        int end = contentEnd(column);
+
+        if (end == 0) {
+            return new ArrayList<>(0);
+        }
+
+        int next = column.indexOf(DELIMITER);
+
+        if (next == -1 || next >= end) {
+            List<T> values = new ArrayList<>(1);
+            values.add(parser.parse(column, 0, end));
+
+            return values;
+        }
+
+        int count = count(column, next, end);
+        List<T> values = new ArrayList<>(count);
+        int start = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (next == -1 || next > end) {
+                next = end;
+            }
+
+            values.add(parser.parse(column, start, next));
+            start = next + 1;
+            next = column.indexOf(DELIMITER, start);
+        }
+
+        return values;
+    }
+
+    /**
+     * @param column column value, may be null
+     * @return set of the values
+     */
+    static Set<String> splitToSet(String column) {
+        return new HashSet<>(split(column, STRING));
+    }
+
+    /**
+     * @param values values to join, may be null
+     * @param format formatter of each value
+     * @param <T> type of the values
+     * @return the joined values, or null if there are none
+     */
+    static <T> String join(Collection<T> values, Function<? super T, String> format) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        Iterator<T> iter = values.iterator();
+        String first = format.apply(iter.next());
+
+        if (!iter.hasNext()) {
+            return first;
+        }
+
+        StringBuilder result = new StringBuilder(first.length() * values.size() + values.size());
+        result.append(first);
+
+        while (iter.hasNext()) {
+            result.append(DELIMITER).append(format.apply(iter.next()));
+        }
+
+        return result.toString();
+    }
+
+    // Length of the column without trailing delimiters
+    private static int contentEnd(String column) {
+        if (column == null) {
+            return 0;
+        }
+
+        int end = column.length();
+
+        while (end > 0 && column.charAt(end - 1) == DELIMITER) {
+            end--;
+        }
+
+        return end;
+    }
+
+    // Number of values given the first delimiter which is before end
+    private static int count(String column, int first, int end) {
+        int count = 2;
+
+        for (int i = column.indexOf(DELIMITER, first + 1); i != -1 && i < end; i = column.indexOf(DELIMITER, i + 1)) {
+            count++;
+        }
+
+        return count;
+    }
+}
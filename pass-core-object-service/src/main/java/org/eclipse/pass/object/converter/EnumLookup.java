@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.converter;
+
+import java.util.function.Function;
+
+/**
+ * Parses enum values from a part of a column without extracting it as a string. The string values of the
+ * constants are cached when the lookup is created. An unknown value is passed to the parse method of the enum
+ * so that it fails in the usual way.
+ *
+ * @param <E> enum type
+ */
+final class EnumLookup<E extends Enum<E>> implements Delimited.Parser<E> {
+    private final E[] constants;
+    private final String[] values;
+    private final Function<String, E> of;
+
+    /**
+     * @param constants constants of the enum
+     * @param value function returning the string value of a constant
+     * @param of function parsing a string value
+     */
+    EnumLookup(E[] constants, Function<E, String> value, Function<String, E> of) {
+        this.constants = constants;
+        this.values = new String[constants.length];
+        this.of = of;
+
+        for (int i = 0; i < constants.length; i++) {
+            values[i] = value.apply(constants[i]);
+        }
+    }
+
+    @Override
+    public E parse(String column, int start, int end) {
+        int length = end - start;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].length() == length && column.regionMatches(start, values[i], 0, length)) {
+                return constants[i];
+            }
+        }
+
+        return of.apply(column.substring(start, end));
+    }
+}
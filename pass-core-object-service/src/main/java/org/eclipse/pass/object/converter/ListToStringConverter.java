@@ -15,19 +15,18 @@
  */
 package org.eclipse.pass.object.converter;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import javax.persistence.AttributeConverter;
 
 public class ListToStringConverter implements AttributeConverter<List<String>, String> {
     @Override
     public String convertToDatabaseColumn(List<String> attribute) {
-        return attribute == null || attribute.isEmpty() ? null : String.join(",", attribute);
+        return Delimited.join(attribute, Function.identity());
     }
 
     @Override
     public List<String> convertToEntityAttribute(String dbData) {
-        return dbData == null || dbData.isEmpty() ? Collections.emptyList() : Arrays.asList(dbData.split(","));
+        return Delimited.split(dbData, Delimited.STRING);
     }
 }
@@ -16,22 +16,20 @@
 package org.eclipse.pass.object.converter;
 
 import java.net.URI;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.persistence.AttributeConverter;
 
 public class ListToURIStringConverter implements AttributeConverter<List<URI>, String> {
+    private static final Delimited.Parser<URI> PARSER = (column, start, end) ->
+        URI.create(column.substring(start, end));
+
     @Override
     public String convertToDatabaseColumn(List<URI> attribute) {
-        return attribute == null || attribute.isEmpty() ? null :
-            attribute.stream().map(i -> i.toString()).collect(Collectors.joining(","));
+        return Delimited.join(attribute, URI::toString);
     }
 
     @Override
     public List<URI> convertToEntityAttribute(String dbData) {
-        return dbData == null || dbData.isEmpty() ? Collections.emptyList() :
-            Arrays.asList(dbData.split(",")).stream().map(URI::create).collect(Collectors.toList());
+        return Delimited.split(dbData, PARSER);
     }
 }
@@ -16,22 +16,20 @@
 package org.eclipse.pass.object.converter;
 
 import java.net.URI;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.persistence.AttributeConverter;
 
 public class UriListToStringConverter implements AttributeConverter<List<URI>, String> {
+    private static final Delimited.Parser<URI> PARSER = (column, start, end) ->
+        URI.create(column.substring(start, end));
+
     @Override
     public String convertToDatabaseColumn(List<URI> attribute) {
-        return attribute == null ? null
-                : String.join(",", attribute.stream().map(URI::toString).collect(Collectors.toList()));
+        return Delimited.join(attribute, URI::toString);
     }
 
     @Override
     public List<URI> convertToEntityAttribute(String dbData) {
-        return dbData == null ? Collections.emptyList() :
-            Stream.of(dbData.split(",")).map(URI::create).collect(Collectors.toList());
+        return Delimited.split(dbData, PARSER);
     }
 }
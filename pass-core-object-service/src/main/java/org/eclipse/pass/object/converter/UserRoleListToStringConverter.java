@@ -15,25 +15,22 @@
  */
 package org.eclipse.pass.object.converter;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.persistence.AttributeConverter;
 
 import org.eclipse.pass.object.model.UserRole;
 
 public class UserRoleListToStringConverter implements AttributeConverter<List<UserRole>, String> {
+    private static final EnumLookup<UserRole> LOOKUP = new EnumLookup<>(UserRole.values(),
+        UserRole::getValue, UserRole::of);
+
     @Override
     public String convertToDatabaseColumn(List<UserRole> attribute) {
-        return attribute == null || attribute.isEmpty() ? null
-                : String.join(",", attribute.stream().map(UserRole::getValue).collect(Collectors.toList()));
+        return Delimited.join(attribute, UserRole::getValue);
     }
 
     @Override
     public List<UserRole> convertToEntityAttribute(String dbData) {
-        return dbData == null || dbData.isEmpty() ?
-                Collections.emptyList() :
-                    Stream.of(dbData.split(",")).map(UserRole::of).collect(Collectors.toList());
+        return Delimited.split(dbData, LOOKUP);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.filter;
+
+import java.util.function.Function;
+
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.core.filter.predicates.FilterPredicate;
+import com.yahoo.elide.core.type.ClassType;
+import com.yahoo.elide.datastores.jpql.filter.FilterTranslator;
+import com.yahoo.elide.datastores.jpql.filter.JPQLPredicateGenerator;
+
+/**
+ * Evaluates =hasmember= and =hasnomember= filters on an element collection by joining its collection table.
+ * The standard translation, {@code :value MEMBER OF alias.collection}, becomes a subquery correlated with each
+ * row of the entity table, so the database scans the entity table. Here the matching ids are selected by a join
+ * which is not correlated, so the database can find them through an index on the collection table and then
+ * look up the entities by primary key.
+ */
+public class CollectionMemberFilter implements JPQLPredicateGenerator {
+    private final String entityName;
+    private final String attribute;
+
+    private CollectionMemberFilter(Class<?> type, String attribute) {
+        this.entityName = type.getName();
+        this.attribute = attribute;
+    }
+
+    /**
+     * Evaluate membership filters on an element collection with a join.
+     *
+     * @param type entity type
+     * @param attribute name of an element collection attribute
+     */
+    public static void register(Class<?> type, String attribute) {
+        CollectionMemberFilter filter = new CollectionMemberFilter(type, attribute);
+
+        FilterTranslator.registerJPQLGenerator(Operator.HASMEMBER, ClassType.of(type), attribute, filter);
+        FilterTranslator.registerJPQLGenerator(Operator.HASNOMEMBER, ClassType.of(type), attribute, filter);
+    }
+
+    @Override
+    public String generate(FilterPredicate predicate, Function<Path, String> aliasGenerator) {
+        // the alias of the attribute is the alias of the entity followed by the attribute name
+        String alias = aliasGenerator.apply(predicate.getPath());
+        String entityAlias = alias.substring(0, alias.lastIndexOf('.'));
+        String not = predicate.getOperator() == Operator.HASNOMEMBER ? "NOT " : "";
+        String value = predicate.getParameters().get(0).getPlaceholder();
+
+        return entityAlias + ".id " + not + "IN (SELECT member_owner.id FROM " + entityName + " member_owner"
+               + " JOIN member_owner." + attribute + " member_value WHERE member_value = " + value + ")";
+    }
+}
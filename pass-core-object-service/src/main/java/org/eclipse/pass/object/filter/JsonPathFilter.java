@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.filter;
+
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.filter.predicates.FilterPredicate;
+import com.yahoo.elide.datastores.jpql.filter.JPQLPredicateGenerator;
+
+/**
+ * Generates the JPQL of the {@code =jsonpath=} comparisons parsed by {@link JsonPathFilterDialect}. A document
+ * matches if it matches any of the SQL/JSON path predicates of the comparison.
+ *
+ * The predicate is evaluated by the database function pass_json_path_match which is created by the schema
+ * changelog. On Postgres it is the jsonpath match operator, which can use a GIN index on a jsonb column. The
+ * H2 implementation, {@link JsonPathMatch}, supports only a comparison of a member path with a literal.
+ */
+public class JsonPathFilter implements JPQLPredicateGenerator {
+    /**
+     * Name of the database function matching a document against a predicate.
+     */
+    public static final String FUNCTION = "pass_json_path_match";
+
+    @Override
+    public String generate(FilterPredicate predicate, Function<Path, String> aliasGenerator) {
+        String alias = aliasGenerator.apply(predicate.getPath());
+
+        return predicate.getParameters().stream()
+                .map(p -> "FUNCTION('" + FUNCTION + "', " + alias + ", " + p.getPlaceholder() + ") = true")
+                .collect(Collectors.joining(" OR ", "(", ")"));
+    }
+}
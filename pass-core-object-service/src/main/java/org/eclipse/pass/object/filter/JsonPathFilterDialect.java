@@ -0,0 +1,271 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.core.filter.dialect.ParseException;
+import com.yahoo.elide.core.filter.dialect.jsonapi.JoinFilterDialect;
+import com.yahoo.elide.core.filter.dialect.jsonapi.MultipleFilterDialect;
+import com.yahoo.elide.core.filter.dialect.jsonapi.SubqueryFilterDialect;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.OrFilterExpression;
+import com.yahoo.elide.core.filter.predicates.FilterPredicate;
+import com.yahoo.elide.core.type.ClassType;
+import com.yahoo.elide.core.type.Type;
+import com.yahoo.elide.datastores.jpql.filter.FilterTranslator;
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.RSQLParserException;
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+
+/**
+ * Adds the RSQL operator {@code =jsonpath=} to the filter dialects of an Elide instance. The filter
+ * {@code metadata=jsonpath='$."journal-title" == "Nature"'} matches objects whose attribute holds a JSON document
+ * matching the SQL/JSON path predicate, and several predicates match a document which matches any of them.
+ * The operator may be combined with the other RSQL operators, whose comparisons are parsed by the standard
+ * dialects of the instance. Filters without the operator are left to the standard dialects.
+ *
+ * The FilterTranslator of Elide only knows the Elide operators, so a JSON path comparison becomes a
+ * {@link Operator#HASMEMBER} predicate on the attribute, which the standard dialects do not accept on an
+ * attribute which is not a collection, and {@link JsonPathFilter} generates its JPQL.
+ */
+public class JsonPathFilterDialect implements JoinFilterDialect, SubqueryFilterDialect {
+    /**
+     * Operator matching a JSON document against SQL/JSON path predicates.
+     */
+    public static final ComparisonOperator JSON_PATH = new ComparisonOperator("=jsonpath=", true);
+
+    private static final Pattern TYPED_FILTER = Pattern.compile("filter\\[([^\\]]+)\\]");
+
+    // The operators of the Elide RSQL dialect, so that comparisons using them can be passed on
+    private static final Set<ComparisonOperator> OPERATORS = new HashSet<>(Arrays.asList(
+            new ComparisonOperator("=ini=", true), new ComparisonOperator("=outi=", true),
+            new ComparisonOperator("=isnull="), new ComparisonOperator("=isempty="),
+            new ComparisonOperator("=hasmember="), new ComparisonOperator("=hasnomember="),
+            new ComparisonOperator("=between=", true), new ComparisonOperator("=notbetween=", true),
+            JSON_PATH));
+
+    static {
+        OPERATORS.addAll(RSQLOperators.defaultOperators());
+    }
+
+    private final EntityDictionary dictionary;
+    private final MultipleFilterDialect standard;
+    private final RSQLParser parser;
+    private final Set<String> attributes;
+
+    /**
+     * @param dictionary entity dictionary of the Elide instance
+     * @param standard standard dialects of the Elide instance
+     */
+    public JsonPathFilterDialect(EntityDictionary dictionary, MultipleFilterDialect standard) {
+        this.dictionary = dictionary;
+        this.standard = standard;
+        this.parser = new RSQLParser(OPERATORS);
+        this.attributes = new HashSet<>();
+    }
+
+    /**
+     * Allow the operator on an attribute.
+     *
+     * @param type entity type
+     * @param attribute name of an attribute holding a JSON document
+     */
+    public void addAttribute(Class<?> type, String attribute) {
+        attributes.add(type.getName() + "." + attribute);
+        FilterTranslator.registerJPQLGenerator(Operator.HASMEMBER, ClassType.of(type), attribute,
+                new JsonPathFilter());
+    }
+
+    @Override
+    public FilterExpression parseGlobalExpression(String path, MultivaluedMap<String, String> filterParams,
+                                                  String apiVersion) throws ParseException {
+        List<String> filters = filterParams.get("filter");
+
+        if (filterParams.size() != 1 || filters == null || filters.size() != 1) {
+            throw new ParseException("Expected a single filter parameter");
+        }
+
+        Node node = parse(filters.get(0));
+
+        if (!usesJsonPath(node)) {
+            throw new ParseException("Filter does not use " + JSON_PATH);
+        }
+
+        return toExpression(node, resourceType(path, apiVersion),
+            filter -> standard.parseGlobalExpression(path, params("filter", filter), apiVersion));
+    }
+
+    @Override
+    public Map<String, FilterExpression> parseTypedExpression(String path,
+                                                              MultivaluedMap<String, String> filterParams,
+                                                              String apiVersion) throws ParseException {
+        Map<String, FilterExpression> result = new HashMap<>();
+        boolean jsonPath = false;
+
+        for (Map.Entry<String, List<String>> param : filterParams.entrySet()) {
+            String key = param.getKey();
+            Matcher matcher = TYPED_FILTER.matcher(key);
+
+            if (!matcher.matches() || param.getValue().size() != 1) {
+                throw new ParseException("Invalid filter parameter: " + key);
+            }
+
+            String typeName = matcher.group(1);
+            Type<?> type = dictionary.getEntityClass(typeName, apiVersion);
+
+            if (type == null) {
+                throw new ParseException("Unknown type in filter parameter: " + key);
+            }
+
+            Node node = parse(param.getValue().get(0));
+
+            if (usesJsonPath(node)) {
+                jsonPath = true;
+                result.put(typeName, toExpression(node, type,
+                    filter -> standard.parseTypedExpression(path, params(key, filter), apiVersion).get(typeName)));
+            } else {
+                result.putAll(standard.parseTypedExpression(path, params(key, param.getValue().get(0)),
+                        apiVersion));
+            }
+        }
+
+        if (!jsonPath) {
+            throw new ParseException("Filter does not use " + JSON_PATH);
+        }
+
+        return result;
+    }
+
+    private Node parse(String filter) throws ParseException {
+        try {
+            return parser.parse(filter);
+        } catch (RSQLParserException e) {
+            throw new ParseException(e.getMessage());
+        }
+    }
+
+    private boolean usesJsonPath(Node node) {
+        if (node instanceof LogicalNode) {
+            return ((LogicalNode) node).getChildren().stream().anyMatch(this::usesJsonPath);
+        }
+
+        return ((ComparisonNode) node).getOperator().equals(JSON_PATH);
+    }
+
+    private FilterExpression toExpression(Node node, Type<?> type, StandardParser standardParser)
+            throws ParseException {
+        if (node instanceof LogicalNode) {
+            FilterExpression result = null;
+
+            for (Node child : ((LogicalNode) node).getChildren()) {
+                FilterExpression expression = toExpression(child, type, standardParser);
+
+                if (result == null) {
+                    result = expression;
+                } else if (node instanceof AndNode) {
+                    result = new AndFilterExpression(result, expression);
+                } else {
+                    result = new OrFilterExpression(result, expression);
+                }
+            }
+
+            return result;
+        }
+
+        ComparisonNode comparison = (ComparisonNode) node;
+
+        if (!comparison.getOperator().equals(JSON_PATH)) {
+            return standardParser.parse(toRsql(comparison));
+        }
+
+        Path path;
+
+        try {
+            path = new Path(type, dictionary, comparison.getSelector());
+        } catch (IllegalArgumentException e) {
+            throw new ParseException(e.getMessage());
+        }
+
+        Path.PathElement last = path.lastElement().get();
+
+        if (!attributes.contains(last.getType().getName() + "." + last.getFieldName())) {
+            throw new ParseException(JSON_PATH + " is not supported on " + comparison.getSelector());
+        }
+
+        return new FilterPredicate(path, Operator.HASMEMBER, new ArrayList<>(comparison.getArguments()));
+    }
+
+    // Arguments are quoted, so they may hold any character
+    private static String toRsql(ComparisonNode comparison) {
+        String args = comparison.getArguments().stream()
+                .map(arg -> "'" + arg.replace("\\", "\\\\").replace("'", "\\'") + "'")
+                .collect(Collectors.joining(","));
+
+        if (comparison.getOperator().isMultiValue()) {
+            args = "(" + args + ")";
+        }
+
+        return comparison.getSelector() + comparison.getOperator().getSymbol() + args;
+    }
+
+    private Type<?> resourceType(String path, String apiVersion) throws ParseException {
+        // collection, then pairs of id and relationship
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/");
+        Type<?> type = dictionary.getEntityClass(segments[0], apiVersion);
+
+        for (int i = 2; type != null && i < segments.length; i += 2) {
+            type = dictionary.getParameterizedType(type, segments[i]);
+        }
+
+        if (type == null) {
+            throw new ParseException("Unknown collection: " + path);
+        }
+
+        return type;
+    }
+
+    private static MultivaluedMap<String, String> params(String key, String filter) {
+        MultivaluedMap<String, String> params = new MultivaluedHashMap<>();
+        params.add(key, filter);
+
+        return params;
+    }
+
+    private interface StandardParser {
+        FilterExpression parse(String filter) throws ParseException;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * H2 implementation of the pass_json_path_match database function used by {@link JsonPathFilter}.
+ *
+ * Only predicates comparing a path of member and array accessors with a JSON literal using == or != are
+ * supported, for example {@code $.agreements."JScholarship" == true}. As in the lax mode of SQL/JSON path,
+ * arrays on the path are unwrapped and the predicate is true if any value found at the path satisfies it.
+ */
+public final class JsonPathMatch {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private JsonPathMatch() {}
+
+    /**
+     * @param document JSON document
+     * @param predicate SQL/JSON path predicate
+     * @return whether the document matches the predicate, or null if either is null
+     * @throws IOException if the document is not JSON
+     * @throws IllegalArgumentException if the predicate is not supported
+     */
+    public static Boolean match(String document, String predicate) throws IOException {
+        if (document == null || predicate == null) {
+            return null;
+        }
+
+        Parser parser = new Parser(predicate);
+        List<JsonNode> values = parser.path(MAPPER.readTree(document));
+        boolean negate = parser.operator();
+        JsonNode literal = parser.literal();
+
+        for (JsonNode value : values) {
+            if (!comparable(value, literal)) {
+                continue;
+            }
+
+            if (equal(value, literal) != negate) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean comparable(JsonNode a, JsonNode b) {
+        return a.getNodeType() == b.getNodeType();
+    }
+
+    private static boolean equal(JsonNode a, JsonNode b) {
+        if (a.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue()) == 0;
+        }
+
+        return a.equals(b);
+    }
+
+    private static class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text.trim();
+        }
+
+        // Evaluate the path on the document
+        List<JsonNode> path(JsonNode root) {
+            expect('$');
+
+            List<JsonNode> values = new ArrayList<>();
+            values.add(root);
+
+            while (pos < text.length() && (text.charAt(pos) == '.' || text.charAt(pos) == '[')) {
+                List<JsonNode> next = new ArrayList<>();
+
+                if (text.charAt(pos++) == '.') {
+                    String name = member();
+
+                    for (JsonNode value : unwrap(values)) {
+                        if (value.has(name)) {
+                            next.add(value.get(name));
+                        }
+                    }
+                } else {
+                    int index = index();
+
+                    for (JsonNode value : values) {
+                        if (value.isArray() && value.has(index)) {
+                            next.add(value.get(index));
+                        }
+                    }
+                }
+
+                values = next;
+            }
+
+            return unwrap(values);
+        }
+
+        // Return whether the operator is !=
+        boolean operator() {
+            skipSpace();
+
+            if (text.startsWith("==", pos)) {
+                pos += 2;
+                return false;
+            } else if (text.startsWith("!=", pos) || text.startsWith("<>", pos)) {
+                pos += 2;
+                return true;
+            }
+
+            throw unsupported();
+        }
+
+        JsonNode literal() {
+            try {
+                JsonNode literal = MAPPER.readTree(text.substring(pos));
+
+                if (literal == null || literal.isMissingNode() || literal.isContainerNode()) {
+                    throw unsupported();
+                }
+
+                return literal;
+            } catch (IOException e) {
+                throw unsupported();
+            }
+        }
+
+        private String member() {
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                int end = text.indexOf('"', pos + 1);
+
+                if (end == -1) {
+                    throw unsupported();
+                }
+
+                String name = text.substring(pos + 1, end);
+                pos = end + 1;
+                return name;
+            }
+
+            int start = pos;
+
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+
+            if (start == pos) {
+                throw unsupported();
+            }
+
+            return text.substring(start, pos);
+        }
+
+        private int index() {
+            int end = text.indexOf(']', pos);
+
+            if (end == -1) {
+                throw unsupported();
+            }
+
+            try {
+                int index = Integer.parseInt(text.substring(pos, end).trim());
+                pos = end + 1;
+                return index;
+            } catch (NumberFormatException e) {
+                throw unsupported();
+            }
+        }
+
+        private void expect(char c) {
+            skipSpace();
+
+            if (pos >= text.length() || text.charAt(pos) != c) {
+                throw unsupported();
+            }
+
+            pos++;
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("Unsupported JSON path predicate: " + text);
+        }
+    }
+
+    private static List<JsonNode> unwrap(List<JsonNode> values) {
+        List<JsonNode> result = new ArrayList<>();
+
+        for (JsonNode value : values) {
+            if (value.isArray()) {
+                value.forEach(result::add);
+            } else {
+                result.add(value);
+            }
+        }
+
+        return result;
+    }
+}
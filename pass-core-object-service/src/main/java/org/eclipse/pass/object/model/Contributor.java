@@ -265,11 +265,11 @@ public class Contributor extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -283,11 +283,6 @@ public class Contributor extends PassEntity {
                 && Objects.equals(roles, other.roles) && Objects.equals(user, other.user);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), email);
-    }
-
     @Override
     public String toString() {
         return "Contributor [firstName=" + firstName + ", middleName=" + middleName + ", lastName=" + lastName
@@ -159,11 +159,11 @@ public class Deposit extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -175,11 +175,6 @@ public class Deposit extends PassEntity {
                 && Objects.equals(submission, other.submission);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), depositStatusRef);
-    }
-
     @Override
     public String toString() {
         return "Deposit [depositStatusRef=" + depositStatusRef + ", depositStatus=" + depositStatus + ", submission="
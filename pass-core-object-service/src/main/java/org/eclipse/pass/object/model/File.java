@@ -24,6 +24,7 @@ import javax.persistence.Table;
 
 import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.FileRoleToStringConverter;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * Files are associated with a Submissions to be used to form Deposits into Repositories
@@ -44,6 +45,7 @@ public class File extends PassEntity {
     /**
      * URI to the bytestream that Deposit services will use to retrieve the bytestream for Deposit
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI uri;
 
     /**
@@ -174,11 +176,11 @@ public class File extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -190,11 +192,6 @@ public class File extends PassEntity {
                 && Objects.equals(submission, other.submission) && Objects.equals(uri, other.uri);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), name);
-    }
-
     @Override
     public String toString() {
         return "File [name=" + name + ", uri=" + uri + ", description=" + description + ", fileRole=" + fileRole
@@ -17,11 +17,13 @@ package org.eclipse.pass.object.model;
 
 import java.net.URI;
 import java.util.Objects;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
 import com.yahoo.elide.annotation.Include;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * The funder or sponsor of Grant or award.
@@ -42,6 +44,7 @@ public class Funder extends PassEntity {
     /**
      * Funder URL
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI url;
 
     /**
@@ -132,11 +135,11 @@ public class Funder extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -147,11 +150,6 @@ public class Funder extends PassEntity {
                 && Objects.equals(policy, other.policy) && Objects.equals(url, other.url);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), localKey);
-    }
-
     @Override
     public String toString() {
         return "Funder [name=" + name + ", url=" + url + ", policy=" + policy + ", localKey=" + localKey +
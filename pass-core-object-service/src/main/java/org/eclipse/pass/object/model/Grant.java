@@ -21,6 +21,8 @@ import java.util.List;
 import java.util.Objects;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -28,7 +30,6 @@ import javax.persistence.Table;
 import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.AwardStatusToStringConverter;
 
-
 /**
  * Grant model for the PASS system
  *
@@ -84,6 +85,8 @@ public class Grant extends PassEntity {
      * List of User who are the co-principal investigators
      */
     @ManyToMany
+    @JoinTable(name = "pass_grant_co_pis", joinColumns = @JoinColumn(name = "grant_id"),
+        inverseJoinColumns = @JoinColumn(name = "user_id"))
     private List<User> coPis = new ArrayList<>();
 
     /**
@@ -282,11 +285,11 @@ public class Grant extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -306,11 +309,6 @@ public class Grant extends PassEntity {
                        other.startDate == null ? null : other.startDate.toInstant());
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), awardNumber, localKey);
-    }
-
     @Override
     public String toString() {
         return "Grant [awardNumber=" + awardNumber + ", awardStatus=" + awardStatus + ", localKey=" + localKey
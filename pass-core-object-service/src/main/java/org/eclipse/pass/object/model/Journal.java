@@ -28,7 +28,6 @@ import javax.persistence.Table;
 import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.ListToStringConverter;
 
-
 /**
  * Describes a Journal and the path of it's participation in PubMedCentral
  *
@@ -160,11 +159,11 @@ public class Journal extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -176,11 +175,6 @@ public class Journal extends PassEntity {
                 && Objects.equals(publisher, other.publisher);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), journalName);
-    }
-
     @Override
     public String toString() {
         return "Journal [journalName=" + journalName + ", issns=" + issns + ", publisher=" + publisher + ", nlmta="
@@ -17,9 +17,12 @@ package org.eclipse.pass.object.model;
 
 import java.util.Objects;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
+
+import com.yahoo.elide.annotation.Exclude;
+import org.hibernate.annotations.GenericGenerator;
 
 /**
  * Abstract method that all PASS model entities inherit from. All entities can include
@@ -31,12 +34,21 @@ import javax.persistence.MappedSuperclass;
 public abstract class PassEntity {
 
     /**
-     * Unique id for the resource.
+     * Unique id for the resource, generated from a sequence for each table. See {@link PassIdGenerator}.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "pass_id")
+    @GenericGenerator(name = "pass_id", strategy = "org.eclipse.pass.object.model.PassIdGenerator")
     private Long id;
 
+    /**
+     * Incremented by each update, which fails if the row has been updated since the entity was read. The version
+     * is not a JSON:API attribute, it is exposed as the ETag of the resource instead.
+     */
+    @Version
+    @Exclude
+    private Long version;
+
     /**
      * PassEntity constructor
      */
@@ -54,6 +66,7 @@ public abstract class PassEntity {
                                                + "an object, the model object cannot be null");
         }
         this.id = passEntity.id;
+        this.version = passEntity.version;
     }
 
     /**
@@ -76,8 +89,65 @@ public abstract class PassEntity {
         this.id = id;
     }
 
+    /**
+     * Retrieves the version of the entity as it was read, null if it has not been stored yet.
+     *
+     * @return the version
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the entity. An update of an entity checks that the stored version is still the one set.
+     *
+     * @param version the version to set
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Entities are equal if they have the same type and id, which makes this cheap enough for hash based
+     * collections and keeps it from loading any relationships. An entity without an id is only equal to itself.
+     * Use {@link #deepEquals(Object)} to compare the attributes of entities.
+     *
+     * @param obj the object to compare
+     * @return whether the object is the same entity
+     */
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PassEntity)) {
+            return false;
+        }
+        PassEntity other = (PassEntity) obj;
+        Long id = getId();
+        return id != null && id.equals(other.getId()) && entityType(getClass()) == entityType(other.getClass());
+    }
+
+    /**
+     * The hash code depends on the type and id, like {@link #equals(Object)}. It changes when an entity is stored
+     * and gets its id, so an entity must not be added to a hash based collection before it has an id.
+     *
+     * @return hash code of the entity type and id
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityType(getClass()), getId());
+    }
+
+    /**
+     * Compare the id and attributes of this entity with those of another entity of the same class. Entities it
+     * refers to are compared with {@link #equals(Object)}, but collections of them are compared element by
+     * element, which loads them if they are lazy.
+     *
+     * @param obj the object to compare
+     * @return whether the object has the same attributes
+     */
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
@@ -91,8 +161,22 @@ public abstract class PassEntity {
         return Objects.equals(id, other.id);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
+    /**
+     * Compare two entities, either of which may be null, with {@link #deepEquals(Object)}.
+     *
+     * @param a an entity
+     * @param b another entity
+     * @return whether both are null or have the same attributes
+     */
+    public static boolean deepEquals(PassEntity a, PassEntity b) {
+        return a == null ? b == null : a.deepEquals(b);
+    }
+
+    // The entity class of an object, rather than a proxy or other subclass of it
+    private static Class<?> entityType(Class<?> type) {
+        while (type.getSuperclass() != PassEntity.class) {
+            type = type.getSuperclass();
+        }
+        return type;
     }
 }
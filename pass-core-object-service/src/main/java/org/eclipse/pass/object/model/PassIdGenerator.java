@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.model;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generates entity ids from a sequence per table, named after the table with a _seq suffix. Ids are allocated
+ * in blocks, so that only one in every allocation size inserts has to call the sequence. The allocation size
+ * is the setting {@value #ALLOCATION_SIZE} and must match the increment of the sequences in the database.
+ * The optimizer used for blocks is chosen by hibernate.id.optimizer.pooled.preferred.
+ */
+public class PassIdGenerator extends SequenceStyleGenerator {
+    /**
+     * Setting which holds the number of ids allocated by each call to a sequence.
+     */
+    public static final String ALLOCATION_SIZE = "pass.id.allocation_size";
+
+    /**
+     * Number of ids allocated by each call to a sequence if not configured.
+     */
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    /**
+     * Suffix added to the table name of an entity to give the name of its sequence.
+     */
+    public static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.getService(ConfigurationService.class).getSetting(ALLOCATION_SIZE,
+                StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+        Properties config = new Properties();
+        config.putAll(params);
+        config.setProperty(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE)
+                + SEQUENCE_SUFFIX);
+        config.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+
+        super.configure(type, config, serviceRegistry);
+    }
+}
@@ -15,6 +15,9 @@
  */
 package org.eclipse.pass.object.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Roles of agents who might perform a SubmissionEvent
  */
@@ -22,6 +25,14 @@ public enum PerformerRole {
     PREPARER("preparer"),
     SUBMITTER("submitter");
 
+    private static final Map<String, PerformerRole> map = new HashMap<>(values().length, 1);
+
+    static {
+        for (PerformerRole r : values()) {
+            map.put(r.value, r);
+        }
+    }
+
     private String value;
 
     private PerformerRole(String value) {
@@ -35,13 +46,11 @@ public enum PerformerRole {
      * @return parsed role
      */
     public static PerformerRole of(String s) {
-        for (PerformerRole r: PerformerRole.values()) {
-            if (r.value.equals(s)) {
-                return r;
-            }
+        PerformerRole result = map.get(s);
+        if (result == null) {
+            throw new IllegalArgumentException("Invalid performer role: " + s);
         }
-
-        throw new IllegalArgumentException("Invalid performer role: " + s);
+        return result;
     }
 
     public String getValue() {
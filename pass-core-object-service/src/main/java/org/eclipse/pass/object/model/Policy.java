@@ -20,11 +20,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
 
 import com.yahoo.elide.annotation.Include;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * Describes a Policy. Policies determine the rules that need to be followed by a Submission.
@@ -50,17 +54,21 @@ public class Policy extends PassEntity {
     /**
      * A link to the actual policy on the policy-owner's page
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI policyUrl;
 
     /**
      * List of repositories that can satisfying this policy
      */
     @ManyToMany
+    @JoinTable(name = "pass_policy_repositories", joinColumns = @JoinColumn(name = "policy_id"),
+        inverseJoinColumns = @JoinColumn(name = "repository_id"))
     private List<Repository> repositories = new ArrayList<>();
 
     /**
      * the Institution whose Policy this is (note: if institution has a value, funder should be null)
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI institution;
 
     /**
@@ -156,11 +164,11 @@ public class Policy extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -172,11 +180,6 @@ public class Policy extends PassEntity {
                 && Objects.equals(title, other.title);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), title);
-    }
-
     @Override
     public String toString() {
         return "Policy [title=" + title + ", description=" + description + ", policyUrl=" + policyUrl
@@ -191,11 +191,11 @@ public class Publication extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -208,11 +208,6 @@ public class Publication extends PassEntity {
                 && Objects.equals(volume, other.volume);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), doi, title);
-    }
-
     @Override
     public String toString() {
         return "Publication [title=" + title + ", publicationAbstract=" + publicationAbstract + ", doi=" + doi
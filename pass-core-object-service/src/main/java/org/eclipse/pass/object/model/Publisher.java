@@ -94,11 +94,11 @@ public class Publisher extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -108,11 +108,6 @@ public class Publisher extends PassEntity {
         return Objects.equals(name, other.name) && pmcParticipation == other.pmcParticipation;
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), name);
-    }
-
     @Override
     public String toString() {
         return "Publisher [name=" + name + ", pmcParticipation=" + pmcParticipation + ", id=" + getId() + "]";
@@ -27,6 +27,7 @@ import javax.persistence.Table;
 import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.IntegrationTypeToStringConverter;
 import org.eclipse.pass.object.converter.ListToURIStringConverter;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * Describes a Repository. A Repository is the target of a Deposit.
@@ -53,6 +54,7 @@ public class Repository extends PassEntity {
      * URL to the homepage of the repository so that PASS users can view the platform before deciding whether to
      * participate in it
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI url;
 
     /**
@@ -227,11 +229,11 @@ public class Repository extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -244,11 +246,6 @@ public class Repository extends PassEntity {
                 && Objects.equals(schemas, other.schemas) && Objects.equals(url, other.url);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), repositoryKey);
-    }
-
     @Override
     public String toString() {
         return "Repository [name=" + name + ", description=" + description + ", url=" + url + ", agreementText="
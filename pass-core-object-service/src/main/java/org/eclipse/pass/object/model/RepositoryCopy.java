@@ -27,6 +27,7 @@ import javax.persistence.Table;
 import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.CopyStatusToStringConverter;
 import org.eclipse.pass.object.converter.ListToStringConverter;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * A Repository Copy represents a copy of a Publication that exists in a target Repository.
@@ -53,6 +54,7 @@ public class RepositoryCopy extends PassEntity {
     /**
      * URL to access the item in the repository
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI accessUrl;
 
     /**
@@ -158,11 +160,11 @@ public class RepositoryCopy extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -174,11 +176,6 @@ public class RepositoryCopy extends PassEntity {
                 && Objects.equals(repository, other.repository);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), accessUrl);
-    }
-
     @Override
     public String toString() {
         return "RepositoryCopy [externalIds=" + externalIds + ", copyStatus=" + copyStatus + ", accessUrl=" + accessUrl
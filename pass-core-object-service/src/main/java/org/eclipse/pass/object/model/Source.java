@@ -1,5 +1,8 @@
 package org.eclipse.pass.object.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Source of the Submission, from a PASS user or imported from another source
  */
@@ -15,6 +18,14 @@ public enum Source {
      */
     OTHER("other");
 
+    private static final Map<String, Source> map = new HashMap<>(values().length, 1);
+
+    static {
+        for (Source o : values()) {
+            map.put(o.value, o);
+        }
+    }
+
     private String value;
 
     private Source(String value) {
@@ -22,19 +33,17 @@ public enum Source {
     }
 
     /**
-     * Parse performer role
+     * Parse source
      *
-     * @param s status string
+     * @param s source string
      * @return parsed source
      */
     public static Source of(String s) {
-        for (Source o: Source.values()) {
-            if (o.value.equals(s)) {
-                return o;
-            }
+        Source result = map.get(s);
+        if (result == null) {
+            throw new IllegalArgumentException("Invalid source: " + s);
         }
-
-        throw new IllegalArgumentException("Invalid performer role: " + s);
+        return result;
     }
 
     public String getValue() {
@@ -23,6 +23,8 @@ import java.util.Objects;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
@@ -31,6 +33,7 @@ import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.AggregatedDepositStatusToStringConverter;
 import org.eclipse.pass.object.converter.SourceToStringConverter;
 import org.eclipse.pass.object.converter.SubmissionStatusToStringConverter;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * Submission model. Contains details of work being submitted, where it is being deposited to, related Grants etc.
@@ -89,6 +92,8 @@ public class Submission extends PassEntity {
      * Note that the order of the list does not carry any particular significance
      */
     @ManyToMany
+    @JoinTable(name = "pass_submission_repositories", joinColumns = @JoinColumn(name = "submission_id"),
+        inverseJoinColumns = @JoinColumn(name = "repository_id"))
     private List<Repository> repositories = new ArrayList<>();
 
     /**
@@ -107,6 +112,7 @@ public class Submission extends PassEntity {
      * Email of the submitter as URI e.g. "mailto:j.smith@example.com". Used with submitterName
      * as a temporary store of user information in the absence of a User record
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI submitterEmail;
 
     /**
@@ -116,6 +122,8 @@ public class Submission extends PassEntity {
      * Note that the order of the list does not carry any particular significance
      */
     @ManyToMany
+    @JoinTable(name = "pass_submission_preparers", joinColumns = @JoinColumn(name = "submission_id"),
+        inverseJoinColumns = @JoinColumn(name = "user_id"))
     private List<User> preparers = new ArrayList<>();
 
     /**
@@ -123,12 +131,16 @@ public class Submission extends PassEntity {
      * Note that the order of the list does not carry any particular significance
      */
     @ManyToMany
+    @JoinTable(name = "pass_submission_grants", joinColumns = @JoinColumn(name = "submission_id"),
+        inverseJoinColumns = @JoinColumn(name = "grant_id"))
     private List<Grant> grants = new ArrayList<>();
 
     /**
      * List of the Policy resources being satisfied upon submission
      */
     @ManyToMany
+    @JoinTable(name = "pass_submission_effective_policies", joinColumns = @JoinColumn(name = "submission_id"),
+        inverseJoinColumns = @JoinColumn(name = "policy_id"))
     private List<Policy> effectivePolicies = new ArrayList<>();
 
     /**
@@ -372,11 +384,11 @@ public class Submission extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -395,11 +407,6 @@ public class Submission extends PassEntity {
                 && Objects.equals(submitterName, other.submitterName);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), metadata);
-    }
-
     @Override
     public String toString() {
         return "Submission [metadata=" + metadata + ", source=" + source + ", submitted=" + submitted
@@ -26,6 +26,7 @@ import javax.persistence.Table;
 import com.yahoo.elide.annotation.Include;
 import org.eclipse.pass.object.converter.EventTypeToStringConverter;
 import org.eclipse.pass.object.converter.PerformerRoleToStringConverter;
+import org.eclipse.pass.object.converter.URIToStringConverter;
 
 /**
  * The SubmissionEvent model captures significant events that are performed by an agent and occur against a Submission.
@@ -78,6 +79,7 @@ public class SubmissionEvent extends PassEntity {
      * A resource relevant to the SubmissionEvent. For example, when a `changes-requested` event occurs,
      * this may contain an Ember application URL to the affected Submission.
      */
+    @Convert(converter = URIToStringConverter.class)
     private URI link;
 
     /**
@@ -201,11 +203,11 @@ public class SubmissionEvent extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -220,11 +222,6 @@ public class SubmissionEvent extends PassEntity {
                 && Objects.equals(submission, other.submission);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), comment);
-    }
-
     @Override
     public String toString() {
         return "SubmissionEvent [eventType=" + eventType + ", performedDate=" + performedDate + ", performedBy="
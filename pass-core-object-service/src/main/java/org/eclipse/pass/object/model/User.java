@@ -20,12 +20,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.OrderColumn;
 import javax.persistence.Table;
 
 import com.yahoo.elide.annotation.Include;
-import org.eclipse.pass.object.converter.ListToStringConverter;
 import org.eclipse.pass.object.converter.SetToStringConverter;
 import org.eclipse.pass.object.converter.UserRoleListToStringConverter;
 
@@ -84,7 +89,11 @@ public class User extends PassEntity {
      * For example, @{code ["johnshopkins.edu:hopkinsid:DRA2D", "johnshopkins.edu:employeeid:12345",
      * "johnshopkins.edu:jhed:bostaur1"]}
      */
-    @Convert(converter = ListToStringConverter.class)
+    @ElementCollection
+    @CollectionTable(name = "pass_user_locators", joinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "pass_user_locators_locator_id_idx", columnList = "locator_id", unique = true))
+    @OrderColumn(name = "locator_order")
+    @Column(name = "locator_id", nullable = false)
     private List<String> locatorIds = new ArrayList<String>();
 
     /**
@@ -264,11 +273,11 @@ public class User extends PassEntity {
     }
 
     @Override
-    public boolean equals(Object obj) {
+    public boolean deepEquals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (!super.equals(obj)) {
+        if (!super.deepEquals(obj)) {
             return false;
         }
         if (getClass() != obj.getClass()) {
@@ -282,11 +291,6 @@ public class User extends PassEntity {
                 && Objects.equals(roles, other.roles) && Objects.equals(username, other.username);
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(getId(), email, username);
-    }
-
     @Override
     public String toString() {
         return "User [username=" + username + ", firstName=" + firstName + ", middleName=" + middleName + ", lastName="
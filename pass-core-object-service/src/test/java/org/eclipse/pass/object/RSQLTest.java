@@ -22,6 +22,18 @@ public class RSQLTest {
                 RSQL.or(RSQL.equals("name1", "value1"), RSQL.equals("name2", "value2")));
     }
 
+    @Test
+    public void testMembership() {
+        assertEquals("locatorIds=hasmember='jhed:moo'", RSQL.hasMember("locatorIds", "jhed:moo"));
+        assertEquals("locatorIds=hasnomember='jhed:moo'", RSQL.hasNoMember("locatorIds", "jhed:moo"));
+    }
+
+    @Test
+    public void testJsonPath() {
+        assertEquals("metadata=jsonpath='$.\\\"journal-title\\\" == \\\"Nature\\\"'",
+                RSQL.jsonPath("metadata", "$.\"journal-title\" == \"Nature\""));
+    }
+
     @Test
     public void testEscape() {
         assertEquals("name=='v\\\\a\\'lu\\\"e'", RSQL.equals("name", "v\\a'lu\"e"));
@@ -0,0 +1,66 @@
+package org.eclipse.pass.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class RSQLTest {
+    @Test
+    public void testOperations() {
+        assertEquals("name=='value'", RSQL.equals("name", "value"));
+        assertEquals("name==''", RSQL.equals("name", ""));
+        assertEquals("name=in=('value1','value2')", RSQL.in("name", "value1", "value2"));
+        assertEquals("name=out=('value1','value2')", RSQL.out("name", "value1", "value2"));
+        assertEquals("name!='value'", RSQL.notEquals("name", "value"));
+    }
+package org.eclipse.pass.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yahoo.elide.core.datastore.DataStore;
+import com.yahoo.elide.core.datastore.DataStoreTransaction;
+import com.yahoo.elide.core.dictionary.EntityDictionary;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks which transactions ReadReplicaDataStore begins on the replica.
+ */
+public class ReadReplicaDataStoreTest {
+    // Records whether the replica was selected when each transaction was begun
+    private static class RecordingDataStore implements DataStore {
+        private final List<Boolean> replica = new ArrayList<>();
+
+        @Override
+        public void populateEntityDictionary(EntityDictionary dictionary) {
+        }
+
+        @Override
+        public DataStoreTransaction beginTransaction() {
+            replica.add(ReadReplicaDataStore.isReplicaSelected());
+            return null;
+        }
+
+        @Override
+        public DataStoreTransaction beginReadTransaction() {
+            replica.add(ReadReplicaDataStore.isReplicaSelected());
+            return null;
+        }
+    }
+
+    @Test
+    public void testRouting() {
+        RecordingDataStore recorder = new RecordingDataStore();
+        ReadReplicaDataStore store = new ReadReplicaDataStore(recorder);
+
+        store.beginReadTransaction();
+        store.beginTransaction();
+        ReadReplicaDataStore.onPrimary(store::beginReadTransaction);
+
+        assertEquals(List.of(true, false, false), recorder.replica);
+        assertFalse(ReadReplicaDataStore.isReplicaSelected());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Check that a client holding its connection too long is reported by the sweep even if it is never used again.
+ */
+public class TransactionHoldMonitorTest {
+    @Test
+    public void testSweepReportsHeldClient() throws InterruptedException {
+        TransactionHoldMonitor held = new TransactionHoldMonitor(TimeUnit.MILLISECONDS.toNanos(1));
+        TransactionHoldMonitor recent = new TransactionHoldMonitor(TimeUnit.HOURS.toNanos(1));
+
+        Thread.sleep(10);
+        TransactionHoldMonitor.sweep();
+
+        assertTrue(held.hasWarned());
+        assertFalse(recent.hasWarned());
+        recent.close();
+    }
+
+    @Test
+    public void testClosedClientIsNotReported() throws InterruptedException {
+        TransactionHoldMonitor closed = new TransactionHoldMonitor(TimeUnit.MILLISECONDS.toNanos(50));
+        closed.close();
+
+        Thread.sleep(100);
+        TransactionHoldMonitor.sweep();
+
+        assertFalse(closed.hasWarned());
+    }
+}
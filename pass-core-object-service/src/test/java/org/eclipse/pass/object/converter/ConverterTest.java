@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.pass.object.model.ContributorRole;
+import org.eclipse.pass.object.model.UserRole;
+import org.junit.jupiter.api.Test;
+
+public class ConverterTest {
+    @Test
+    public void testSplit() {
+        assertEquals(List.of(), Delimited.split(null, Delimited.STRING));
+        assertEquals(List.of(), Delimited.split("", Delimited.STRING));
+        assertEquals(List.of(), Delimited.split(",,", Delimited.STRING));
+        assertEquals(List.of("a"), Delimited.split("a", Delimited.STRING));
+        assertEquals(List.of("a"), Delimited.split("a,", Delimited.STRING));
+        assertEquals(List.of("a", "b", "c"), Delimited.split("a,b,c", Delimited.STRING));
+        assertEquals(List.of("a", "", "c"), Delimited.split("a,,c", Delimited.STRING));
+        assertEquals(List.of("", "b"), Delimited.split(",b,,", Delimited.STRING));
+    }
+
+    @Test
+    public void testSingleValueIsNotCopied() {
+        String column = "value";
+
+        assertSame(column, Delimited.split(column, Delimited.STRING).get(0));
+        assertSame(column, Delimited.join(List.of(column), s -> s));
+    }
+
+    @Test
+    public void testValuesAreModifiable() {
+        for (String column : new String[] {null, "a", "a,b"}) {
+            List<String> list = Delimited.split(column, Delimited.STRING);
+            list.add("c");
+            assertTrue(list.contains("c"));
+
+            Set<String> set = Delimited.splitToSet(column);
+            set.add("c");
+            assertTrue(set.contains("c"));
+        }
+
+        List<UserRole> roles = new UserRoleListToStringConverter().convertToEntityAttribute("submitter");
+        roles.add(UserRole.ADMIN);
+        assertEquals(List.of(UserRole.SUBMITTER, UserRole.ADMIN), roles);
+    }
+
+    @Test
+    public void testJoin() {
+        assertNull(Delimited.<String>join(null, s -> s));
+        assertNull(Delimited.join(Collections.<String>emptyList(), s -> s));
+        assertEquals("a,b,c", Delimited.join(List.of("a", "b", "c"), s -> s));
+    }
+
+    @Test
+    public void testListToString() {
+        ListToStringConverter converter = new ListToStringConverter();
+        List<String> issns = List.of("Print:1234-5678", "Online:8765-4321");
+
+        assertEquals("Print:1234-5678,Online:8765-4321", converter.convertToDatabaseColumn(issns));
+        assertEquals(issns, converter.convertToEntityAttribute("Print:1234-5678,Online:8765-4321"));
+        assertNull(converter.convertToDatabaseColumn(List.of()));
+        assertEquals(List.of(), converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    public void testSetToString() {
+        SetToStringConverter converter = new SetToStringConverter();
+
+        assertEquals(Set.of("a", "b"), converter.convertToEntityAttribute("a,b,a"));
+        assertEquals(Set.of("a"), converter.convertToEntityAttribute("a"));
+        assertEquals(Set.of(), converter.convertToEntityAttribute(""));
+        assertEquals("a", converter.convertToDatabaseColumn(Set.of("a")));
+    }
+
+    @Test
+    public void testUriList() {
+        ListToURIStringConverter converter = new ListToURIStringConverter();
+        List<URI> schemas = List.of(URI.create("https://example.com/a"), URI.create("https://example.com/b"));
+
+        assertEquals(schemas, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(schemas)));
+        assertEquals(List.of(), converter.convertToEntityAttribute(converter.convertToDatabaseColumn(List.of())));
+
+        UriListToStringConverter other = new UriListToStringConverter();
+
+        assertEquals(schemas, other.convertToEntityAttribute(other.convertToDatabaseColumn(schemas)));
+        assertEquals(List.of(), other.convertToEntityAttribute(other.convertToDatabaseColumn(List.of())));
+    }
+
+    @Test
+    public void testRoleLists() {
+        ContributorRoleListToStringConverter contributor = new ContributorRoleListToStringConverter();
+        List<ContributorRole> roles = List.of(ContributorRole.AUTHOR, ContributorRole.CORRESPONDING_AUTHOR);
+
+        assertEquals("author,corresponding-author", contributor.convertToDatabaseColumn(roles));
+        assertEquals(roles, contributor.convertToEntityAttribute("author,corresponding-author"));
+
+        // an empty list used to be written as an empty string which could not be read
+        assertEquals(List.of(), contributor.convertToEntityAttribute(
+            contributor.convertToDatabaseColumn(List.of())));
+
+        UserRoleListToStringConverter user = new UserRoleListToStringConverter();
+
+        assertEquals(List.of(UserRole.SUBMITTER), user.convertToEntityAttribute("submitter"));
+        assertEquals(List.of(UserRole.ADMIN, UserRole.SUBMITTER), user.convertToEntityAttribute("admin,submitter"));
+        assertThrows(IllegalArgumentException.class, () -> user.convertToEntityAttribute("admin,moo"));
+    }
+}
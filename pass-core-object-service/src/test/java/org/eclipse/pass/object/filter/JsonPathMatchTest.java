@@ -0,0 +1,48 @@
+package org.eclipse.pass.object.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+public class JsonPathMatchTest {
+    private static final String METADATA = "{\"journal-title\": \"Nature\", \"volume\": 12,"
+        + " \"agreements\": [{\"JScholarship\": true}, {\"PMC\": false}],"
+        + " \"authors\": [{\"author\": \"Jane Doe\"}, {\"author\": \"John Roe\"}]}";
+
+    @Test
+    public void testMemberComparison() throws IOException {
+        assertEquals(true, JsonPathMatch.match(METADATA, "$.\"journal-title\" == \"Nature\""));
+        assertEquals(false, JsonPathMatch.match(METADATA, "$.\"journal-title\" == \"Science\""));
+        assertEquals(true, JsonPathMatch.match(METADATA, "$.\"journal-title\" != \"Science\""));
+        assertEquals(true, JsonPathMatch.match(METADATA, "$.volume == 12.0"));
+        assertEquals(false, JsonPathMatch.match(METADATA, "$.volume == \"12\""));
+        assertEquals(false, JsonPathMatch.match(METADATA, "$.missing == \"Nature\""));
+    }
+
+    @Test
+    public void testArraysAreUnwrapped() throws IOException {
+        assertEquals(true, JsonPathMatch.match(METADATA, "$.agreements.JScholarship == true"));
+        assertEquals(false, JsonPathMatch.match(METADATA, "$.agreements.PMC == true"));
+        assertEquals(true, JsonPathMatch.match(METADATA, "$.authors.author == \"John Roe\""));
+        assertEquals(true, JsonPathMatch.match(METADATA, "$.authors[0].author == \"Jane Doe\""));
+        assertEquals(false, JsonPathMatch.match(METADATA, "$.authors[1].author == \"Jane Doe\""));
+    }
+
+    @Test
+    public void testNull() throws IOException {
+        assertNull(JsonPathMatch.match(null, "$.volume == 12"));
+        assertNull(JsonPathMatch.match(METADATA, null));
+    }
+
+    @Test
+    public void testUnsupportedPredicate() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatch.match(METADATA, "$.volume > 1"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathMatch.match(METADATA, "volume == 12"));
+        assertThrows(IllegalArgumentException.class,
+            () -> JsonPathMatch.match(METADATA, "$.volume == 12 && $.issue == 1"));
+    }
+}
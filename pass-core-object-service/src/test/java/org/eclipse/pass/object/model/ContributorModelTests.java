@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createContributor;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipse.pass.object.model.support.TestValues;
@@ -35,10 +36,12 @@ public class ContributorModelTests {
         Contributor contributor2 = createContributor(TestValues.CONTRIBUTOR_ID_1, TestValues.USER_ID_1);
 
         assertEquals(contributor1, contributor2);
+        assertTrue(contributor1.deepEquals(contributor2));
         assertEquals(contributor1.hashCode(), contributor2.hashCode());
 
         contributor1.setFirstName("different");
-        assertTrue(!contributor1.equals(contributor2));
+        assertFalse(contributor1.deepEquals(contributor2));
+        assertEquals(contributor1, contributor2);
     }
 
     /**
@@ -48,7 +51,7 @@ public class ContributorModelTests {
     public void testContributorCopyConstructor()  {
         Contributor contributor = createContributor(TestValues.CONTRIBUTOR_ID_1, TestValues.USER_ID_1);
         Contributor contributorCopy = new Contributor(contributor);
-        assertEquals(contributor, contributorCopy);
+        assertTrue(contributor.deepEquals(contributorCopy));
 
         String newEmail = "differentemail@differentemail.com";
         contributorCopy.setEmail(newEmail);
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createDeposit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipse.pass.object.model.support.TestValues;
@@ -36,10 +37,12 @@ public class DepositModelTests {
         Deposit deposit2 = createDeposit(TestValues.DEPOSIT_ID_1);
 
         assertEquals(deposit1, deposit2);
+        assertTrue(deposit1.deepEquals(deposit2));
         assertEquals(deposit1.hashCode(), deposit2.hashCode());
 
         deposit1.setDepositStatusRef("different");
-        assertTrue(!deposit1.equals(deposit2));
+        assertFalse(deposit1.deepEquals(deposit2));
+        assertEquals(deposit1, deposit2);
     }
 
     /**
@@ -49,7 +52,7 @@ public class DepositModelTests {
     public void testDepositCopyConstructor()  {
         Deposit deposit = createDeposit(TestValues.DEPOSIT_ID_1);
         Deposit depositCopy = new Deposit(deposit);
-        assertEquals(deposit, depositCopy);
+        assertTrue(deposit.deepEquals(depositCopy));
 
         depositCopy.setDepositStatus(DepositStatus.REJECTED);
         assertEquals(DepositStatus.of(TestValues.DEPOSIT_STATUS), deposit.getDepositStatus());
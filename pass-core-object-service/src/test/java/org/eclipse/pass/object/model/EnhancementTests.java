@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the model is enhanced at build time to track the attributes which are set.
+ */
+public class EnhancementTests {
+    @Test
+    public void testDirtyTracking() {
+        Repository repository = new Repository();
+        repository.setFormSchema("{}");
+
+        assertTrue(repository instanceof SelfDirtinessTracker, "Model classes must be enhanced by the build");
+
+        SelfDirtinessTracker tracker = (SelfDirtinessTracker) repository;
+        tracker.$$_hibernate_clearDirtyAttributes();
+        assertFalse(tracker.$$_hibernate_hasDirtyAttributes());
+
+        repository.setFormSchema("{}");
+        assertFalse(tracker.$$_hibernate_hasDirtyAttributes());
+
+        repository.setAgreementText("I agree");
+        assertArrayEquals(new String[] {"agreementText"}, tracker.$$_hibernate_getDirtyAttributes());
+    }
+}
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createSubmission;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
@@ -38,10 +39,12 @@ public class FileModelTests {
         File file2 = createFile();
 
         assertEquals(file1, file2);
+        assertTrue(file1.deepEquals(file2));
         assertEquals(file1.hashCode(), file2.hashCode());
 
         file1.setDescription("different");
-        assertTrue(!file1.equals(file2));
+        assertFalse(file1.deepEquals(file2));
+        assertEquals(file1, file2);
     }
 
     /**
@@ -51,7 +54,7 @@ public class FileModelTests {
     public void testFileCopyConstructor()  {
         File file = createFile();
         File fileCopy = new File(file);
-        assertEquals(file, fileCopy);
+        assertTrue(file.deepEquals(fileCopy));
 
         fileCopy.setFileRole(FileRole.SUPPLEMENTAL);
         assertEquals(FileRole.of(TestValues.FILE_ROLE), file.getFileRole());
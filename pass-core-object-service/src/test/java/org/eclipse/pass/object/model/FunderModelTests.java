@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createFunder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
@@ -37,10 +38,12 @@ public class FunderModelTests {
         Funder funder2 = createFunder(TestValues.FUNDER_ID_1);
 
         assertEquals(funder1, funder2);
+        assertTrue(funder1.deepEquals(funder2));
         assertEquals(funder1.hashCode(), funder2.hashCode());
 
         funder1.setName("different");
-        assertTrue(!funder1.equals(funder2));
+        assertFalse(funder1.deepEquals(funder2));
+        assertEquals(funder1, funder2);
     }
 
     /**
@@ -50,7 +53,7 @@ public class FunderModelTests {
     public void testFunderCopyConstructor()  {
         Funder funder = createFunder(TestValues.FUNDER_ID_1);
         Funder funderCopy = new Funder(funder);
-        assertEquals(funder, funderCopy);
+        assertTrue(funder.deepEquals(funderCopy));
 
         String newLocalKey = "different:key";
         funderCopy.setLocalKey(newLocalKey);
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createGrant;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.ZonedDateTime;
@@ -38,10 +39,12 @@ public class GrantModelTests {
         Grant grant2 = createGrant(TestValues.GRANT_ID_1);
 
         assertEquals(grant1, grant2);
+        assertTrue(grant1.deepEquals(grant2));
         assertEquals(grant1.hashCode(), grant2.hashCode());
 
         grant1.setAwardNumber("different");
-        assertTrue(!grant1.equals(grant2));
+        assertFalse(grant1.deepEquals(grant2));
+        assertEquals(grant1, grant2);
     }
 
     /**
@@ -51,7 +54,7 @@ public class GrantModelTests {
     public void testGrantCopyConstructor()  {
         Grant grant = createGrant(TestValues.GRANT_ID_1);
         Grant grantCopy = new Grant(grant);
-        assertEquals(grant, grantCopy);
+        assertTrue(grant.deepEquals(grantCopy));
 
         String newLocalKey = "different:key";
         grantCopy.setLocalKey(newLocalKey);
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createJournal;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -39,10 +40,12 @@ public class JournalModelTests {
         Journal journal2 = createJournal(TestValues.JOURNAL_ID_1);
 
         assertEquals(journal1, journal2);
+        assertTrue(journal1.deepEquals(journal2));
         assertEquals(journal1.hashCode(), journal2.hashCode());
 
         journal1.setJournalName("different");
-        assertTrue(!journal1.equals(journal2));
+        assertFalse(journal1.deepEquals(journal2));
+        assertEquals(journal1, journal2);
     }
 
     /**
@@ -56,7 +59,7 @@ public class JournalModelTests {
         journal.setIssns(issnsOrig);
         Journal journalCopy = new Journal(journal);
 
-        assertEquals(journal, journalCopy);
+        assertTrue(journal.deepEquals(journalCopy));
 
         journalCopy.setPmcParticipation(PmcParticipation.A);
         assertEquals(PmcParticipation.valueOf(TestValues.JOURNAL_PMCPARTICIPATION), journal.getPmcParticipation());
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Johns Hopkins University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.pass.object.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the identity based equality shared by all entities.
+ */
+public class PassEntityModelTests {
+    private static Grant grant(Long id) {
+        Grant grant = new Grant();
+        grant.setId(id);
+        return grant;
+    }
+
+    private static Funder funder(Long id) {
+        Funder funder = new Funder();
+        funder.setId(id);
+        return funder;
+    }
+
+    @Test
+    public void testEqualityByTypeAndId() {
+        Grant grant1 = grant(1L);
+        Grant grant2 = grant(1L);
+        grant2.setAwardNumber("different");
+
+        assertEquals(grant1, grant2);
+        assertEquals(grant1.hashCode(), grant2.hashCode());
+        assertFalse(grant1.deepEquals(grant2));
+
+        assertNotEquals(grant1, grant(2L));
+        assertNotEquals(grant1, funder(1L));
+    }
+
+    @Test
+    public void testEqualityWithoutId() {
+        Grant grant1 = new Grant();
+        Grant grant2 = new Grant();
+
+        assertEquals(grant1, grant1);
+        assertNotEquals(grant1, grant2);
+        assertTrue(grant1.deepEquals(grant2));
+    }
+
+    @Test
+    public void testHashCodeDistinguishesIds() {
+        Set<Integer> hashes = new HashSet<>();
+
+        for (long id = 1; id <= 100; id++) {
+            hashes.add(grant(id).hashCode());
+        }
+
+        assertEquals(100, hashes.size());
+        assertNotEquals(grant(1L).hashCode(), funder(1L).hashCode());
+
+        Set<Grant> grants = new HashSet<>(Set.of(grant(1L), grant(2L)));
+        assertTrue(grants.contains(grant(1L)));
+        assertFalse(grants.contains(grant(3L)));
+    }
+
+    @Test
+    public void testStaticDeepEquals() {
+        assertTrue(PassEntity.deepEquals(null, null));
+        assertFalse(PassEntity.deepEquals(grant(1L), null));
+        assertFalse(PassEntity.deepEquals(null, grant(1L)));
+        assertTrue(PassEntity.deepEquals(grant(1L), grant(1L)));
+    }
+}
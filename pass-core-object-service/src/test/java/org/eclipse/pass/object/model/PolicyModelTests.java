@@ -18,6 +18,7 @@ package org.eclipse.pass.object.model;
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createPolicy;
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createRepository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
@@ -41,10 +42,12 @@ public class PolicyModelTests {
         Policy policy2 = createPolicy(TestValues.POLICY_ID_1);
 
         assertEquals(policy1, policy2);
+        assertTrue(policy1.deepEquals(policy2));
         assertEquals(policy1.hashCode(), policy2.hashCode());
 
         policy1.setPolicyUrl(URI.create("https://somethingdifferent.test"));
-        assertTrue(!policy1.equals(policy2));
+        assertFalse(policy1.deepEquals(policy2));
+        assertEquals(policy1, policy2);
     }
 
     /**
@@ -59,7 +62,7 @@ public class PolicyModelTests {
         policy.setRepositories(repositoriesOrig);
 
         Policy policyCopy = new Policy(policy);
-        assertEquals(policy, policyCopy);
+        assertTrue(policy.deepEquals(policyCopy));
 
         URI newInstitution = URI.create("different:institution");
         policyCopy.setInstitution(newInstitution);
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createPublication;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipse.pass.object.model.support.TestValues;
@@ -35,10 +36,12 @@ public class PublicationModelTests {
         Publication publication2 = createPublication(TestValues.PUBLICATION_ID_1);
 
         assertEquals(publication1, publication2);
+        assertTrue(publication1.deepEquals(publication2));
         assertEquals(publication1.hashCode(), publication2.hashCode());
 
         publication1.setIssue("different");
-        assertTrue(!publication1.equals(publication2));
+        assertFalse(publication1.deepEquals(publication2));
+        assertEquals(publication1, publication2);
     }
 
     /**
@@ -48,7 +51,7 @@ public class PublicationModelTests {
     public void testPublicationCopyConstructor()  {
         Publication publication = createPublication(TestValues.PUBLICATION_ID_1);
         Publication publicationCopy = new Publication(publication);
-        assertEquals(publication, publicationCopy);
+        assertTrue(publication.deepEquals(publicationCopy));
 
         String newDoi = "different:doi";
         publicationCopy.setDoi(newDoi);
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createPublisher;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipse.pass.object.model.support.TestValues;
@@ -35,10 +36,12 @@ public class PublisherModelTests {
         Publisher publisher2 = createPublisher(TestValues.PUBLISHER_ID_1);
 
         assertEquals(publisher1, publisher2);
+        assertTrue(publisher1.deepEquals(publisher2));
         assertEquals(publisher1.hashCode(), publisher2.hashCode());
 
         publisher1.setName("different");
-        assertTrue(!publisher1.equals(publisher2));
+        assertFalse(publisher1.deepEquals(publisher2));
+        assertEquals(publisher1, publisher2);
     }
 
     /**
@@ -48,7 +51,7 @@ public class PublisherModelTests {
     public void testPublisherCopyConstructor()  {
         Publisher publisher = createPublisher(TestValues.PUBLISHER_ID_1);
         Publisher publisherCopy = new Publisher(publisher);
-        assertEquals(publisher, publisherCopy);
+        assertTrue(publisher.deepEquals(publisherCopy));
 
         publisherCopy.setPmcParticipation(PmcParticipation.A);
         assertEquals(PmcParticipation.valueOf(TestValues.PUBLISHER_PMCPARTICIPATION), publisher.getPmcParticipation());
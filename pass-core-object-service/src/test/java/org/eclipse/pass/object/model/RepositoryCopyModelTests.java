@@ -19,6 +19,7 @@ import static org.eclipse.pass.object.model.support.TestObjectCreator.createPubl
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createRepository;
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createRepositoryCopy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -41,10 +42,12 @@ public class RepositoryCopyModelTests {
         RepositoryCopy repoCopy2 = createRepositoryCopy(TestValues.REPOSITORYCOPY_ID_1);
 
         assertEquals(repoCopy1, repoCopy2);
+        assertTrue(repoCopy1.deepEquals(repoCopy2));
         assertEquals(repoCopy1.hashCode(), repoCopy2.hashCode());
 
         repoCopy1.setRepository(createRepository(TestValues.REPOSITORY_ID_2));
-        assertTrue(!repoCopy1.equals(repoCopy2));
+        assertFalse(repoCopy1.deepEquals(repoCopy2));
+        assertEquals(repoCopy1, repoCopy2);
     }
 
     /**
@@ -57,7 +60,7 @@ public class RepositoryCopyModelTests {
             Arrays.asList(TestValues.REPOSITORYCOPY_EXTERNALID_1, TestValues.REPOSITORYCOPY_EXTERNALID_2));
         repositoryCopy.setExternalIds(externalIds);
         RepositoryCopy repositoryCopyCopy = new RepositoryCopy(repositoryCopy);
-        assertEquals(repositoryCopy, repositoryCopyCopy);
+        assertTrue(repositoryCopy.deepEquals(repositoryCopyCopy));
 
         Publication newPublication = createPublication(TestValues.PUBLICATION_ID_1);
         repositoryCopyCopy.setPublication(newPublication);
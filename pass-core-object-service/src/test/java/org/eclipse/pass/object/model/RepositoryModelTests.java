@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createRepository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipse.pass.object.model.support.TestValues;
@@ -35,10 +36,12 @@ public class RepositoryModelTests {
         Repository repository2 = createRepository(TestValues.REPOSITORY_ID_1);
 
         assertEquals(repository1, repository2);
+        assertTrue(repository1.deepEquals(repository2));
         assertEquals(repository1.hashCode(), repository2.hashCode());
 
         repository1.setName("different");
-        assertTrue(!repository1.equals(repository2));
+        assertFalse(repository1.deepEquals(repository2));
+        assertEquals(repository1, repository2);
     }
 
     /**
@@ -48,7 +51,7 @@ public class RepositoryModelTests {
     public void testRepositoryCopyConstructor()  {
         Repository repository = createRepository(TestValues.REPOSITORY_ID_1);
         Repository repositoryCopy = new Repository(repository);
-        assertEquals(repository, repositoryCopy);
+        assertTrue(repository.deepEquals(repositoryCopy));
 
         String newAgreementText = "new agreement text";
         repositoryCopy.setAgreementText(newAgreementText);
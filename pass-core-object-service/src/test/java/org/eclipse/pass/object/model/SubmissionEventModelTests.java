@@ -18,6 +18,7 @@ package org.eclipse.pass.object.model;
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createSubmission;
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createUser;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
@@ -40,10 +41,12 @@ public class SubmissionEventModelTests {
         SubmissionEvent submissionEvent2 = createSubmissionEvent();
 
         assertEquals(submissionEvent1, submissionEvent2);
+        assertTrue(submissionEvent1.deepEquals(submissionEvent2));
         assertEquals(submissionEvent1.hashCode(), submissionEvent2.hashCode());
 
         submissionEvent1.setPerformerRole(PerformerRole.SUBMITTER);
-        assertTrue(!submissionEvent1.equals(submissionEvent2));
+        assertFalse(submissionEvent1.deepEquals(submissionEvent2));
+        assertEquals(submissionEvent1, submissionEvent2);
     }
 
     /**
@@ -53,7 +56,7 @@ public class SubmissionEventModelTests {
     public void testSubmissionEventCopyConstructor()  {
         SubmissionEvent submissionEvent = createSubmissionEvent();
         SubmissionEvent submissionEventCopy = new SubmissionEvent(submissionEvent);
-        assertEquals(submissionEvent, submissionEventCopy);
+        assertTrue(submissionEvent.deepEquals(submissionEventCopy));
 
         URI newLink = URI.create("different:link");
         submissionEventCopy.setLink(newLink);
@@ -43,10 +43,12 @@ public class SubmissionModelTests {
         Submission submission2 = createSubmission(TestValues.SUBMISSION_ID_1);
 
         assertEquals(submission1, submission2);
+        assertTrue(submission1.deepEquals(submission2));
         assertEquals(submission1.hashCode(), submission2.hashCode());
 
         submission1.setSubmissionStatus(SubmissionStatus.CANCELLED);
-        assertTrue(!submission1.equals(submission2));
+        assertFalse(submission1.deepEquals(submission2));
+        assertEquals(submission1, submission2);
     }
 
     /**
@@ -71,7 +73,7 @@ public class SubmissionModelTests {
         List<User> preparersOrig = new ArrayList<>(Arrays.asList(createUser(TestValues.USER_ID_1)));
         submission.setPreparers(preparersOrig);
         Submission submissionCopy = new Submission(submission);
-        assertEquals(submission, submissionCopy);
+        assertTrue(submission.deepEquals(submissionCopy));
 
         submissionCopy.setSubmissionStatus(SubmissionStatus.COMPLETE);
         assertEquals(SubmissionStatus.of(TestValues.SUBMISSION_STATUS), submission.getSubmissionStatus());
@@ -17,6 +17,7 @@ package org.eclipse.pass.object.model;
 
 import static org.eclipse.pass.object.model.support.TestObjectCreator.createUser;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -40,10 +41,12 @@ public class UserModelTest {
         User user2 = createUser(TestValues.USER_ID_1);
 
         assertEquals(user1, user2);
+        assertTrue(user1.deepEquals(user2));
         assertEquals(user1.hashCode(), user2.hashCode());
 
         user1.setUsername("different");
-        assertTrue(!user1.equals(user2));
+        assertFalse(user1.deepEquals(user2));
+        assertEquals(user1, user2);
     }
 
     /**
@@ -56,7 +59,7 @@ public class UserModelTest {
         user.setRoles(rolesOrig);
 
         User userCopy = new User(user);
-        assertEquals(user, userCopy);
+        assertTrue(user.deepEquals(userCopy));
 
         String newOrcidId = "https://orcid.org/0000-new-orcid-id";
         userCopy.setOrcidId(newOrcidId);